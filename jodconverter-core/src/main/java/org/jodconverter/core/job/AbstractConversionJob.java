@@ -19,11 +19,15 @@
 
 package org.jodconverter.core.job;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.commons.lang3.Validate;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import org.jodconverter.core.document.DocumentFormat;
 import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.task.TaskPriority;
 
 /**
  * Base class for all conversion job implementations.
@@ -35,6 +39,9 @@ public abstract class AbstractConversionJob
 
   protected final AbstractSourceDocumentSpecs source;
   protected final AbstractTargetDocumentSpecs target;
+  protected TaskPriority priority = TaskPriority.NORMAL;
+  protected String tenant;
+  protected long deadline = -1L;
 
   protected AbstractConversionJob(
       @NonNull final AbstractSourceDocumentSpecs source,
@@ -53,6 +60,31 @@ public abstract class AbstractConversionJob
     return this;
   }
 
+  @NonNull
+  @Override
+  public ConversionJob priority(@NonNull final TaskPriority priority) {
+
+    Validate.notNull(priority, "priority must not be null");
+    this.priority = priority;
+    return this;
+  }
+
+  @NonNull
+  @Override
+  public ConversionJob tenant(@Nullable final String tenant) {
+
+    this.tenant = tenant;
+    return this;
+  }
+
+  @NonNull
+  @Override
+  public ConversionJob deadline(final long deadline) {
+
+    this.deadline = deadline;
+    return this;
+  }
+
   @Override
   public final void execute() throws OfficeException {
 
@@ -67,4 +99,21 @@ public abstract class AbstractConversionJob
    * @throws OfficeException If the conversion failed.
    */
   protected abstract void doExecute() throws OfficeException;
+
+  @NonNull
+  @Override
+  public final CompletableFuture<Void> executeAsync() {
+
+    Validate.notNull(target.getFormat(), "The target format is missing or not supported");
+    return doExecuteAsync();
+  }
+
+  /**
+   * Submits the conversion without blocking the calling thread. Both source and target document
+   * formats are known and valid at this point.
+   *
+   * @return A future that will be completed when the conversion terminates.
+   */
+  @NonNull
+  protected abstract CompletableFuture<Void> doExecuteAsync();
 }
@@ -19,15 +19,89 @@
 
 package org.jodconverter.core.job;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.task.TaskPriority;
 
 /** A fully specified conversion that is not yet applied to the converter. */
 public interface ConversionJob {
 
   /**
-   * Executes a conversion and blocks until the conversion terminates.
+   * Sets the priority of the conversion. When the office manager is busy, conversions with a
+   * higher priority are executed first.
+   *
+   * <p>&nbsp; <b><i>Default</i></b>: {@link TaskPriority#NORMAL}
+   *
+   * @param priority The conversion priority.
+   * @return This conversion job instance.
+   */
+  @NonNull
+  ConversionJob priority(@NonNull TaskPriority priority);
+
+  /**
+   * Sets the tenant the conversion belongs to. An office manager pool shares its capacity between
+   * tenants according to their configured {@link org.jodconverter.core.office.TenantQuota}.
+   *
+   * @param tenant The tenant, or {@code null} if the conversion is not associated to a tenant.
+   * @return This conversion job instance.
+   */
+  @NonNull
+  ConversionJob tenant(@Nullable String tenant);
+
+  /**
+   * Sets the time by which the conversion must be done, for instance when the client waiting for
+   * the result gives up after a while. The deadline spans the time the conversion waits for an
+   * office manager and the time it is executed: a conversion still waiting once its deadline has
+   * passed is dropped, and the time left is the execution timeout of the conversion if it is
+   * shorter than the configured one.
+   *
+   * <p>&nbsp; <b><i>Default</i></b>: -1 (no deadline)
+   *
+   * @param deadline The deadline, as a time in milliseconds such as returned by {@link
+   *     System#currentTimeMillis()}, or a negative value if the conversion has no deadline.
+   * @return This conversion job instance.
+   */
+  @NonNull
+  ConversionJob deadline(long deadline);
+
+  /**
+   * Executes a conversion and blocks until the conversion terminates. Interrupting the calling
+   * thread abandons the conversion, whether it is still waiting for an office manager or already
+   * running.
    *
    * @throws OfficeException If the conversion failed.
    */
   void execute() throws OfficeException;
+
+  /**
+   * Submits a conversion without blocking the calling thread. The returned future is completed when
+   * the conversion terminates, or completed exceptionally with an {@link OfficeException} if the
+   * conversion failed.
+   *
+   * <p>The returned future is also a handle on the conversion: cancelling it abandons the
+   * conversion, for instance when the client waiting for the result disconnects. A conversion still
+   * waiting for an office manager is removed from the queue, and a running conversion is aborted.
+   *
+   * <p>The default implementation executes the conversion with {@link #execute()} on a thread of
+   * the common fork-join pool, and cannot abandon the conversion when the future is cancelled.
+   *
+   * @return A future that will be completed when the conversion terminates.
+   */
+  @NonNull
+  default CompletableFuture<Void> executeAsync() {
+
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            execute();
+          } catch (OfficeException ex) {
+            throw new CompletionException(ex);
+          }
+        });
+  }
 }
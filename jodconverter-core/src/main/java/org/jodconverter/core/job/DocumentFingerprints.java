@@ -0,0 +1,91 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.job;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/** Computes the fingerprints of source documents, as SHA-256 digests of their content. */
+final class DocumentFingerprints {
+
+  private static final String ALGORITHM = "SHA-256";
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Creates a new digest computing a fingerprint.
+   *
+   * @return The digest.
+   */
+  @NonNull
+  /* default */ static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException ex) {
+      // Every implementation of the Java platform supports SHA-256.
+      throw new IllegalStateException(ALGORITHM + " is not supported", ex);
+    }
+  }
+
+  /**
+   * Completes the specified digest and gets the resulting fingerprint.
+   *
+   * @param digest The digest the whole content of a document has been given to.
+   * @return The fingerprint, in hexadecimal.
+   */
+  @NonNull
+  /* default */ static String toFingerprint(@NonNull final MessageDigest digest) {
+    return String.format("%064x", new BigInteger(1, digest.digest()));
+  }
+
+  /**
+   * Computes the fingerprint of the specified file, reading its content.
+   *
+   * @param file The file.
+   * @return The fingerprint, in hexadecimal.
+   */
+  @NonNull
+  /* default */ static String compute(@NonNull final File file) {
+
+    final MessageDigest digest = newDigest();
+    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, count);
+      }
+    } catch (IOException ex) {
+      throw new DocumentSpecsIOException("Could not read file " + file, ex);
+    }
+    return toFingerprint(digest);
+  }
+
+  // Suppresses default constructor, ensuring non-instantiability.
+  private DocumentFingerprints() {
+    throw new AssertionError("Utility class must not be instantiated");
+  }
+}
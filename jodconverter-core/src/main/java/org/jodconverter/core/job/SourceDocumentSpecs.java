@@ -29,6 +29,31 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  */
 public interface SourceDocumentSpecs extends DocumentSpecs {
 
+  /**
+   * Gets the length, in bytes, of the source document, if it can be known without consuming the
+   * source. This is only a hint, used to estimate the cost of a conversion.
+   *
+   * @return The length of the source document, or -1 if unknown. The default implementation
+   *     returns -1.
+   */
+  default long getLength() {
+    return -1L;
+  }
+
+  /**
+   * Gets the fingerprint of the content of the source document, identifying the documents having
+   * the same content whatever their name or origin. Must only be called with the file returned by
+   * {@link #getFile()}, before it is consumed.
+   *
+   * @param file The file of the source document.
+   * @return The hexadecimal SHA-256 digest of the content of the source document. The default
+   *     implementation reads the file to compute it.
+   */
+  @NonNull
+  default String getFingerprint(@NonNull File file) {
+    return DocumentFingerprints.compute(file);
+  }
+
   /**
    * Called when the file was consumed and is not longer required by the converter. The file must
    * not be removed from the file system before this method is called.
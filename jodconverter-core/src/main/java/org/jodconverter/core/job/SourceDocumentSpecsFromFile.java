@@ -38,4 +38,9 @@ public class SourceDocumentSpecsFromFile extends AbstractSourceDocumentSpecs
 
     Validate.isTrue(file.exists(), "File not found: %s", file);
   }
+
+  @Override
+  public long getLength() {
+    return getFile().length();
+  }
 }
@@ -23,6 +23,8 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
@@ -39,6 +41,7 @@ public class SourceDocumentSpecsFromInputStream extends AbstractSourceDocumentSp
   private final InputStream inputStream;
   private final TemporaryFileMaker fileMaker;
   private final boolean closeStream;
+  private volatile String fingerprint;
 
   /**
    * Creates specs from the specified stream.
@@ -73,7 +76,10 @@ public class SourceDocumentSpecsFromInputStream extends AbstractSourceDocumentSp
       final FileOutputStream outputStream = new FileOutputStream(tempFile);
       outputStream.getChannel().lock();
       try {
-        IOUtils.copy(inputStream, outputStream);
+        // The fingerprint of the stream is computed while it is written, sparing another read.
+        final MessageDigest digest = DocumentFingerprints.newDigest();
+        IOUtils.copy(inputStream, new DigestOutputStream(outputStream, digest));
+        fingerprint = DocumentFingerprints.toFingerprint(digest);
         return tempFile;
       } finally {
         // Note: This will implicitly release the file lock.
@@ -84,6 +90,14 @@ public class SourceDocumentSpecsFromInputStream extends AbstractSourceDocumentSp
     }
   }
 
+  @NonNull
+  @Override
+  public String getFingerprint(@NonNull final File tempFile) {
+
+    final String streamFingerprint = fingerprint;
+    return streamFingerprint == null ? DocumentFingerprints.compute(tempFile) : streamFingerprint;
+  }
+
   @Override
   public void onConsumed(@NonNull final File tempFile) {
 
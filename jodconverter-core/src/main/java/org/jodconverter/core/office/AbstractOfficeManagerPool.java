@@ -19,13 +19,33 @@
 
 package org.jodconverter.core.office;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.Validate;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -33,6 +53,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.jodconverter.core.task.HedgeableTask;
 import org.jodconverter.core.task.OfficeTask;
 
 /**
@@ -41,6 +62,57 @@ import org.jodconverter.core.task.OfficeTask;
  * org.jodconverter.core.task.OfficeTask}. The pool will use the first available {@link
  * org.jodconverter.core.office.AbstractOfficeManagerPoolEntry} to execute a given task when the
  * {@link #execute(org.jodconverter.core.task.OfficeTask)} function is called.
+ *
+ * <p>Submitted tasks wait in an internal queue until an entry becomes available. Tasks submitted
+ * with {@link #executeAsync(org.jodconverter.core.task.OfficeTask)} do not hold the calling thread
+ * while they are waiting in this queue or while they are executed. Waiting tasks are dispatched
+ * according to their {@link org.jodconverter.core.task.TaskPriority}. Optionally, tasks of the same
+ * priority can be dispatched shortest job first: the pool then estimates the cost of each task from
+ * the length and formats of its documents, learning the throughput of each conversion from the
+ * executed tasks.
+ *
+ * <p>Cancelling the future returned by {@link #executeAsync(org.jodconverter.core.task.OfficeTask)}
+ * abandons the task: a queued task is immediately removed from the queue, and a running task is
+ * aborted by interrupting the thread executing it, without restarting its entry. Interrupting a
+ * thread blocked in {@link #execute(org.jodconverter.core.task.OfficeTask)} does the same.
+ *
+ * <p>When a maximum pool size greater than the initial number of entries is configured, and the
+ * implementation is able to {@link #createEntry() create entries}, the pool grows when tasks wait
+ * too long for an entry and shrinks back to its initial size when entries stay idle. Only idle
+ * entries are ever removed from the pool, so resizing never disturbs running tasks.
+ *
+ * <p>The entry executing a task is chosen among the available entries by a {@link
+ * PoolEntrySelector}, according to the statistics the pool maintains for each entry.
+ *
+ * <p>With request hedging enabled, a {@link HedgeableTask} taking longer than the 95th percentile
+ * of the recent latencies of the same conversion is duplicated on an idle entry, if any. The first
+ * attempt to complete wins and the other one is cancelled, so that a single sluggish entry does not
+ * hold a task until its execution timeout.
+ *
+ * <p>With a circuit breaker, an entry failing too many tasks in a row is removed from the pool.
+ * Only the failures of the entry itself count, signalled by an {@link
+ * OfficeManagerFailureException} (crash, lost connection, timeout); a task failing because of its
+ * own document does not. The entry is then restarted from a clean state and probed, and only
+ * reinstated once the probe succeeds; until then, the other entries execute the tasks. The failures
+ * and the state of the circuit breaker of each entry are exposed by {@link #getPoolEntryStats()}.
+ *
+ * <p>With task retry enabled, a {@link HedgeableTask} that failed because of its entry rather than
+ * because of the task itself, as told by an {@link OfficeManagerFailureException} (a lost
+ * connection to the office process or an execution timeout), is transparently dispatched again,
+ * once, preferably to another entry and ahead of the tasks queued since. The task is executed
+ * through attempts, so that the retry reuses the source document staged by the failed attempt.
+ *
+ * <p>With the document quarantine enabled, the source document of a {@link HedgeableTask} is
+ * fingerprinted, from its content, before the task is executed. A document that crashed or hung
+ * office processes too many times is quarantined for a while: the tasks converting it fail fast
+ * with a {@link DocumentQuarantinedException} rather than taking another office process down.
+ *
+ * <p>Entries are started and stopped concurrently. The pool can be configured to be usable as soon
+ * as a minimum number of entries are started, the other entries joining the pool once started.
+ * Rather than being stopped, which fails the queued tasks and interrupts the running ones, the pool
+ * can be {@link #drain(long) drained}: it then rejects new tasks and lets the queued and running
+ * tasks complete before stopping. Likewise, the entries can be {@link #restartAll(int) restarted}
+ * a few at a time, the pool keeping executing tasks with the other entries.
  */
 public abstract class AbstractOfficeManagerPool extends AbstractOfficeManager {
 
@@ -49,15 +121,70 @@ public abstract class AbstractOfficeManagerPool extends AbstractOfficeManager {
   private static final int POOL_STOPPED = 0;
   private static final int POOL_STARTED = 1;
   private static final int POOL_SHUTDOWN = 2;
+  private static final int POOL_DRAINING = 3;
   protected static final int DEFAULT_POOL_SIZE = 1;
   // The default maximum living time of a task in the conversion queue.
   private static final long DEFAULT_TASK_QUEUE_TIMEOUT = 30_000L; // 30 seconds
+  // The default time a queued task waits before being promoted to the next higher priority.
+  private static final long DEFAULT_TASK_AGING_INTERVAL = 10_000L; // 10 seconds
+  // The default maximum number of tasks waiting for an entry.
+  private static final int DEFAULT_MAX_QUEUED_TASKS = 0; // Unbounded
+  // The default memory the running tasks may use.
+  private static final long DEFAULT_MEMORY_BUDGET = 0L; // Unlimited
+  // The default behavior regarding the duplication of the tasks taking longer than usual.
+  private static final boolean DEFAULT_TASK_HEDGING = false;
+  // The default number of consecutive failures opening the circuit breaker of an entry.
+  private static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 0; // Disabled
+  // The default behavior regarding the retry of the tasks failed because of their entry.
+  private static final boolean DEFAULT_TASK_RETRY = false;
+  // The default number of office process failures a document causes before being quarantined.
+  private static final int DEFAULT_DOCUMENT_QUARANTINE_THRESHOLD = 0; // Disabled
+  // The default time after which the failures caused by a document are forgotten (ms).
+  private static final long DEFAULT_DOCUMENT_QUARANTINE_TTL = 3_600_000L; // 1 hour
+  // The maximum number of documents whose failures are tracked by the quarantine.
+  private static final int MAX_QUARANTINED_DOCUMENTS = 1_000;
+  // The default multiple of the usual execution time of similar tasks a task is given to complete.
+  private static final double DEFAULT_ADAPTIVE_TIMEOUT_MULTIPLIER = 0D; // Disabled
+  // The default minimum execution timeout of a task whose timeout is adapted.
+  private static final long DEFAULT_MIN_ADAPTIVE_TIMEOUT = 10_000L; // 10 seconds
+  // The default behavior regarding the dispatch of the cheapest tasks first.
+  private static final boolean DEFAULT_SHORTEST_JOB_FIRST = false;
+  // The default time the oldest queued task must wait before the pool grows.
+  private static final long DEFAULT_POOL_SCALE_UP_THRESHOLD = 2_000L; // 2 seconds
+  // The default time an entry must stay idle before the pool shrinks.
+  private static final long DEFAULT_POOL_IDLE_TIMEOUT = 300_000L; // 5 minutes
+  // The maximum delay between two checks of an entry leaving the rotation for a rolling restart.
+  private static final long ROTATION_CHECK_INTERVAL = 1_000L; // 1 second
 
   private final AtomicInteger poolState = new AtomicInteger(POOL_STOPPED);
 
   private final long taskQueueTimeout;
-  private final BlockingQueue<OfficeManager> pool;
-  private List<OfficeManager> entries;
+  private final int maxQueuedTasks;
+  private final boolean taskRetry;
+  private final CircuitBreaker circuitBreaker;
+  private final DocumentQuarantine documentQuarantine;
+  private final TaskTimeoutEstimator timeoutEstimator;
+  private final int poolStartParallelism;
+  private final int minStartedEntries;
+  private final PoolResizer resizer;
+  private final ReentrantLock dispatchLock = new ReentrantLock();
+  private final Condition drained = dispatchLock.newCondition();
+  private final Condition leftRotation = dispatchLock.newCondition();
+  private final AtomicBoolean rollingRestart = new AtomicBoolean();
+  private final Deque<OfficeManager> pool;
+  private final Set<OfficeManager> busyEntries =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  // The busy entries that must leave the rotation, for a rolling restart, once released.
+  private final Set<OfficeManager> leavingRotation =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Map<OfficeManager, PoolEntryStats> entryStats = new ConcurrentHashMap<>();
+  private final PoolEntrySelector poolEntrySelector;
+  private final PendingTaskQueue pendingTasks;
+  private final TaskLatencyTracker latencyTracker;
+  private final ScheduledThreadPoolExecutor scheduler;
+  private final ExecutorService asyncExecutor;
+  private ExecutorService startExecutor;
+  private List<OfficeManager> entries = new CopyOnWriteArrayList<>();
 
   /**
    * Constructs a new instance of the class with the specified settings.
@@ -71,43 +198,370 @@ public abstract class AbstractOfficeManagerPool extends AbstractOfficeManager {
       @NonNull final File workingDir,
       @Nullable final Integer poolSize,
       @Nullable final Long taskQueueTimeout) {
+    this(
+        workingDir,
+        new OfficeManagerPoolSettings().poolSize(poolSize).taskQueueTimeout(taskQueueTimeout));
+  }
+
+  /**
+   * Constructs a new instance of the class with the specified settings.
+   *
+   * @param workingDir The directory where temporary files and directories are created.
+   * @param settings The settings of the pool.
+   */
+  protected AbstractOfficeManagerPool(
+      @NonNull final File workingDir, @NonNull final OfficeManagerPoolSettings settings) {
     super(workingDir);
 
     this.taskQueueTimeout =
-        taskQueueTimeout == null ? DEFAULT_TASK_QUEUE_TIMEOUT : taskQueueTimeout;
+        defaultIfNull(settings.getTaskQueueTimeout(), DEFAULT_TASK_QUEUE_TIMEOUT);
+    this.maxQueuedTasks = defaultIfNull(settings.getMaxQueuedTasks(), DEFAULT_MAX_QUEUED_TASKS);
+    this.taskRetry = defaultIfNull(settings.getTaskRetry(), DEFAULT_TASK_RETRY);
+    final int quarantineThreshold =
+        defaultIfNull(
+            settings.getDocumentQuarantineThreshold(), DEFAULT_DOCUMENT_QUARANTINE_THRESHOLD);
+    this.documentQuarantine =
+        quarantineThreshold > 0
+            ? new DocumentQuarantine(
+                quarantineThreshold,
+                defaultIfNull(settings.getDocumentQuarantineTtl(), DEFAULT_DOCUMENT_QUARANTINE_TTL),
+                MAX_QUARANTINED_DOCUMENTS)
+            : null;
+    final double timeoutMultiplier =
+        defaultIfNull(settings.getAdaptiveTimeoutMultiplier(), DEFAULT_ADAPTIVE_TIMEOUT_MULTIPLIER);
+    this.timeoutEstimator =
+        timeoutMultiplier > 0D
+            ? new TaskTimeoutEstimator(
+                timeoutMultiplier,
+                defaultIfNull(settings.getMinAdaptiveTimeout(), DEFAULT_MIN_ADAPTIVE_TIMEOUT))
+            : null;
+    this.resizer =
+        new PoolResizer(
+            defaultIfNull(settings.getMaxPoolSize(), 0),
+            defaultIfNull(settings.getPoolScaleUpThreshold(), DEFAULT_POOL_SCALE_UP_THRESHOLD),
+            defaultIfNull(settings.getPoolIdleTimeout(), DEFAULT_POOL_IDLE_TIMEOUT));
+    this.poolStartParallelism =
+        defaultIfNull(
+            settings.getPoolStartParallelism(), Runtime.getRuntime().availableProcessors());
+    this.minStartedEntries = defaultIfNull(settings.getMinStartedEntries(), 0);
+    this.poolEntrySelector =
+        defaultIfNull(settings.getPoolEntrySelector(), StandardPoolEntrySelector.FIFO);
+    this.latencyTracker =
+        defaultIfNull(settings.getTaskHedging(), DEFAULT_TASK_HEDGING)
+            ? new TaskLatencyTracker()
+            : null;
+
+    // Create the pool and the queue of tasks waiting for an available entry
+    pool = new ArrayDeque<>(defaultIfNull(settings.getPoolSize(), DEFAULT_POOL_SIZE));
+    final Map<String, TenantQuota> tenantQuotas = settings.getTenantQuotas();
+    pendingTasks =
+        new PendingTaskQueue(
+            defaultIfNull(settings.getTaskAgingInterval(), DEFAULT_TASK_AGING_INTERVAL),
+            tenantQuotas == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(tenantQuotas)),
+            defaultIfNull(settings.getDefaultTenantQuota(), TenantQuota.DEFAULT),
+            defaultIfNull(settings.getShortestJobFirst(), DEFAULT_SHORTEST_JOB_FIRST),
+            defaultIfNull(settings.getMemoryBudget(), DEFAULT_MEMORY_BUDGET));
+
+    // Create the executors used to expire queued tasks, to resize the pool and to execute
+    // asynchronous tasks.
+    scheduler =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("jodconverter-poolqueue"));
+    scheduler.setRemoveOnCancelPolicy(true);
+    asyncExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("jodconverter-poolasync"));
 
-    // Create the pool
-    pool = new ArrayBlockingQueue<>(poolSize == null ? DEFAULT_POOL_SIZE : poolSize);
+    circuitBreaker =
+        new CircuitBreaker(
+            defaultIfNull(settings.getCircuitBreakerThreshold(), DEFAULT_CIRCUIT_BREAKER_THRESHOLD),
+            asyncExecutor,
+            scheduler,
+            this::isRunning,
+            this::returnRestartedEntry);
   }
 
   /**
-   * Sets the manager entries.
+   * Sets the manager entries. The number of entries is the minimum size of the pool.
    *
    * @param entries The entries.
    */
   protected void setEntries(@NonNull final List<@NonNull OfficeManager> entries) {
-    this.entries = Collections.unmodifiableList(entries);
+    this.entries = new CopyOnWriteArrayList<>(entries);
+    resizer.setMinPoolSize(entries.size());
+  }
+
+  /**
+   * Creates a new, not started, entry to add to the pool when the pool grows. The default
+   * implementation returns {@code null}, meaning that the pool cannot grow.
+   *
+   * <p>This function is called by a thread of the pool, without holding the lock protecting the
+   * pool, so that it may check which resources, such as ports, are available. It is never called
+   * by two threads at the same time once the pool is created.
+   *
+   * @return The created entry, or {@code null} if no entry can be created.
+   */
+  @Nullable
+  protected OfficeManager createEntry() {
+    return null;
+  }
+
+  /**
+   * Notifies that an entry returned by {@link #createEntry()} has been removed from the pool,
+   * either because it has been idle for too long or because it could not be started. The entry is
+   * already stopped when this function is called.
+   *
+   * @param entry The removed entry.
+   */
+  protected void entryRemoved(@NonNull final OfficeManager entry) {
+    // Nothing to do by default
+  }
+
+  /**
+   * Gets the current number of entries of the pool, whether they are busy or not.
+   *
+   * @return The number of entries.
+   */
+  public final int getPoolSize() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the current number of tasks waiting for an available entry.
+   *
+   * @return The number of queued tasks.
+   */
+  public final int getQueueLength() {
+
+    dispatchLock.lock();
+    try {
+      return pendingTasks.size();
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the estimated time a task submitted now would wait before being executed. The estimate is
+   * based on the number of queued tasks and on the average time the entries took to execute their
+   * recent tasks.
+   *
+   * @return The estimated wait time, in milliseconds, or -1 if it cannot be estimated yet (no task
+   *     has been executed).
+   */
+  public final long getEstimatedWaitTime() {
+
+    dispatchLock.lock();
+    try {
+      return estimateWaitTime();
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the statistics of the current entries of the pool, including their failures and the state
+   * of their circuit breaker.
+   *
+   * @return The statistics of each entry.
+   */
+  @NonNull
+  public final List<@NonNull PoolEntryStats> getPoolEntryStats() {
+
+    final List<PoolEntryStats> stats = new ArrayList<>(entries.size());
+    entries.forEach(entry -> stats.add(getEntryStats(entry)));
+    return Collections.unmodifiableList(stats);
+  }
+
+  /**
+   * Gets the number of source documents currently quarantined because they crashed or hung office
+   * processes too many times.
+   *
+   * @return The number of quarantined documents, always 0 if the document quarantine is disabled.
+   */
+  public final int getQuarantinedDocumentCount() {
+    return documentQuarantine == null ? 0 : documentQuarantine.size();
   }
 
   @Override
   public final void execute(@NonNull final OfficeTask task) throws OfficeException {
 
-    if (!isRunning()) {
-      throw new IllegalStateException("This office manager is not running.");
+    if (latencyTracker != null && task instanceof HedgeableTask) {
+      awaitHedged((HedgeableTask) task);
+      return;
     }
 
-    // Try to acquire a manager entry, waiting the configured timeout for a
-    // manager to become available. If we succeed, the acquired manager will
+    // Queue the task and wait, in the calling thread, the configured timeout for
+    // a manager to become available. If we succeed, the acquired manager will
     // then execute the given task. Once the task is done, return the manager
     // to the pool.
-    OfficeManager entry = null;
+    final PendingTask pendingTask = newPendingTask(task);
     try {
-      entry = acquireManager();
-      entry.execute(task);
+      enqueue(pendingTask);
+      final PendingTask retryTask = executeAssigned(acquireManager(pendingTask), pendingTask);
+      if (retryTask != null) {
+        executeAssigned(acquireManager(retryTask), retryTask);
+      }
+    } finally {
+      attemptsDone(pendingTask);
+    }
+  }
+
+  /**
+   * Executes, in the calling thread, a task on a manager that has been assigned to it.
+   *
+   * @param entry The manager assigned to the task.
+   * @param pendingTask The task to execute.
+   * @return The queued retry of the task if the manager failed to execute it and the task can be
+   *     retried, {@code null} if the task has been executed.
+   * @throws OfficeException If the task fails and is not retried.
+   */
+  @Nullable
+  private PendingTask executeAssigned(final OfficeManager entry, final PendingTask pendingTask)
+      throws OfficeException {
+
+    try {
+      checkQuarantine(pendingTask.getAttemptedTask());
+    } catch (OfficeException officeEx) {
+      releaseManager(entry, pendingTask);
+      throw officeEx;
+    }
+
+    boolean failed = true;
+    OfficeException failure = null;
+    try {
+      executeOn(entry, pendingTask.getTask());
+      failed = false;
+      return null;
+    } catch (OfficeException officeEx) {
+      failure = officeEx;
+      recordDocumentFailure(pendingTask.getAttemptedTask(), officeEx);
+      final PendingTask retryTask =
+          Thread.currentThread().isInterrupted() ? null : retry(pendingTask, officeEx);
+      if (retryTask == null) {
+        throw officeEx;
+      }
+      return retryTask;
     } finally {
-      if (entry != null) {
-        releaseManager(entry);
+      if (failed && Thread.currentThread().isInterrupted()) {
+        // The task has been cancelled by interrupting the calling thread, not failed by the entry.
+        releaseManager(entry, pendingTask);
+      } else {
+        releaseManager(entry, pendingTask, failure);
+      }
+    }
+  }
+
+  @NonNull
+  @Override
+  public final CompletableFuture<Void> executeAsync(@NonNull final OfficeTask task) {
+
+    if (latencyTracker != null && task instanceof HedgeableTask) {
+      return new HedgedExecution(this, asyncExecutor, scheduler, (HedgeableTask) task).start();
+    }
+
+    // Queue the task. Once a manager is assigned to the task, the task is executed
+    // by the async executor and the manager is returned to the pool. The calling
+    // thread is never blocked.
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    final PendingTask pendingTask = newPendingTask(task);
+    try {
+      enqueue(pendingTask);
+    } catch (OfficeException officeEx) {
+      attemptsDone(pendingTask);
+      result.completeExceptionally(officeEx);
+      return result;
+    } catch (RuntimeException runtimeEx) {
+      attemptsDone(pendingTask);
+      throw runtimeEx;
+    }
+    submit(pendingTask, result);
+    result.whenComplete((ignored, ex) -> attemptsDone(pendingTask));
+    return result;
+  }
+
+  /**
+   * Executes a queued task, asynchronously, once a manager is assigned to it.
+   *
+   * @param pendingTask The queued task.
+   * @param result The future to complete once the task terminates, or to cancel the task with.
+   */
+  private void submit(final PendingTask pendingTask, final CompletableFuture<Void> result) {
+
+    pendingTask
+        .getEntry()
+        .whenComplete(
+            (entry, queueEx) -> {
+              if (queueEx != null) {
+                result.completeExceptionally(queueEx);
+                return;
+              }
+              try {
+                asyncExecutor.execute(() -> executeAcquired(entry, pendingTask, result));
+              } catch (RejectedExecutionException rejectedEx) {
+                releaseManager(entry, pendingTask);
+                result.completeExceptionally(
+                    new OfficeException("This office manager has been shutdown.", rejectedEx));
+              }
+            });
+    result.whenComplete(
+        (ignored, ex) -> {
+          if (result.isCancelled()) {
+            cancel(pendingTask);
+          }
+        });
+  }
+
+  /**
+   * Creates the pending task executing the specified task. When task retry or the document
+   * quarantine is enabled, a {@link HedgeableTask} is executed through its attempts, so that its
+   * source document can be fingerprinted before its execution and a retry can reuse the resources
+   * the first attempt prepared.
+   *
+   * @param task The task to execute.
+   * @return The pending task.
+   */
+  private PendingTask newPendingTask(final OfficeTask task) {
+
+    if ((taskRetry || documentQuarantine != null) && task instanceof HedgeableTask) {
+      final HedgeableTask attemptedTask = (HedgeableTask) task;
+      return new PendingTask(attemptedTask.createAttempt(), attemptedTask);
+    }
+    return new PendingTask(task);
+  }
+
+  /**
+   * Releases the resources shared by the attempts of the specified task, if it has been executed
+   * through attempts.
+   *
+   * @param pendingTask The task, as first queued.
+   */
+  private static void attemptsDone(final PendingTask pendingTask) {
+
+    final HedgeableTask attemptedTask = pendingTask.getAttemptedTask();
+    if (attemptedTask != null) {
+      attemptedTask.onAttemptsDone();
+    }
+  }
+
+  // Executes the specified task with hedging, and waits for its completion.
+  private void awaitHedged(final HedgeableTask task) throws OfficeException {
+
+    final CompletableFuture<Void> future =
+        new HedgedExecution(this, asyncExecutor, scheduler, task).start();
+    try {
+      future.get();
+    } catch (ExecutionException executionEx) {
+      // Rethrow the original (cause) exception
+      if (executionEx.getCause() instanceof OfficeException) {
+        throw (OfficeException) executionEx.getCause();
       }
+      throw new OfficeException("Task failed: " + task, executionEx.getCause());
+    } catch (InterruptedException interruptedEx) {
+      // Nobody will wait for the task anymore. Remove its attempt from the queue, or abort the
+      // running attempts.
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new OfficeException("Interrupted while waiting for task: " + task, interruptedEx);
     }
   }
 
@@ -128,16 +582,21 @@ public abstract class AbstractOfficeManagerPool extends AbstractOfficeManager {
         throw new IllegalStateException("This office manager is already running.");
       }
 
+      doStart();
+
       // Start all entries and make them available to execute tasks.
-      for (final OfficeManager manager : entries) {
-        manager.start();
-        releaseManager(manager);
-      }
+      startEntries();
 
       // Create the temporary dir if the pool has successfully started
       makeTempDir();
 
       poolState.set(POOL_STARTED);
+
+      // Periodically grow or shrink the pool if allowed to.
+      if (resizer.isEnabled()) {
+        final long interval = resizer.getCheckInterval();
+        scheduler.scheduleWithFixedDelay(this::resize, interval, interval, TimeUnit.MILLISECONDS);
+      }
     }
   }
 
@@ -154,130 +613,1808 @@ public abstract class AbstractOfficeManagerPool extends AbstractOfficeManager {
 
       try {
         LOGGER.info("Stopping the office manager pool...");
-        pool.clear();
-
-        OfficeException firstException = null;
-        for (final OfficeManager manager : entries) {
-          try {
-            manager.stop();
-          } catch (OfficeException ex) {
-            if (firstException == null) {
-              firstException = ex;
-            }
+        dispatchLock.lock();
+        try {
+          pool.clear();
+          resizer.clear();
+          busyEntries.clear();
+
+          // Tasks still waiting for a manager will never be executed.
+          for (final PendingTask pendingTask : pendingTasks.clear()) {
+            pendingTask.cancelExpiration();
+            pendingTask
+                .getEntry()
+                .completeExceptionally(
+                    new OfficeException("This office manager has been shutdown."));
           }
+        } finally {
+          dispatchLock.unlock();
         }
-
-        if (firstException != null) {
-          throw firstException;
+        scheduler.shutdownNow();
+        asyncExecutor.shutdown();
+        if (startExecutor != null) {
+          // Entries that are not started yet will never be.
+          startExecutor.shutdownNow();
         }
 
+        stopEntries();
+
         LOGGER.info("Office manager stopped");
       } finally {
+        doStop();
         deleteTempDir();
       }
     }
   }
 
   /**
-   * Acquires a manager, waiting the configured timeout for an entry to become available.
+   * Allow subclasses to perform operation when the office manager is started, before its entries
+   * are started.
+   */
+  protected void doStart() {
+    // Nothing to do by default
+  }
+
+  /**
+   * Allow subclasses to perform operation when the office manager is stopped, once its entries
+   * are stopped.
+   */
+  protected void doStop() {
+    // Nothing to do by default
+  }
+
+  /**
+   * Stops this office manager gracefully. New tasks are rejected at once, but the tasks already
+   * queued or running are given up to the specified timeout to complete before the office manager
+   * is {@link #stop() stopped}; the entries are then stopped in parallel. This allows a rolling
+   * deployment to proceed without failing the tasks in progress.
+   *
+   * @param timeout The maximum time, in milliseconds, to wait for the queued and running tasks.
+   * @throws OfficeException If an error occurs while stopping the manager.
+   */
+  public final void drain(final long timeout) throws OfficeException {
+
+    boolean interrupted = false;
+    synchronized (this) {
+      if (poolState.compareAndSet(POOL_STARTED, POOL_DRAINING)) {
+        LOGGER.info("Draining the office manager pool...");
+        dispatchLock.lock();
+        try {
+          long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+          while ((!pendingTasks.isEmpty() || !busyEntries.isEmpty()) && remaining > 0L) {
+            remaining = drained.awaitNanos(remaining);
+          }
+          if (!pendingTasks.isEmpty() || !busyEntries.isEmpty()) {
+            LOGGER.warn(
+                "Office manager pool not drained after {} millisec; {} tasks queued, {} running",
+                timeout,
+                pendingTasks.size(),
+                busyEntries.size());
+          }
+        } catch (InterruptedException interruptedEx) {
+          // Stop right away, the interrupt is restored once stopped.
+          interrupted = true;
+        } finally {
+          dispatchLock.unlock();
+        }
+      }
+
+      try {
+        stop();
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Restarts all the entries of this office manager, one at a time, without stopping it.
    *
-   * @return A manager that was available.
-   * @throws OfficeException If we are unable to acquire a manager.
+   * @throws OfficeException If an entry fails to restart.
+   * @see #restartAll(int)
    */
-  private OfficeManager acquireManager() throws OfficeException {
+  public final void restartAll() throws OfficeException {
+    restartAll(1);
+  }
+
+  /**
+   * Restarts all the entries of this office manager, the specified number of entries at a time,
+   * without stopping it. Each entry is taken out of the rotation once its running task, if any, is
+   * complete, then it is restarted from a clean state, probed, and returned to the pool. The other
+   * entries keep executing tasks, so the capacity of the pool never drops by more than the
+   * specified number of entries. This allows a new office configuration to be applied, or an
+   * upgraded office installation to be used, without stopping the office manager.
+   *
+   * <p>The rolling restart stops at the first entry that fails to restart; this entry is then
+   * recovered as if its circuit breaker opened. The entries already removed from the pool by their
+   * circuit breaker are skipped, their recovery restarting them anyway.
+   *
+   * @param parallelism The maximum number of entries restarted at the same time.
+   * @throws OfficeException If an entry fails to restart, or if the rolling restart is interrupted.
+   */
+  public final void restartAll(final int parallelism) throws OfficeException {
+
+    Validate.inclusiveBetween(
+        1,
+        Integer.MAX_VALUE,
+        parallelism,
+        String.format("parallelism %s must be greater than 0", parallelism));
+    if (!isRunning()) {
+      throw new IllegalStateException("This office manager is not running.");
+    }
+    if (!rollingRestart.compareAndSet(false, true)) {
+      throw new IllegalStateException("A rolling restart is already in progress.");
+    }
 
+    LOGGER.info("Restarting the office managers of the pool, {} at a time...", parallelism);
     try {
-      final OfficeManager manager = pool.poll(taskQueueTimeout, TimeUnit.MILLISECONDS);
-      if (manager == null) {
-        throw new OfficeException(
-            "No office manager available after " + taskQueueTimeout + " millisec.");
+      final List<OfficeManager> remaining = new ArrayList<>(entries);
+      while (!remaining.isEmpty()) {
+        final List<AbstractOfficeManagerPoolEntry> batch = new ArrayList<>();
+        try {
+          while (batch.size() < parallelism && !remaining.isEmpty()) {
+            final OfficeManager entry = remaining.remove(0);
+            if (entry instanceof AbstractOfficeManagerPoolEntry && takeOutOfRotation(entry)) {
+              batch.add((AbstractOfficeManagerPoolEntry) entry);
+            }
+          }
+        } catch (InterruptedException interruptedEx) {
+          batch.forEach(this::releaseManager);
+          Thread.currentThread().interrupt();
+          throw new OfficeException("Rolling restart interrupted", interruptedEx);
+        }
+        restartEntries(batch);
       }
-      return manager;
-    } catch (InterruptedException interruptedEx) {
-      throw new OfficeException(
-          "Thread has been interrupted while waiting for a manager to become available.",
-          interruptedEx);
+    } finally {
+      rollingRestart.set(false);
     }
+    LOGGER.info("Office managers of the pool restarted");
   }
 
   /**
-   * Make the given manager available to executes tasks.
+   * Takes the specified entry out of the rotation, waiting for it to complete its running task if
+   * it is busy.
    *
-   * @param manager A manager to return to the pool.
-   * @throws OfficeException If we are unable to release the manager.
+   * @param entry The entry.
+   * @return {@code true} if the entry left the rotation, {@code false} if it is no longer part of
+   *     the rotation anyway (removed from the pool, or recovering from an open circuit breaker).
+   * @throws InterruptedException If the calling thread is interrupted while waiting.
    */
-  private void releaseManager(final OfficeManager manager) throws OfficeException {
+  private boolean takeOutOfRotation(final OfficeManager entry) throws InterruptedException {
 
+    dispatchLock.lock();
     try {
-      pool.put(manager);
-    } catch (InterruptedException interruptedEx) {
-      // Not supposed to happened
-      throw new OfficeException("interrupted", interruptedEx);
+      leavingRotation.add(entry);
+      while (true) {
+        if (pool.remove(entry)) {
+          resizer.entryBusy(entry);
+          leavingRotation.remove(entry);
+          return true;
+        }
+        if (!leavingRotation.contains(entry)) {
+          // Released by the task it was executing.
+          return true;
+        }
+        if (!isRunning()
+            || !entries.contains(entry)
+            || getEntryStats(entry).getCircuitBreakerState() != CircuitBreakerState.CLOSED) {
+          leavingRotation.remove(entry);
+          return false;
+        }
+        leftRotation.await(ROTATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      dispatchLock.unlock();
     }
   }
 
   /**
-   * A builder for constructing an {@link AbstractOfficeManagerPool}.
+   * Restarts the specified entries, which are out of the rotation, concurrently and returns them to
+   * the pool.
    *
-   * @see AbstractOfficeManagerPool
+   * @param batch The entries to restart.
+   * @throws OfficeException If an entry fails to restart.
    */
-  @SuppressWarnings("unchecked")
-  public abstract static class AbstractOfficeManagerPoolBuilder<
-          B extends AbstractOfficeManagerPoolBuilder<B>>
-      extends AbstractOfficeManagerBuilder<B> {
+  private void restartEntries(final List<AbstractOfficeManagerPoolEntry> batch)
+      throws OfficeException {
 
-    protected Long taskExecutionTimeout;
-    protected Long taskQueueTimeout;
+    final List<Future<?>> restarts = new ArrayList<>();
+    for (final AbstractOfficeManagerPoolEntry entry : batch) {
+      restarts.add(
+          asyncExecutor.submit(
+              () -> {
+                restartEntry(entry);
+                return null;
+              }));
+    }
 
-    // Protected constructor so only subclasses can initialize an instance of this builder.
-    protected AbstractOfficeManagerPoolBuilder() {
-      super();
+    // Entries being restarted cannot be abandoned, interruptions are deferred.
+    boolean interrupted = false;
+    OfficeException failure = null;
+    for (final Future<?> restart : restarts) {
+      while (true) {
+        try {
+          restart.get();
+          break;
+        } catch (InterruptedException interruptedEx) {
+          interrupted = true;
+        } catch (ExecutionException executionEx) {
+          if (failure == null) {
+            failure =
+                new OfficeException(
+                    "Unable to restart an office manager; rolling restart aborted",
+                    executionEx.getCause());
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
     }
+    if (failure != null) {
+      throw failure;
+    }
+  }
 
-    /**
-     * Specifies the maximum time allowed to process a task. If the processing time of a task is
-     * longer than this timeout, this task will be aborted and the next task is processed.
-     *
-     * <p>&nbsp; <b><i>Default</i></b>: 120000 (2 minutes)
-     *
-     * @param taskExecutionTimeout The task execution timeout, in milliseconds.
-     * @return This builder instance.
-     */
-    @NonNull
-    public B taskExecutionTimeout(@Nullable final Long taskExecutionTimeout) {
+  /**
+   * Restarts an entry taken out of the rotation from a clean state and probes it, returning it to
+   * the pool if the probe succeeds, or recovering it as if its circuit breaker opened otherwise.
+   *
+   * @param entry The entry to restart.
+   * @throws OfficeException If the entry fails to restart.
+   */
+  private void restartEntry(final AbstractOfficeManagerPoolEntry entry) throws OfficeException {
 
-      if (taskExecutionTimeout != null) {
-        Validate.inclusiveBetween(
-            0,
-            Long.MAX_VALUE,
-            taskExecutionTimeout,
-            String.format(
-                "taskExecutionTimeout %s must greater than or equal to 0", taskExecutionTimeout));
-      }
-      this.taskExecutionTimeout = taskExecutionTimeout;
-      return (B) this;
+    final PoolEntryStats stats = getEntryStats(entry);
+    try {
+      LOGGER.info("Restarting an office manager taken out of the rotation");
+      entry.reset();
+      stats.recordRestart();
+      entry.probe();
+    } catch (OfficeException | RuntimeException ex) {
+      LOGGER.warn("Office manager failed to restart; removing it from the pool until it recovers");
+      circuitBreaker.restartFailed(entry);
+      throw ex;
+    }
+    returnRestartedEntry(entry);
+  }
+
+  /**
+   * Returns to the pool an entry restarted by a rolling restart, or recovered by its circuit
+   * breaker.
+   *
+   * @param entry The restarted entry.
+   */
+  private void returnRestartedEntry(final AbstractOfficeManagerPoolEntry entry) {
+
+    if (poolState.get() == POOL_SHUTDOWN) {
+      // The pool has been shutdown while the entry was restarting, it may have been restarted
+      // after being stopped.
+      disposeEntry(entry);
+      return;
     }
+    releaseManager(entry);
+  }
 
-    /**
-     * Specifies the maximum living time of a task in the conversion queue. The task will be removed
-     * from the queue if the waiting time is longer than this timeout.
-     *
-     * <p>&nbsp; <b><i>Default</i></b>: 30000 (30 seconds)
-     *
-     * @param taskQueueTimeout The task queue timeout, in milliseconds.
-     * @return This builder instance.
-     */
-    @NonNull
-    public B taskQueueTimeout(@Nullable final Long taskQueueTimeout) {
+  /**
+   * Starts the entries concurrently and waits until the required number of entries are started.
+   * Each entry is made available to execute tasks as soon as it is started. If the required number
+   * of entries cannot be started, the entries that have been started are stopped.
+   *
+   * @throws OfficeException If the required number of entries cannot be started.
+   */
+  private void startEntries() throws OfficeException {
 
-      if (taskQueueTimeout != null) {
-        Validate.inclusiveBetween(
-            0,
-            Long.MAX_VALUE,
-            taskQueueTimeout,
-            String.format("taskQueueTimeout %s must greater than or equal to 0", taskQueueTimeout));
-      }
-      this.taskQueueTimeout = taskQueueTimeout;
+    final List<OfficeManager> toStart = new ArrayList<>(entries);
+    final int required =
+        minStartedEntries == 0 ? toStart.size() : Math.min(minStartedEntries, toStart.size());
+    final StartProgress progress = new StartProgress(toStart.size(), required);
+
+    startExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(poolStartParallelism, toStart.size())),
+            new NamedThreadFactory("jodconverter-poolstart"));
+    for (final OfficeManager entry : toStart) {
+      startExecutor.execute(() -> startEntry(entry, progress));
+    }
+    startExecutor.shutdown();
+
+    final Exception failure = progress.await();
+    if (failure == null) {
+      return;
+    }
+
+    // Rollback: stop the entries that have been started.
+    startExecutor.shutdownNow();
+    dispatchLock.lock();
+    try {
+      pool.clear();
+      resizer.clear();
+    } finally {
+      dispatchLock.unlock();
+    }
+    for (final OfficeManager entry : progress.getStartedEntries()) {
+      try {
+        entry.stop();
+      } catch (OfficeException | RuntimeException ex) {
+        failure.addSuppressed(ex);
+      }
+    }
+    if (failure instanceof OfficeException) {
+      throw (OfficeException) failure;
+    }
+    throw (RuntimeException) failure;
+  }
+
+  /**
+   * Starts an entry and makes it available to execute tasks.
+   *
+   * @param entry The entry to start.
+   * @param progress The progress of the start of the pool.
+   */
+  private void startEntry(final OfficeManager entry, final StartProgress progress) {
+
+    try {
+      entry.start();
+    } catch (OfficeException | RuntimeException ex) {
+      if (progress.failed(ex)) {
+        // The pool is already started without this entry.
+        LOGGER.error("Unable to start an office manager; removing it from the pool", ex);
+        entries.remove(entry);
+        entryStats.remove(entry);
+      }
+      return;
+    }
+
+    getEntryStats(entry).recordRestart();
+    if (progress.started(entry, this::releaseManager)) {
+      return;
+    }
+
+    // The start of the pool has been aborted in the meantime.
+    try {
+      entry.stop();
+    } catch (OfficeException | RuntimeException ex) {
+      LOGGER.warn("Unable to stop an office manager after an aborted start", ex);
+    }
+  }
+
+  /**
+   * Stops the entries concurrently and waits until they are all stopped.
+   *
+   * @throws OfficeException If an entry cannot be stopped. Other failures are added to the thrown
+   *     exception as suppressed exceptions.
+   */
+  private void stopEntries() throws OfficeException {
+
+    final List<OfficeManager> toStop = new ArrayList<>(entries);
+    final ExecutorService stopExecutor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(poolStartParallelism, toStop.size())),
+            new NamedThreadFactory("jodconverter-poolstop"));
+    final List<Future<?>> stops = new ArrayList<>(toStop.size());
+    try {
+      for (final OfficeManager entry : toStop) {
+        stops.add(
+            stopExecutor.submit(
+                () -> {
+                  entry.stop();
+                  return null;
+                }));
+      }
+    } finally {
+      stopExecutor.shutdown();
+    }
+
+    Exception firstException = null;
+    for (final Future<?> stop : stops) {
+      try {
+        stop.get();
+      } catch (ExecutionException executionEx) {
+        final Exception ex =
+            executionEx.getCause() instanceof Exception
+                ? (Exception) executionEx.getCause()
+                : executionEx;
+        if (firstException == null) {
+          firstException = ex;
+        } else {
+          firstException.addSuppressed(ex);
+        }
+      } catch (InterruptedException interruptedEx) {
+        Thread.currentThread().interrupt();
+        throw new OfficeException(
+            "Thread has been interrupted while stopping the office managers.", interruptedEx);
+      }
+    }
+
+    if (firstException instanceof OfficeException) {
+      throw (OfficeException) firstException;
+    }
+    if (firstException instanceof RuntimeException) {
+      throw (RuntimeException) firstException;
+    }
+    if (firstException != null) {
+      throw new OfficeException("Unable to stop an office manager.", firstException);
+    }
+  }
+
+  /**
+   * Adds the specified task to the queue of tasks waiting for a manager. The task will be removed
+   * from the queue if no manager becomes available within the configured timeout.
+   *
+   * @param pendingTask The task to queue.
+   * @throws OfficeException If the task cannot be queued.
+   */
+  /* default */ void enqueue(final PendingTask pendingTask) throws OfficeException {
+
+    final OfficeTask task = pendingTask.getTask();
+    dispatchLock.lock();
+    try {
+      if (!isRunning()) {
+        throw new IllegalStateException("This office manager is not running.");
+      }
+
+      final long queueTimeout = getQueueTimeout(task);
+      if (queueTimeout <= 0L) {
+        throw new OfficeException("The deadline of the task has already passed: " + task);
+      }
+
+      // Reject the task right away rather than letting it wait until the queue timeout when the
+      // queue is full, so callers can back off.
+      if (maxQueuedTasks > 0 && pendingTasks.size() >= maxQueuedTasks) {
+        throw new OfficeQueueFullException(
+            "Too many tasks waiting for an office manager (maximum is " + maxQueuedTasks + ").",
+            pendingTasks.size(),
+            estimateWaitTime());
+      }
+      if (!pendingTasks.add(pendingTask)) {
+        final String tenant = task.getTenant();
+        final int tenantQueueLength = pendingTasks.size(tenant);
+        throw new OfficeQueueFullException(
+            "Too many tasks waiting for an office manager for tenant '"
+                + tenant
+                + "' (maximum is "
+                + pendingTasks.getQuota(tenant).getMaxQueuedTasks()
+                + ").",
+            tenantQueueLength,
+            estimateWaitTime());
+      }
+      pendingTask.setExpiration(
+          scheduler.schedule(() -> expire(pendingTask), queueTimeout, TimeUnit.MILLISECONDS));
+      dispatch();
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Queues a retry of the specified task, which its entry failed to execute, ahead of the tasks
+   * queued since. A task is only retried once, only if it failed because of its entry, and never
+   * once its source document is quarantined.
+   *
+   * @param pendingTask The task that failed.
+   * @param failure The failure of the task.
+   * @return The queued retry, or {@code null} if the task cannot be retried.
+   */
+  @Nullable
+  /* default */ PendingTask retry(final PendingTask pendingTask, final Exception failure) {
+
+    final HedgeableTask retryableTask = pendingTask.getAttemptedTask();
+    if (!taskRetry
+        || retryableTask == null
+        || pendingTask.isRetry()
+        || !(failure instanceof OfficeManagerFailureException)
+        || isQuarantined(retryableTask)) {
+      return null;
+    }
+    final long queueTimeout = getQueueTimeout(retryableTask);
+    if (queueTimeout <= 0L) {
+      return null;
+    }
+
+    final PendingTask retryTask = new PendingTask(retryableTask.createAttempt(), pendingTask);
+    dispatchLock.lock();
+    try {
+      // A draining pool still completes the tasks it accepted.
+      final int state = poolState.get();
+      if (state != POOL_STARTED && state != POOL_DRAINING) {
+        return null;
+      }
+      LOGGER.info("Office manager failed to execute task {}; retrying it", retryableTask, failure);
+      pendingTasks.addFirst(retryTask);
+      retryTask.setExpiration(
+          scheduler.schedule(() -> expire(retryTask), queueTimeout, TimeUnit.MILLISECONDS));
+      dispatch();
+    } finally {
+      dispatchLock.unlock();
+    }
+    return retryTask;
+  }
+
+  /**
+   * Fails fast if the source document of the specified task is quarantined, fingerprinting the
+   * document if needed.
+   *
+   * @param attemptedTask The task whose attempt is about to be executed, if any.
+   * @throws OfficeException If the document is quarantined, or cannot be fingerprinted.
+   */
+  /* default */ void checkQuarantine(@Nullable final HedgeableTask attemptedTask)
+      throws OfficeException {
+
+    if (documentQuarantine == null || attemptedTask == null) {
+      return;
+    }
+    final String fingerprint;
+    try {
+      fingerprint = attemptedTask.getSourceFingerprint();
+    } catch (RuntimeException ex) {
+      throw new OfficeException(
+          "Unable to fingerprint the source document of task: " + attemptedTask, ex);
+    }
+    if (fingerprint != null && documentQuarantine.isQuarantined(fingerprint)) {
+      throw new DocumentQuarantinedException(
+          "The source document of the task crashed or hung office processes too many times: "
+              + attemptedTask,
+          fingerprint);
+    }
+  }
+
+  /**
+   * Gets whether the source document of the specified task is quarantined.
+   *
+   * @param attemptedTask The task.
+   * @return {@code true} if the document is known to be quarantined, {@code false} otherwise.
+   */
+  private boolean isQuarantined(final HedgeableTask attemptedTask) {
+
+    if (documentQuarantine == null) {
+      return false;
+    }
+    final String fingerprint = attemptedTask.getSourceFingerprint();
+    return fingerprint != null && documentQuarantine.isQuarantined(fingerprint);
+  }
+
+  /**
+   * Records a failure against the source document of the specified task if the task failed
+   * because it crashed or hung its office process.
+   *
+   * @param attemptedTask The task whose attempt failed, if any.
+   * @param failure The failure of the attempt.
+   */
+  /* default */ void recordDocumentFailure(
+      @Nullable final HedgeableTask attemptedTask, final Exception failure) {
+
+    if (documentQuarantine == null
+        || attemptedTask == null
+        || !(failure instanceof OfficeManagerFailureException)) {
+      return;
+    }
+    final String fingerprint;
+    try {
+      fingerprint = attemptedTask.getSourceFingerprint();
+    } catch (RuntimeException ex) {
+      LOGGER.debug("Unable to fingerprint the source document of task {}", attemptedTask, ex);
+      return;
+    }
+    if (fingerprint != null && documentQuarantine.recordFailure(fingerprint)) {
+      LOGGER.warn(
+          "Source document {} of task {} crashed or hung office processes too many times;"
+              + " quarantining it",
+          fingerprint,
+          attemptedTask);
+    }
+  }
+
+  /**
+   * Gets the time the specified task may wait in the queue. A task having a deadline expires at
+   * its deadline if it comes first.
+   *
+   * @param task The task.
+   * @return The queue timeout, in milliseconds, which is not positive if the deadline has passed.
+   */
+  private long getQueueTimeout(final OfficeTask task) {
+
+    final long deadline = task.getDeadline();
+    return deadline < 0L
+        ? taskQueueTimeout
+        : Math.min(taskQueueTimeout, deadline - System.currentTimeMillis());
+  }
+
+  /**
+   * Executes the specified task on the specified entry. When adaptive timeouts are enabled, the
+   * task is given a multiple of the usual execution time of similar tasks to complete, and its
+   * execution time is recorded if it succeeds.
+   *
+   * @param entry The entry executing the task.
+   * @param task The task to execute.
+   * @throws OfficeException If the task fails or does not complete within its timeout.
+   */
+  /* default */ void executeOn(final OfficeManager entry, final OfficeTask task)
+      throws OfficeException {
+
+    if (timeoutEstimator == null || !(entry instanceof AbstractOfficeManagerPoolEntry)) {
+      entry.execute(task);
+      return;
+    }
+
+    final long timeout = timeoutEstimator.getTimeout(task);
+    final long start = System.nanoTime();
+    if (timeout < 0L) {
+      entry.execute(task);
+    } else {
+      ((AbstractOfficeManagerPoolEntry) entry).execute(task, timeout);
+    }
+    timeoutEstimator.record(task, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * Estimates the time a new task would wait before being executed. Must be called while holding
+   * the dispatch lock.
+   *
+   * @return The estimated wait time, in milliseconds, or -1 if no entry has executed a task yet.
+   */
+  private long estimateWaitTime() {
+
+    final int queued = pendingTasks.size();
+    if (queued == 0 && !pool.isEmpty()) {
+      return 0L;
+    }
+
+    double totalLatency = 0.0d;
+    int count = 0;
+    for (final OfficeManager entry : entries) {
+      final PoolEntryStats stats = getEntryStats(entry);
+      if (stats.getTaskCount() > 0L) {
+        totalLatency += stats.getAverageLatency();
+        count++;
+      }
+    }
+    if (count == 0) {
+      return -1L;
+    }
+
+    // The entries execute the queued tasks in parallel, one task at a time each, and the new task
+    // starts once an entry is done with the tasks ahead of it.
+    return (long) Math.ceil((queued + 1) * (totalLatency / count) / entries.size());
+  }
+
+  /**
+   * Assigns available managers to waiting tasks, highest priority first and fairly between
+   * tenants. Must be called while holding the dispatch lock.
+   */
+  private void dispatch() {
+
+    while (!pool.isEmpty()) {
+      final PendingTask pendingTask = pendingTasks.poll();
+      if (pendingTask == null) {
+        // Nothing can be dispatched right now
+        return;
+      }
+      pendingTask.cancelExpiration();
+      if (isPastDeadline(pendingTask.getTask())) {
+        // Nobody waits for the result of the task anymore.
+        pendingTasks.abandon(pendingTask);
+        pendingTask
+            .getEntry()
+            .completeExceptionally(
+                new OfficeException(
+                    "The deadline of the task passed while waiting for an office manager."));
+        continue;
+      }
+      final OfficeManager entry = selectEntry(pendingTask.getFailedEntry());
+      resizer.entryBusy(entry);
+      busyEntries.add(entry);
+      pendingTask.getEntry().complete(entry);
+    }
+  }
+
+  /**
+   * Removes from the pool the available entry chosen by the entry selector. Must be called while
+   * holding the dispatch lock, when the pool is not empty.
+   *
+   * @param excluded The entry to select only if no other entry is available, if any.
+   * @return The selected entry.
+   */
+  private OfficeManager selectEntry(@Nullable final OfficeManager excluded) {
+
+    if (pool.size() == 1) {
+      return pool.pollFirst();
+    }
+
+    final List<OfficeManager> available = new ArrayList<>(pool);
+    available.remove(excluded);
+    if (available.size() == 1) {
+      final OfficeManager entry = available.get(0);
+      pool.remove(entry);
+      return entry;
+    }
+    final List<PoolEntryStats> stats = new ArrayList<>(available.size());
+    available.forEach(entry -> stats.add(getEntryStats(entry)));
+    int index = 0;
+    try {
+      index = poolEntrySelector.select(Collections.unmodifiableList(stats));
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Unable to select an office manager; using the first available one", ex);
+    }
+    if (index < 0 || index >= available.size()) {
+      LOGGER.warn("Invalid office manager selected: {}; using the first available one", index);
+      index = 0;
+    }
+
+    final OfficeManager entry = available.get(index);
+    pool.remove(entry);
+    return entry;
+  }
+
+  /**
+   * Gets the statistics of the specified entry.
+   *
+   * @param entry The entry.
+   * @return The entry statistics.
+   */
+  private PoolEntryStats getEntryStats(final OfficeManager entry) {
+
+    return entryStats.computeIfAbsent(
+        entry,
+        key ->
+            key instanceof AbstractOfficeManagerPoolEntry
+                ? ((AbstractOfficeManagerPoolEntry) key).getStats()
+                : new PoolEntryStats());
+  }
+
+  /**
+   * Grows the pool if the oldest waiting task has waited too long while all entries are busy, or
+   * shrinks the pool if an entry has been idle for too long while no task is waiting.
+   */
+  private void resize() {
+
+    boolean grow = false;
+    OfficeManager removedEntry = null;
+    dispatchLock.lock();
+    try {
+      if (!isRunning()) {
+        return;
+      }
+
+      final long now = System.nanoTime();
+      final PendingTask oldest = pendingTasks.peekOldest();
+      if (oldest != null) {
+        // The entry is created outside the lock, since creating it may block.
+        grow = resizer.shouldGrow(entries.size(), oldest.getEnqueueTime(), now);
+      } else {
+        removedEntry = resizer.pollIdleEntry(entries.size(), now);
+        if (removedEntry != null) {
+          pool.remove(removedEntry);
+          entries.remove(removedEntry);
+        }
+      }
+    } finally {
+      dispatchLock.unlock();
+    }
+
+    if (grow) {
+      try {
+        asyncExecutor.execute(this::grow);
+      } catch (RejectedExecutionException rejectedEx) {
+        // The pool has been shutdown in the meantime.
+        LOGGER.debug("Unable to grow the pool", rejectedEx);
+      }
+    }
+    if (removedEntry != null) {
+      LOGGER.info(
+          "Removed an idle office manager from the pool; pool size is now {}", getPoolSize());
+      final OfficeManager entry = removedEntry;
+      try {
+        asyncExecutor.execute(() -> disposeEntry(entry));
+      } catch (RejectedExecutionException rejectedEx) {
+        disposeEntry(entry);
+      }
+    }
+  }
+
+  /** Creates a new entry and adds it to the pool once started. */
+  private void grow() {
+
+    final OfficeManager entry;
+    try {
+      entry = createEntry();
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Unable to create a new office manager", ex);
+      scaleUpFailed();
+      return;
+    }
+    if (entry == null) {
+      scaleUpFailed();
+      return;
+    }
+    addEntry(entry);
+  }
+
+  // Allows the pool to grow again, once the threshold is elapsed.
+  private void scaleUpFailed() {
+
+    dispatchLock.lock();
+    try {
+      resizer.growFailed();
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Starts a new entry and, once started, makes it available to execute tasks.
+   *
+   * @param entry The entry to add.
+   */
+  private void addEntry(final OfficeManager entry) {
+
+    try {
+      entry.start();
+    } catch (OfficeException | RuntimeException ex) {
+      LOGGER.warn("Unable to add a new office manager to the pool", ex);
+      scaleUpFailed();
+      disposeEntry(entry);
+      return;
+    }
+
+    getEntryStats(entry).recordRestart();
+    dispatchLock.lock();
+    try {
+      resizer.grown();
+      if (poolState.get() != POOL_SHUTDOWN) {
+        entries.add(entry);
+        resizer.entryIdle(entry);
+        pool.addLast(entry);
+        dispatch();
+        LOGGER.info("Added an office manager to the pool; pool size is now {}", getPoolSize());
+        return;
+      }
+    } finally {
+      dispatchLock.unlock();
+    }
+
+    // The pool has been shutdown while the entry was starting.
+    disposeEntry(entry);
+  }
+
+  /**
+   * Stops an entry that has been removed from the pool.
+   *
+   * @param entry The entry to stop.
+   */
+  private void disposeEntry(final OfficeManager entry) {
+
+    try {
+      entry.stop();
+    } catch (OfficeException | RuntimeException ex) {
+      LOGGER.warn("Unable to stop an office manager removed from the pool", ex);
+    } finally {
+      entryStats.remove(entry);
+      entryRemoved(entry);
+    }
+  }
+
+  /**
+   * Removes the specified task from the queue because it has waited longer than the configured
+   * timeout.
+   *
+   * @param pendingTask The expired task.
+   */
+  private void expire(final PendingTask pendingTask) {
+
+    dispatchLock.lock();
+    try {
+      if (!pendingTasks.remove(pendingTask)) {
+        // Already dispatched
+        return;
+      }
+      signalIfDrained();
+    } finally {
+      dispatchLock.unlock();
+    }
+    pendingTask
+        .getEntry()
+        .completeExceptionally(
+            new OfficeException(
+                isPastDeadline(pendingTask.getTask())
+                    ? "The deadline of the task passed while waiting for an office manager."
+                    : "No office manager available after " + taskQueueTimeout + " millisec."));
+  }
+
+  /**
+   * Gets whether the deadline of the specified task has passed.
+   *
+   * @param task The task.
+   * @return {@code true} if the task has a deadline that has passed, {@code false} otherwise.
+   */
+  private static boolean isPastDeadline(final OfficeTask task) {
+
+    final long deadline = task.getDeadline();
+    return deadline >= 0L && System.currentTimeMillis() >= deadline;
+  }
+
+  /**
+   * Waits, in the calling thread, for a manager to be assigned to the specified task.
+   *
+   * @param pendingTask The queued task.
+   * @return The manager assigned to the task.
+   * @throws OfficeException If we are unable to acquire a manager.
+   */
+  private OfficeManager acquireManager(final PendingTask pendingTask) throws OfficeException {
+
+    try {
+      return pendingTask.getEntry().get();
+    } catch (ExecutionException executionEx) {
+      if (executionEx.getCause() instanceof OfficeException) {
+        throw (OfficeException) executionEx.getCause();
+      }
+      throw new OfficeException("Unable to acquire a manager.", executionEx.getCause());
+    } catch (InterruptedException interruptedEx) {
+
+      // Nobody will execute the task anymore. Remove it from the queue, or give
+      // the manager back to the pool if one was assigned in the meantime.
+      dispatchLock.lock();
+      try {
+        if (pendingTasks.remove(pendingTask)) {
+          pendingTask.cancelExpiration();
+          signalIfDrained();
+        }
+      } finally {
+        dispatchLock.unlock();
+      }
+      pendingTask.getEntry().thenAccept(entry -> releaseManager(entry, pendingTask));
+      throw new OfficeException(
+          "Thread has been interrupted while waiting for a manager to become available.",
+          interruptedEx);
+    }
+  }
+
+  /**
+   * Executes a task on a manager that has been assigned to it, completing the specified future
+   * once the task terminates.
+   *
+   * @param entry The manager assigned to the task.
+   * @param pendingTask The task to execute.
+   * @param result The future to complete.
+   */
+  private void executeAcquired(
+      final OfficeManager entry,
+      final PendingTask pendingTask,
+      final CompletableFuture<Void> result) {
+
+    if (result.isCancelled()) {
+      // Cancelled before its execution started, the task is abandoned.
+      releaseManager(entry, pendingTask);
+      return;
+    }
+    try {
+      checkQuarantine(pendingTask.getAttemptedTask());
+    } catch (OfficeException officeEx) {
+      releaseManager(entry, pendingTask);
+      result.completeExceptionally(officeEx);
+      return;
+    }
+
+    Exception failure = null;
+    PendingTask retryTask = null;
+    try {
+      executeOn(entry, pendingTask.getTask());
+    } catch (OfficeException | RuntimeException ex) {
+      failure = ex;
+      recordDocumentFailure(pendingTask.getAttemptedTask(), ex);
+      if (!result.isCancelled()) {
+        retryTask = retry(pendingTask, ex);
+      }
+    } finally {
+      if (result.isCancelled()) {
+        releaseManager(entry, pendingTask);
+      } else {
+        releaseManager(entry, pendingTask, failure);
+      }
+    }
+
+    if (retryTask != null) {
+      submit(retryTask, result);
+    } else if (failure == null) {
+      result.complete(null);
+    } else {
+      result.completeExceptionally(failure);
+    }
+  }
+
+  /**
+   * Cancels the specified task. A queued task is immediately removed from the queue, while a
+   * running task is aborted by its entry.
+   *
+   * @param pendingTask The task to cancel.
+   */
+  /* default */ void cancel(final PendingTask pendingTask) {
+
+    dispatchLock.lock();
+    try {
+      if (pendingTasks.remove(pendingTask)) {
+        pendingTask.cancelExpiration();
+        pendingTask.getEntry().cancel(false);
+        LOGGER.debug("Queued task cancelled: {}", pendingTask.getTask());
+        signalIfDrained();
+        return;
+      }
+    } finally {
+      dispatchLock.unlock();
+    }
+
+    // Already dispatched, abort the task if its entry is still executing it.
+    final CompletableFuture<OfficeManager> entry = pendingTask.getEntry();
+    if (!entry.isCompletedExceptionally()) {
+      cancelRunning(entry.getNow(null), pendingTask.getTask());
+    }
+  }
+
+  /**
+   * Aborts the specified task if the specified entry is still executing it.
+   *
+   * @param entry The entry the task has been assigned to, if any.
+   * @param task The task to abort.
+   */
+  /* default */ void cancelRunning(@Nullable final OfficeManager entry, final OfficeTask task) {
+
+    if (entry instanceof AbstractOfficeManagerPoolEntry
+        && ((AbstractOfficeManagerPoolEntry) entry).cancelTask(task)) {
+      LOGGER.debug("Running task cancelled: {}", task);
+    }
+  }
+
+  /**
+   * Make the given manager available to executes tasks.
+   *
+   * @param manager A manager to return to the pool.
+   */
+  private void releaseManager(final OfficeManager manager) {
+    releaseManager(manager, null);
+  }
+
+  /**
+   * Make the given manager available to executes tasks once it has executed the specified task,
+   * recording whether it failed to.
+   *
+   * @param manager A manager to return to the pool.
+   * @param pendingTask The task the manager executed.
+   * @param failure The failure of the task, or {@code null} if the task succeeded.
+   */
+  private void releaseManager(
+      final OfficeManager manager,
+      final PendingTask pendingTask,
+      @Nullable final Exception failure) {
+
+    recordOutcome(manager, failure);
+    releaseManager(manager, pendingTask);
+  }
+
+  /**
+   * Records whether the specified manager failed to execute a task, for its circuit breaker.
+   *
+   * @param manager The manager that executed the task.
+   * @param failure The failure of the task, or {@code null} if the task succeeded.
+   */
+  /* default */ void recordOutcome(final OfficeManager manager, @Nullable final Exception failure) {
+    circuitBreaker.recordOutcome(manager, getEntryStats(manager), failure);
+  }
+
+  /**
+   * Make the given manager available to executes tasks once it is done with the specified task.
+   *
+   * @param manager A manager to return to the pool.
+   * @param pendingTask The task the manager was assigned to, if any.
+   */
+  /* default */ void releaseManager(
+      final OfficeManager manager, @Nullable final PendingTask pendingTask) {
+
+    // A cancelled, or timed out, task ignoring interrupts still keeps the manager busy.
+    if (manager instanceof AbstractOfficeManagerPoolEntry
+        && ((AbstractOfficeManagerPoolEntry) manager)
+            .runWhenIdle(() -> releaseManager(manager, pendingTask))) {
+      LOGGER.debug("Office manager still executing an abandoned task; releasing it once over");
+      return;
+    }
+
+    dispatchLock.lock();
+    try {
+      busyEntries.remove(manager);
+      final PoolEntryStats stats = getEntryStats(manager);
+      if (pendingTask != null) {
+        pendingTasks.done(pendingTask, stats.getLastTaskMemoryUsage());
+        final long latency = System.nanoTime() - pendingTask.getDispatchTime();
+        stats.recordTask(latency);
+        if (latencyTracker != null) {
+          final OfficeTask task = pendingTask.getTask();
+          latencyTracker.record(
+              task.getSourceFormat(),
+              task.getTargetFormat(),
+              TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+      }
+      if (poolState.get() == POOL_SHUTDOWN) {
+        // The pool is shutting down, the manager must not be reused.
+        return;
+      }
+      if (stats.getCircuitBreakerState() == CircuitBreakerState.OPEN) {
+        // The manager keeps failing, it must recover before being reused.
+        circuitBreaker.recover((AbstractOfficeManagerPoolEntry) manager);
+      } else if (leavingRotation.remove(manager)) {
+        // The manager is restarted by a rolling restart before being reused.
+        leftRotation.signalAll();
+      } else {
+        pool.addLast(manager);
+        resizer.entryIdle(manager);
+      }
+      // Even if the manager is not reused, the memory released by its task may let another idle
+      // manager execute a task held by the memory budget.
+      dispatch();
+    } finally {
+      signalIfDrained();
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Wakes up the thread draining the pool if no task is queued or running anymore. Must be called
+   * while holding the dispatch lock.
+   */
+  private void signalIfDrained() {
+
+    if (poolState.get() == POOL_DRAINING && pendingTasks.isEmpty() && busyEntries.isEmpty()) {
+      drained.signalAll();
+    }
+  }
+
+  /**
+   * Gets the time after which a second attempt of the specified task is started.
+   *
+   * @param task The task.
+   * @return The hedging delay, in milliseconds, or -1 if the task must not be hedged.
+   */
+  /* default */ long getHedgingDelay(final OfficeTask task) {
+
+    dispatchLock.lock();
+    try {
+      return latencyTracker.getPercentile(task.getSourceFormat(), task.getTargetFormat());
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /**
+   * Takes an idle entry to execute a second attempt of a task. Entries are only taken when no task
+   * is waiting for an entry, so that hedging never delays other tasks, and when the second attempt
+   * fits in the memory budget and in the quota of its tenant, like any dispatched task.
+   *
+   * @param pendingTask The second attempt, reserving its memory until it is released with its
+   *     entry.
+   * @return The entry, or {@code null} if no entry is idle or the second attempt cannot run.
+   */
+  @Nullable
+  /* default */ OfficeManager takeIdleEntry(final PendingTask pendingTask) {
+
+    dispatchLock.lock();
+    try {
+      if (!isRunning()
+          || pool.isEmpty()
+          || !pendingTasks.isEmpty()
+          || !pendingTasks.reserve(pendingTask)) {
+        return null;
+      }
+      final OfficeManager entry = selectEntry(null);
+      resizer.entryBusy(entry);
+      busyEntries.add(entry);
+      return entry;
+    } finally {
+      dispatchLock.unlock();
+    }
+  }
+
+  /** Tracks the entries started, or that failed to start, while the pool is starting. */
+  private static final class StartProgress {
+
+    private final int total;
+    private final int required;
+    private final List<OfficeManager> startedEntries = new ArrayList<>();
+    private int failedCount;
+    private Exception failure;
+    private boolean over;
+    private boolean aborted;
+
+    private StartProgress(final int total, final int required) {
+
+      this.total = total;
+      this.required = required;
+    }
+
+    private synchronized boolean started(
+        final OfficeManager entry, final Consumer<OfficeManager> release) {
+
+      if (aborted) {
+        return false;
+      }
+      // The entry is available before it counts as started, so that a started pool can use it.
+      release.accept(entry);
+      startedEntries.add(entry);
+      notifyAll();
+      return true;
+    }
+
+    private synchronized boolean failed(final Exception ex) {
+
+      failedCount++;
+      if (failure == null) {
+        failure = ex;
+      } else {
+        failure.addSuppressed(ex);
+      }
+      notifyAll();
+      return over;
+    }
+
+    private synchronized List<OfficeManager> getStartedEntries() {
+      return new ArrayList<>(startedEntries);
+    }
+
+    /**
+     * Waits until the required number of entries are started, or until all the entries are done
+     * starting if the required number of entries cannot be reached anymore.
+     *
+     * @return {@code null} if the required number of entries are started, the first failure
+     *     otherwise. In the latter case, entries that are started later are not accepted.
+     */
+    private synchronized Exception await() {
+
+      try {
+        while (startedEntries.size() < required) {
+          if (failedCount > total - required && startedEntries.size() + failedCount == total) {
+            aborted = true;
+            return failure;
+          }
+          wait();
+        }
+        return null;
+      } catch (InterruptedException interruptedEx) {
+        Thread.currentThread().interrupt();
+        aborted = true;
+        final OfficeException interrupted =
+            new OfficeException(
+                "Thread has been interrupted while starting the office managers.", interruptedEx);
+        if (failure != null) {
+          interrupted.addSuppressed(failure);
+        }
+        return interrupted;
+      } finally {
+        over = true;
+      }
+    }
+  }
+
+  /**
+   * A builder for constructing an {@link AbstractOfficeManagerPool}.
+   *
+   * @see AbstractOfficeManagerPool
+   */
+  @SuppressWarnings("unchecked")
+  public abstract static class AbstractOfficeManagerPoolBuilder<
+          B extends AbstractOfficeManagerPoolBuilder<B>>
+      extends AbstractOfficeManagerBuilder<B> {
+
+    protected Long taskExecutionTimeout;
+    protected Boolean directExecution;
+    protected Long taskQueueTimeout;
+    protected Long taskAgingInterval;
+    protected Map<String, TenantQuota> tenantQuotas;
+    protected TenantQuota defaultTenantQuota;
+    protected Integer poolStartParallelism;
+    protected Integer minStartedEntries;
+    protected Boolean shortestJobFirst;
+    protected PoolEntrySelector poolEntrySelector;
+    protected Integer maxQueuedTasks;
+    protected Long memoryBudget;
+    protected Boolean taskHedging;
+    protected Integer circuitBreakerThreshold;
+    protected Boolean taskRetry;
+    protected Integer documentQuarantineThreshold;
+    protected Long documentQuarantineTtl;
+    protected Double adaptiveTimeoutMultiplier;
+    protected Long minAdaptiveTimeout;
+
+    // Protected constructor so only subclasses can initialize an instance of this builder.
+    protected AbstractOfficeManagerPoolBuilder() {
+      super();
+    }
+
+    /**
+     * Creates the settings of the pool to build, filled in with the options specified to this
+     * builder. The options sizing the pool are left to the subclasses, which resolve them.
+     *
+     * @return The settings of the pool to build.
+     */
+    @NonNull
+    protected OfficeManagerPoolSettings buildPoolSettings() {
+      return new OfficeManagerPoolSettings()
+          .taskQueueTimeout(taskQueueTimeout)
+          .taskAgingInterval(taskAgingInterval)
+          .tenantQuotas(tenantQuotas)
+          .defaultTenantQuota(defaultTenantQuota)
+          .poolStartParallelism(poolStartParallelism)
+          .minStartedEntries(minStartedEntries)
+          .shortestJobFirst(shortestJobFirst)
+          .poolEntrySelector(poolEntrySelector)
+          .maxQueuedTasks(maxQueuedTasks)
+          .memoryBudget(memoryBudget)
+          .taskHedging(taskHedging)
+          .circuitBreakerThreshold(circuitBreakerThreshold)
+          .taskRetry(taskRetry)
+          .documentQuarantineThreshold(documentQuarantineThreshold)
+          .documentQuarantineTtl(documentQuarantineTtl)
+          .adaptiveTimeoutMultiplier(adaptiveTimeoutMultiplier)
+          .minAdaptiveTimeout(minAdaptiveTimeout);
+    }
+
+    /**
+     * Specifies the maximum time allowed to process a task. If the processing time of a task is
+     * longer than this timeout, this task will be aborted and the next task is processed.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 120000 (2 minutes)
+     *
+     * @param taskExecutionTimeout The task execution timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B taskExecutionTimeout(@Nullable final Long taskExecutionTimeout) {
+
+      if (taskExecutionTimeout != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            taskExecutionTimeout,
+            String.format(
+                "taskExecutionTimeout %s must greater than or equal to 0", taskExecutionTimeout));
+      }
+      this.taskExecutionTimeout = taskExecutionTimeout;
+      return (B) this;
+    }
+
+    /**
+     * Specifies whether a task is executed by the thread that obtained an office manager from the
+     * pool (the calling thread, or the thread of the pool executing asynchronous tasks), instead of
+     * being handed off to a thread dedicated to the office manager. A single watchdog thread,
+     * shared by all the office managers, then enforces the task execution timeout. This saves two
+     * context switches per task and one idle thread per office manager.
+     *
+     * <p>When a task times out, the executing thread is interrupted. A task that ignores
+     * interruptions only ends once the office manager has handled the timeout (an office process
+     * is restarted, for instance).
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: false
+     *
+     * @param directExecution {@code true} to execute the tasks on the thread that obtained an
+     *     office manager, {@code false} to use a thread dedicated to each office manager.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B directExecution(@Nullable final Boolean directExecution) {
+
+      this.directExecution = directExecution;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the maximum living time of a task in the conversion queue. The task will be removed
+     * from the queue if the waiting time is longer than this timeout.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 30000 (30 seconds)
+     *
+     * @param taskQueueTimeout The task queue timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B taskQueueTimeout(@Nullable final Long taskQueueTimeout) {
+
+      if (taskQueueTimeout != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            taskQueueTimeout,
+            String.format("taskQueueTimeout %s must greater than or equal to 0", taskQueueTimeout));
+      }
+      this.taskQueueTimeout = taskQueueTimeout;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the maximum number of tasks that can wait in the conversion queue. When this number
+     * is reached, a new task is immediately rejected with an {@link OfficeQueueFullException}
+     * holding the queue length and the estimated wait time, instead of waiting until the {@link
+     * #taskQueueTimeout(Long) task queue timeout} expires. A value of 0 means unbounded.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (unbounded)
+     *
+     * @param maxQueuedTasks The maximum number of queued tasks.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B maxQueuedTasks(@Nullable final Integer maxQueuedTasks) {
+
+      if (maxQueuedTasks != null) {
+        Validate.inclusiveBetween(
+            0,
+            Integer.MAX_VALUE,
+            maxQueuedTasks,
+            String.format("maxQueuedTasks %s must greater than or equal to 0", maxQueuedTasks));
+      }
+      this.maxQueuedTasks = maxQueuedTasks;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the memory the tasks executed at the same time may use. The memory a task needs is
+     * estimated from the length of its source document and from the family of this document (a
+     * spreadsheet needs more memory than a text document of the same length), and is refined from
+     * the memory the office processes are observed to use when the office managers can observe it.
+     * A task is held in the conversion queue while its estimated memory exceeds the memory left by
+     * the running tasks, and is executed alone if it exceeds the whole budget. This allows a larger
+     * pool to safely run on a host, since memory rather than the number of office managers limits
+     * the tasks executed at the same time. A value of 0 means unlimited.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (unlimited)
+     *
+     * @param memoryBudget The memory budget, in bytes.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B memoryBudget(@Nullable final Long memoryBudget) {
+
+      if (memoryBudget != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            memoryBudget,
+            String.format("memoryBudget %s must greater than or equal to 0", memoryBudget));
+      }
+      this.memoryBudget = memoryBudget;
+      return (B) this;
+    }
+
+    /**
+     * Specifies whether a task taking longer than usual is duplicated on an idle office manager
+     * (request hedging). When a task takes longer than the 95th percentile of the recent latencies
+     * of the same conversion (source format to target format) and an office manager is idle while
+     * no task is waiting, a second attempt of the task is started on this office manager. The
+     * first attempt to complete wins, and the other one is cancelled. This prevents a sluggish
+     * office process from holding a task until the task execution timeout. Only the tasks
+     * implementing {@link HedgeableTask} are hedged.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: false
+     *
+     * @param taskHedging {@code true} to duplicate the tasks taking longer than usual, {@code
+     *     false} otherwise.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B taskHedging(@Nullable final Boolean taskHedging) {
+
+      this.taskHedging = taskHedging;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the number of tasks an office manager must fail in a row, or not complete within
+     * the task execution timeout, before its circuit breaker opens. Only the failures caused by the
+     * office manager itself count, not the tasks failing because of their document. The office
+     * manager is then removed from the pool and restarted from a clean state (a local office
+     * process gets a fresh instance profile). It is only returned to the pool once a probe, a small
+     * conversion for a local office process, succeeds; otherwise it is restarted again after a
+     * while. This prevents a broken office process from failing every task it is given. A value of
+     * 0 disables the circuit breaker.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (disabled)
+     *
+     * @param circuitBreakerThreshold The number of consecutive failures opening the circuit
+     *     breaker.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B circuitBreakerThreshold(@Nullable final Integer circuitBreakerThreshold) {
+
+      if (circuitBreakerThreshold != null) {
+        Validate.inclusiveBetween(
+            0,
+            Integer.MAX_VALUE,
+            circuitBreakerThreshold,
+            String.format(
+                "circuitBreakerThreshold %s must greater than or equal to 0",
+                circuitBreakerThreshold));
+      }
+      this.circuitBreakerThreshold = circuitBreakerThreshold;
+      return (B) this;
+    }
+
+    /**
+     * Specifies whether a task failing because of its office manager rather than because of the
+     * task itself, such as a task interrupted by a crash of the office process or not completed
+     * within the task execution timeout, is transparently executed again. The task is retried
+     * once, preferably by another office manager, before the tasks queued in the meantime, so that
+     * most crashes are hidden from the caller. Only the tasks implementing {@link HedgeableTask}
+     * are retried, their source document being staged once for both executions. When task hedging
+     * is enabled, a hedged task is retried once all its attempts failed.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: false
+     *
+     * @param taskRetry {@code true} to retry the tasks failing because of their office manager,
+     *     {@code false} otherwise.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B taskRetry(@Nullable final Boolean taskRetry) {
+
+      this.taskRetry = taskRetry;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the number of times a source document must crash an office process, or not be
+     * converted within the task execution timeout, before it is quarantined. The tasks converting
+     * a quarantined document fail fast with a {@link DocumentQuarantinedException}, without being
+     * given to an office process, so that a document that reliably crashes or hangs office does
+     * not take a process down each time it is submitted again. Documents are recognized by the
+     * fingerprint of their content, computed while their source is staged. Only the tasks
+     * implementing {@link HedgeableTask} are checked. A value of 0 disables the quarantine.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (disabled)
+     *
+     * @param documentQuarantineThreshold The number of failures quarantining a document.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B documentQuarantineThreshold(@Nullable final Integer documentQuarantineThreshold) {
+
+      if (documentQuarantineThreshold != null) {
+        Validate.inclusiveBetween(
+            0,
+            Integer.MAX_VALUE,
+            documentQuarantineThreshold,
+            String.format(
+                "documentQuarantineThreshold %s must greater than or equal to 0",
+                documentQuarantineThreshold));
+      }
+      this.documentQuarantineThreshold = documentQuarantineThreshold;
+      return (B) this;
+    }
+
+    /**
+     * Specifies how long a document stays quarantined, counted from the last time it crashed or
+     * hung an office process. The failures of a document that is not quarantined are forgotten
+     * after the same time.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 3600000 (1 hour)
+     *
+     * @param documentQuarantineTtl The quarantine time to live, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B documentQuarantineTtl(@Nullable final Long documentQuarantineTtl) {
+
+      if (documentQuarantineTtl != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            documentQuarantineTtl,
+            String.format(
+                "documentQuarantineTtl %s must greater than or equal to 0", documentQuarantineTtl));
+      }
+      this.documentQuarantineTtl = documentQuarantineTtl;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the execution timeout of each task as a multiple of the usual execution time of
+     * similar tasks, instead of the single task execution timeout. The execution times are learned
+     * per conversion (source format to target format) and per size class of the source document,
+     * and the timeout of a task is this multiple of the 99th percentile of the execution times of
+     * the similar tasks, but not less than the {@link #minAdaptiveTimeout(Long) minimum adaptive
+     * timeout}. A hung conversion of a small document is thus aborted within seconds while large
+     * documents still get the time they need. The task execution timeout remains the upper bound,
+     * and is the timeout of the tasks until enough similar tasks have been executed. A value of 0
+     * disables the adaptive timeouts.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (disabled)
+     *
+     * @param adaptiveTimeoutMultiplier The multiple of the usual execution time given to a task.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B adaptiveTimeoutMultiplier(@Nullable final Double adaptiveTimeoutMultiplier) {
+
+      if (adaptiveTimeoutMultiplier != null) {
+        Validate.inclusiveBetween(
+            0D,
+            Double.MAX_VALUE,
+            adaptiveTimeoutMultiplier,
+            String.format(
+                "adaptiveTimeoutMultiplier %s must greater than or equal to 0",
+                adaptiveTimeoutMultiplier));
+      }
+      this.adaptiveTimeoutMultiplier = adaptiveTimeoutMultiplier;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the minimum execution timeout of a task whose timeout is adapted to the usual
+     * execution time of similar tasks. This leaves some margin to the tasks that usually complete
+     * within a few milliseconds.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 10000 (10 seconds)
+     *
+     * @param minAdaptiveTimeout The minimum adaptive timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B minAdaptiveTimeout(@Nullable final Long minAdaptiveTimeout) {
+
+      if (minAdaptiveTimeout != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            minAdaptiveTimeout,
+            String.format(
+                "minAdaptiveTimeout %s must greater than or equal to 0", minAdaptiveTimeout));
+      }
+      this.minAdaptiveTimeout = minAdaptiveTimeout;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the time a task can wait in the conversion queue before being promoted to the next
+     * higher priority. Aging ensures that low priority tasks are eventually executed even when
+     * higher priority tasks are continuously submitted. A value of 0 disables aging.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 10000 (10 seconds)
+     *
+     * @param taskAgingInterval The task aging interval, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B taskAgingInterval(@Nullable final Long taskAgingInterval) {
+
+      if (taskAgingInterval != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            taskAgingInterval,
+            String.format(
+                "taskAgingInterval %s must greater than or equal to 0", taskAgingInterval));
+      }
+      this.taskAgingInterval = taskAgingInterval;
+      return (B) this;
+    }
+
+    /**
+     * Specifies whether the queued tasks having the smallest estimated cost are executed first,
+     * among the tasks of the same priority. The cost of a task is estimated from the length of its
+     * source document and from the throughput of the conversion (source format to target format),
+     * as learned from the executed tasks. This lowers the mean waiting time when small and large
+     * documents are converted at the same time. To prevent starvation, a task that has waited for
+     * the {@link #taskAgingInterval(Long) task aging interval} is executed before cheaper tasks.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: false
+     *
+     * @param shortestJobFirst {@code true} to execute the cheapest tasks first, {@code false} to
+     *     execute tasks of the same priority in order.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B shortestJobFirst(@Nullable final Boolean shortestJobFirst) {
+
+      this.shortestJobFirst = shortestJobFirst;
+      return (B) this;
+    }
+
+    /**
+     * Specifies how the office manager executing a task is chosen among the available office
+     * managers of the pool. See {@link StandardPoolEntrySelector} for the built-in selectors.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: {@link StandardPoolEntrySelector#FIFO}
+     *
+     * @param poolEntrySelector The pool entry selector.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B poolEntrySelector(@Nullable final PoolEntrySelector poolEntrySelector) {
+
+      this.poolEntrySelector = poolEntrySelector;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the maximum number of office managers of the pool that are started, or stopped, at
+     * the same time.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: The number of available processors.
+     *
+     * @param poolStartParallelism The maximum number of office managers started at the same time.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B poolStartParallelism(@Nullable final Integer poolStartParallelism) {
+
+      if (poolStartParallelism != null) {
+        Validate.inclusiveBetween(
+            1,
+            Integer.MAX_VALUE,
+            poolStartParallelism,
+            String.format("poolStartParallelism %s must be greater than 0", poolStartParallelism));
+      }
+      this.poolStartParallelism = poolStartParallelism;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the number of office managers of the pool that must be started before the pool is
+     * started and can execute tasks. The other office managers join the pool once started, and
+     * are removed from the pool if they fail to start.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: All the office managers of the pool.
+     *
+     * @param minStartedEntries The number of office managers that must be started.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B minStartedEntries(@Nullable final Integer minStartedEntries) {
+
+      if (minStartedEntries != null) {
+        Validate.inclusiveBetween(
+            1,
+            Integer.MAX_VALUE,
+            minStartedEntries,
+            String.format("minStartedEntries %s must be greater than 0", minStartedEntries));
+      }
+      this.minStartedEntries = minStartedEntries;
+      return (B) this;
+    }
+
+    /**
+     * Specifies the quota of a tenant. Tasks are associated to a tenant through {@link
+     * OfficeTask#getTenant()}. When several tenants are waiting for an office manager, the pool is
+     * shared between them according to their quota.
+     *
+     * @param tenant The tenant.
+     * @param quota The quota of the tenant.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B tenantQuota(@NonNull final String tenant, @NonNull final TenantQuota quota) {
+
+      Validate.notNull(tenant, "tenant must not be null");
+      Validate.notNull(quota, "quota must not be null");
+      if (tenantQuotas == null) {
+        tenantQuotas = new HashMap<>();
+      }
+      tenantQuotas.put(tenant, quota);
+      return (B) this;
+    }
+
+    /**
+     * Specifies the quota of the tenants without a specific quota, including tasks that are not
+     * associated to a tenant.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: A weight of 1, without maximum number of running or queued
+     * tasks.
+     *
+     * @param defaultTenantQuota The default tenant quota.
+     * @return This builder instance.
+     */
+    @NonNull
+    public B defaultTenantQuota(@Nullable final TenantQuota defaultTenantQuota) {
+
+      this.defaultTenantQuota = defaultTenantQuota;
       return (B) this;
     }
   }
@@ -20,8 +20,10 @@
 package org.jodconverter.core.office;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -39,6 +41,11 @@ import org.jodconverter.core.task.OfficeTask;
  * availability of the task executor. This abstract class never set the availability to true. Only
  * when the manager is stopped that the availability is set to false.
  *
+ * <p>By default, a task is executed by a thread dedicated to the entry while the calling thread
+ * waits for its completion. With direct execution, the task is executed by the calling thread
+ * itself and a watchdog thread shared by all the entries enforces the execution timeout. This
+ * saves two context switches per task and the dedicated thread of each entry.
+ *
  * @see OfficeManager
  * @see AbstractOfficeManagerPool
  */
@@ -49,10 +56,58 @@ public abstract class AbstractOfficeManagerPoolEntry implements OfficeManager {
 
   // The default timeout when processing
   private static final long DEFAULT_TASK_EXECUTION_TIMEOUT = 120_000L; // 2 minutes
+  // The default behavior regarding the thread executing the tasks.
+  private static final boolean DEFAULT_DIRECT_EXECUTION = false;
 
   private final long taskExecutionTimeout;
+  private final boolean directExecution;
   private final SuspendableThreadPoolExecutor taskExecutor;
+  private final PoolEntryStats stats = new PoolEntryStats();
+  // Guards the current task, so that a task is never cancelled once its execution is over.
+  private final Object currentTaskLock = new Object();
+  private OfficeTask currentTask;
+  private OfficeTask abortedTask;
   private Future<?> currentFuture;
+  private volatile DirectExecution currentExecution;
+  // The task the dedicated thread is executing, which may outlive its execution when the task
+  // ignores the interrupt cancelling it, and the action to run once the thread is done with it.
+  private OfficeTask workerTask;
+  private Runnable idleAction;
+
+  /** The execution of a task by the calling thread. */
+  private static final class DirectExecution {
+
+    private static final int RUNNING = 0;
+    private static final int DONE = 1;
+    private static final int TIMED_OUT = 2;
+    private static final int CANCELLED = 3;
+
+    private final Thread thread = Thread.currentThread();
+    private int state = RUNNING;
+
+    // Interrupts the execution if it is still running, and gets whether it was running.
+    private synchronized boolean interrupt(final int reason) {
+
+      if (state != RUNNING) {
+        return false;
+      }
+      state = reason;
+      thread.interrupt();
+      return true;
+    }
+
+    // Ends the execution, and gets how it ended. Must be called by the executing thread.
+    private synchronized int complete() {
+
+      if (state == RUNNING) {
+        state = DONE;
+      } else {
+        // The executing thread has been interrupted by us, clear the interrupt.
+        Thread.interrupted();
+      }
+      return state;
+    }
+  }
 
   /**
    * Initializes a new pool entry with the specified configuration.
@@ -62,56 +117,227 @@ public abstract class AbstractOfficeManagerPoolEntry implements OfficeManager {
    *     processed.
    */
   public AbstractOfficeManagerPoolEntry(@Nullable final Long taskExecutionTimeout) {
+    this(taskExecutionTimeout, null);
+  }
+
+  /**
+   * Initializes a new pool entry with the specified configuration.
+   *
+   * @param taskExecutionTimeout The maximum time allowed to process a task. If the processing time
+   *     of a task is longer than this timeout, this task will be aborted and the next task is
+   *     processed.
+   * @param directExecution Indicates whether tasks are executed by the calling thread rather than
+   *     by a thread dedicated to this entry.
+   */
+  public AbstractOfficeManagerPoolEntry(
+      @Nullable final Long taskExecutionTimeout, @Nullable final Boolean directExecution) {
 
     this.taskExecutionTimeout =
         taskExecutionTimeout == null ? DEFAULT_TASK_EXECUTION_TIMEOUT : taskExecutionTimeout;
+    this.directExecution = directExecution == null ? DEFAULT_DIRECT_EXECUTION : directExecution;
+    // With direct execution, the executor only manages the availability of this entry; its thread
+    // is never started.
     taskExecutor =
         new SuspendableThreadPoolExecutor(new NamedThreadFactory("jodconverter-poolentry"));
   }
 
   @Override
   public final void execute(@NonNull final OfficeTask task) throws OfficeException {
+    execute(task, taskExecutionTimeout);
+  }
+
+  /**
+   * Executes the specified task within the specified timeout, which can only shorten the configured
+   * task execution timeout.
+   *
+   * @param task The task to execute.
+   * @param executionTimeout The execution timeout of the task, in milliseconds.
+   * @throws OfficeException If the task fails or does not complete within the timeout.
+   */
+  /* default */ final void execute(@NonNull final OfficeTask task, final long executionTimeout)
+      throws OfficeException {
 
     // No need to check if the manager if running here.
     // This check is already done in the pool
 
+    // The time left before the deadline of the task, if any, limits its execution.
+    final long deadline = task.getDeadline();
+    final long maxTimeout = Math.min(taskExecutionTimeout, executionTimeout);
+    final long timeout =
+        deadline < 0L
+            ? maxTimeout
+            : Math.min(maxTimeout, deadline - System.currentTimeMillis());
+    if (timeout <= 0L) {
+      throw new OfficeException("The deadline of the task passed before its execution: " + task);
+    }
+
+    if (directExecution) {
+      executeDirectly(task, timeout);
+      return;
+    }
+
     // Submit the task to the executor
-    currentFuture =
-        taskExecutor.submit(
-            (Callable<Void>)
-                () -> {
-                  doExecute(task);
-                  return null;
-                });
+    final Future<?> future;
+    synchronized (currentTaskLock) {
+      currentTask = task;
+      currentFuture =
+          taskExecutor.submit(
+              (Callable<Void>)
+                  () -> {
+                    synchronized (currentTaskLock) {
+                      if (currentTask != task) {
+                        // Abandoned before its execution started.
+                        return null;
+                      }
+                      workerTask = task;
+                    }
+                    try {
+                      doExecute(task);
+                    } finally {
+                      workerDone();
+                    }
+                    return null;
+                  });
+      future = currentFuture;
+    }
 
     // Wait for completion of the task, (maximum wait time is the
     // configured task execution timeout)
     try {
       LOGGER.debug("Waiting for task to complete: {}", task);
-      currentFuture.get(taskExecutionTimeout, TimeUnit.MILLISECONDS);
+      future.get(timeout, TimeUnit.MILLISECONDS);
       LOGGER.debug("Task executed successfully: {}", task);
 
     } catch (TimeoutException timeoutEx) {
 
       // The task did not complete within the configured timeout...
       handleExecuteTimeoutException(timeoutEx);
-      throw new OfficeException("Task did not complete within timeout: " + task, timeoutEx);
+      throw new OfficeManagerFailureException(
+          "Task did not complete within timeout: " + task, timeoutEx);
 
     } catch (ExecutionException executionEx) {
 
       // Rethrow the original (cause) exception
+      if (isAborted(task)) {
+        throw new OfficeManagerFailureException(
+            "Task aborted, the office manager failed: " + task, executionEx.getCause());
+      }
       if (executionEx.getCause() instanceof OfficeException) {
         throw (OfficeException) executionEx.getCause();
       }
       throw new OfficeException("Task failed: " + task, executionEx.getCause());
 
+    } catch (InterruptedException interruptedEx) {
+
+      // The calling thread no longer waits for the task, which is then abandoned.
+      Thread.currentThread().interrupt();
+      cancelTask();
+      throw new OfficeException("Task cancelled: " + task, interruptedEx);
+
+    } catch (CancellationException cancellationEx) {
+
+      // The task has been cancelled, either by its caller or because this entry failed.
+      if (isAborted(task)) {
+        throw new OfficeManagerFailureException(
+            "Task aborted, the office manager failed: " + task, cancellationEx);
+      }
+      throw new OfficeException("Task failed: " + task, cancellationEx);
+
     } catch (Exception ex) {
 
       // Unexpected exception
       throw new OfficeException("Task failed: " + task, ex);
 
     } finally {
-      currentFuture = null;
+      synchronized (currentTaskLock) {
+        currentTask = null;
+        abortedTask = null;
+        currentFuture = null;
+      }
+    }
+  }
+
+  /**
+   * Executes the specified task on the calling thread, the shared watchdog enforcing the execution
+   * timeout.
+   *
+   * @param task The task to execute.
+   * @param executionTimeout The execution timeout of the task, in milliseconds.
+   * @throws OfficeException If the task fails or does not complete within the timeout.
+   */
+  private void executeDirectly(final OfficeTask task, final long executionTimeout)
+      throws OfficeException {
+
+    // Wait until this entry is available (it may be restarting), like the dedicated thread would.
+    final long start = System.nanoTime();
+    try {
+      if (!taskExecutor.awaitAvailable(executionTimeout)) {
+        if (taskExecutor.isShutdown()) {
+          throw new OfficeException("Task failed, the office manager has been stopped: " + task);
+        }
+        final TimeoutException timeoutEx = new TimeoutException();
+        handleExecuteTimeoutException(timeoutEx);
+        throw new OfficeManagerFailureException(
+            "Task did not complete within timeout: " + task, timeoutEx);
+      }
+    } catch (InterruptedException interruptedEx) {
+      Thread.currentThread().interrupt();
+      throw new OfficeException("Task failed: " + task, interruptedEx);
+    }
+
+    // The time spent waiting for this entry counts in the execution time, as with the executor.
+    final long remaining =
+        executionTimeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    final DirectExecution execution = new DirectExecution();
+    synchronized (currentTaskLock) {
+      currentTask = task;
+      currentExecution = execution;
+    }
+    final ScheduledFuture<?> timeout =
+        TaskWatchdog.watch(
+            () -> {
+              if (execution.interrupt(DirectExecution.TIMED_OUT)) {
+                handleExecuteTimeoutException(new TimeoutException());
+              }
+            },
+            Math.max(0L, remaining));
+    Exception failure = null;
+    boolean aborted;
+    try {
+      LOGGER.debug("Executing task: {}", task);
+      doExecute(task);
+    } catch (Exception ex) {
+      failure = ex;
+    } finally {
+      timeout.cancel(false);
+      synchronized (currentTaskLock) {
+        aborted = abortedTask == task;
+        currentTask = null;
+        abortedTask = null;
+        currentExecution = null;
+      }
+    }
+
+    final int state = execution.complete();
+    if (aborted && (state == DirectExecution.CANCELLED || failure != null)) {
+      throw new OfficeManagerFailureException(
+          "Task aborted, the office manager failed: " + task,
+          failure == null ? new CancellationException() : failure);
+    }
+    switch (state) {
+      case DirectExecution.TIMED_OUT:
+        throw new OfficeManagerFailureException(
+            "Task did not complete within timeout: " + task, new TimeoutException());
+      case DirectExecution.CANCELLED:
+        throw new OfficeException("Task failed: " + task, new CancellationException());
+      default:
+        if (failure instanceof OfficeException) {
+          throw (OfficeException) failure;
+        }
+        if (failure != null) {
+          throw new OfficeException("Task failed: " + task, failure);
+        }
+        LOGGER.debug("Task executed successfully: {}", task);
     }
   }
 
@@ -178,11 +404,160 @@ public abstract class AbstractOfficeManagerPoolEntry implements OfficeManager {
    */
   protected abstract void doStop() throws OfficeException;
 
-  /** Cancels the current running task, if any. Do nothing if there is no current running task. */
+  /**
+   * Restarts this entry from a clean state, once its circuit breaker opened because it failed too
+   * many tasks in a row. The default implementation stops then starts the entry again.
+   *
+   * @throws OfficeException If the entry cannot be restarted.
+   */
+  protected void reset() throws OfficeException {
+
+    setAvailable(false);
+    doStop();
+    doStart();
+  }
+
+  /**
+   * Checks that this entry is able to execute tasks again, once it has been reset. The entry is
+   * only reinstated in the pool if this function succeeds. The default implementation does
+   * nothing.
+   *
+   * @throws OfficeException If the entry is still unable to execute tasks.
+   */
+  protected void probe() throws OfficeException {
+    // Nothing to check by default
+  }
+
+  /**
+   * Gets the statistics of this entry.
+   *
+   * @return The entry statistics.
+   */
+  @NonNull
+  public PoolEntryStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Records that this entry has been restarted, for instance because its maximum number of tasks
+   * was reached. Subclasses call this function so that the pool can take the age of the entries
+   * into account when choosing the entry that executes a task.
+   */
+  protected void recordRestart() {
+    stats.recordRestart();
+  }
+
+  /**
+   * Records the memory used while executing the last task. Subclasses able to observe the memory
+   * used by their office process call this function so that a pool having a memory budget can
+   * learn how much memory the tasks need.
+   *
+   * @param memoryUsage The memory usage, in bytes, or -1 if it could not be observed.
+   */
+  protected void recordTaskMemoryUsage(final long memoryUsage) {
+    stats.recordTaskMemoryUsage(memoryUsage);
+  }
+
+  /**
+   * Records the time the office process took to answer a heartbeat. Subclasses checking the
+   * responsiveness of their idle office process call this function so that the latency can be
+   * monitored as a health signal of the entry.
+   *
+   * @param latencyMillis The heartbeat latency, in milliseconds.
+   */
+  protected void recordHeartbeatLatency(final long latencyMillis) {
+    stats.recordHeartbeatLatency(latencyMillis);
+  }
+
+  /**
+   * Cancels the current running task, if any. Do nothing if there is no current running task. The
+   * thread executing the task is interrupted; subclasses executing tasks that ignore interrupts
+   * override this function to make the task fail sooner.
+   */
   protected void cancelTask() {
     if (currentFuture != null) {
       currentFuture.cancel(true);
     }
+    final DirectExecution execution = currentExecution;
+    if (execution != null) {
+      execution.interrupt(DirectExecution.CANCELLED);
+    }
+  }
+
+  /**
+   * Aborts the current running task, if any, because this entry is no longer able to execute it,
+   * for instance because the connection to its office process has been lost. Unlike a cancelled
+   * task, an aborted task fails with an {@link OfficeManagerFailureException}, telling the pool
+   * that another entry may succeed in executing it. Do nothing if there is no current running task.
+   */
+  protected void abortTask() {
+
+    synchronized (currentTaskLock) {
+      abortedTask = currentTask;
+      cancelTask();
+    }
+  }
+
+  // Gets whether the specified task has been aborted because this entry failed.
+  private boolean isAborted(final OfficeTask task) {
+
+    synchronized (currentTaskLock) {
+      return abortedTask == task;
+    }
+  }
+
+  /**
+   * Cancels the specified task if it is the task currently executed by this entry, through {@link
+   * #cancelTask()}. A task that has already been executed, or that another task replaced, is never
+   * affected.
+   *
+   * @param task The task to cancel.
+   * @return {@code true} if the task was being executed by this entry, {@code false} otherwise.
+   */
+  /* default */ boolean cancelTask(@NonNull final OfficeTask task) {
+
+    synchronized (currentTaskLock) {
+      if (currentTask != task) {
+        return false;
+      }
+      cancelTask();
+      return true;
+    }
+  }
+
+  /**
+   * Runs the specified action once the thread dedicated to this entry is done with the task it is
+   * executing, if any. Since a task that ignores interrupts keeps executing after it has been
+   * cancelled, or after it timed out, this allows the pool to keep this entry out of the rotation
+   * until it is really idle.
+   *
+   * @param action The action to run, by the thread dedicated to this entry, once it is idle.
+   * @return {@code true} if the action will be run once the running task is over, {@code false} if
+   *     the dedicated thread is idle, the action being then not run.
+   */
+  /* default */ boolean runWhenIdle(@NonNull final Runnable action) {
+
+    synchronized (currentTaskLock) {
+      if (workerTask == null) {
+        return false;
+      }
+      idleAction = action;
+      return true;
+    }
+  }
+
+  // Called by the thread dedicated to this entry once it is done with its task.
+  private void workerDone() {
+
+    final Runnable action;
+    synchronized (currentTaskLock) {
+      workerTask = null;
+      action = idleAction;
+      idleAction = null;
+    }
+    if (action != null) {
+      action.run();
+    }
   }
 
   /**
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The circuit breaker of the entries of an office manager pool. An entry failing too many tasks
+ * in a row is removed from the pool: it is then restarted from a clean state and probed, and only
+ * returned to the pool once the probe succeeds, another try being scheduled otherwise. Only the
+ * failures of the entry itself count, signalled by an {@link OfficeManagerFailureException}.
+ *
+ * <p>The state of the circuit breaker of each entry is held by its {@link PoolEntryStats}.
+ */
+final class CircuitBreaker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  // The delay before trying again to recover an entry whose circuit breaker is open.
+  private static final long RETRY_INTERVAL = 10_000L; // 10 seconds
+
+  private final int threshold;
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler;
+  private final BooleanSupplier poolRunning;
+  private final Consumer<AbstractOfficeManagerPoolEntry> recovered;
+
+  /**
+   * Creates a new circuit breaker.
+   *
+   * @param threshold The number of consecutive failures opening the circuit breaker of an entry, or
+   *     0 to never open it.
+   * @param executor The executor restarting the entries to recover.
+   * @param scheduler The scheduler delaying the next try to recover an entry.
+   * @param poolRunning Tells whether the pool is running, the entries being recovered only then.
+   * @param recovered Returns a recovered entry to the pool.
+   */
+  /* default */ CircuitBreaker(
+      final int threshold,
+      @NonNull final Executor executor,
+      @NonNull final ScheduledExecutorService scheduler,
+      @NonNull final BooleanSupplier poolRunning,
+      @NonNull final Consumer<@NonNull AbstractOfficeManagerPoolEntry> recovered) {
+
+    this.threshold = threshold;
+    this.executor = executor;
+    this.scheduler = scheduler;
+    this.poolRunning = poolRunning;
+    this.recovered = recovered;
+  }
+
+  /**
+   * Records whether the specified entry failed to execute a task, opening its circuit breaker if it
+   * failed too many tasks in a row. A task failing because of its document, for instance, is not a
+   * failure of the entry.
+   *
+   * @param entry The entry that executed the task.
+   * @param stats The statistics of the entry.
+   * @param failure The failure of the task, or {@code null} if the task succeeded.
+   */
+  /* default */ void recordOutcome(
+      @NonNull final OfficeManager entry,
+      @NonNull final PoolEntryStats stats,
+      @Nullable final Exception failure) {
+
+    final int failures = stats.recordOutcome(failure instanceof OfficeManagerFailureException);
+    if (threshold > 0
+        && failures >= threshold
+        && entry instanceof AbstractOfficeManagerPoolEntry
+        && stats.getCircuitBreakerState() == CircuitBreakerState.CLOSED) {
+      LOGGER.warn(
+          "Office manager failed {} tasks in a row; removing it from the pool until it recovers",
+          failures);
+      stats.setCircuitBreakerState(CircuitBreakerState.OPEN);
+    }
+  }
+
+  /**
+   * Starts the recovery of an entry whose circuit breaker is open, once it is done with its task.
+   *
+   * @param entry The entry to recover.
+   */
+  /* default */ void recover(@NonNull final AbstractOfficeManagerPoolEntry entry) {
+    schedule(entry, 0L);
+  }
+
+  /**
+   * Opens the circuit breaker of an entry that failed to restart, and schedules its recovery.
+   *
+   * @param entry The entry to recover.
+   */
+  /* default */ void restartFailed(@NonNull final AbstractOfficeManagerPoolEntry entry) {
+
+    entry.getStats().setCircuitBreakerState(CircuitBreakerState.OPEN);
+    if (poolRunning.getAsBoolean()) {
+      schedule(entry, RETRY_INTERVAL);
+    }
+  }
+
+  /**
+   * Schedules the recovery of an entry whose circuit breaker is open.
+   *
+   * @param entry The entry to recover.
+   * @param delay The delay, in milliseconds, before the recovery starts.
+   */
+  private void schedule(final AbstractOfficeManagerPoolEntry entry, final long delay) {
+
+    try {
+      if (delay == 0L) {
+        executor.execute(() -> restart(entry));
+      } else {
+        scheduler.schedule(() -> schedule(entry, 0L), delay, TimeUnit.MILLISECONDS);
+      }
+    } catch (RejectedExecutionException rejectedEx) {
+      // The pool has been shutdown in the meantime.
+      LOGGER.debug("Unable to schedule the recovery of an office manager", rejectedEx);
+    }
+  }
+
+  /**
+   * Restarts an entry whose circuit breaker is open from a clean state and probes it, returning it
+   * to the pool if the probe succeeds, or scheduling another try otherwise.
+   *
+   * @param entry The entry to recover.
+   */
+  private void restart(final AbstractOfficeManagerPoolEntry entry) {
+
+    if (!poolRunning.getAsBoolean()) {
+      return;
+    }
+
+    final PoolEntryStats stats = entry.getStats();
+    try {
+      LOGGER.info("Restarting an office manager removed from the pool by its circuit breaker");
+      entry.reset();
+      stats.recordRestart();
+      stats.setCircuitBreakerState(CircuitBreakerState.HALF_OPEN);
+      entry.probe();
+    } catch (OfficeException | RuntimeException ex) {
+      LOGGER.warn(
+          "Office manager did not recover; trying again in {} millisec", RETRY_INTERVAL, ex);
+      stats.setCircuitBreakerState(CircuitBreakerState.OPEN);
+      if (poolRunning.getAsBoolean()) {
+        schedule(entry, RETRY_INTERVAL);
+      }
+      return;
+    }
+
+    LOGGER.info("Office manager recovered; returning it to the pool");
+    stats.setCircuitBreakerState(CircuitBreakerState.CLOSED);
+    recovered.accept(entry);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+/**
+ * The state of the circuit breaker of an entry of an {@link AbstractOfficeManagerPool}.
+ *
+ * @see PoolEntryStats#getCircuitBreakerState()
+ */
+public enum CircuitBreakerState {
+
+  /** The entry executes tasks normally. */
+  CLOSED,
+
+  /**
+   * The entry failed too many tasks in a row. It is removed from the pool until it has been
+   * restarted and has successfully executed a probe.
+   */
+  OPEN,
+
+  /** The entry has been restarted and is executing the probe deciding whether it is reinstated. */
+  HALF_OPEN
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The source documents an office manager pool refuses to execute because they crashed, or hung,
+ * office processes too many times. Documents are identified by the fingerprint of their content, so
+ * a document submitted again under another name is still recognized.
+ *
+ * <p>A document is quarantined once it caused the configured number of failures. Its failures are
+ * forgotten, and the document released, once the time to live has elapsed since its last failure.
+ * The number of tracked documents is bounded; when the bound is reached, the document whose last
+ * failure is the oldest is forgotten first.
+ *
+ * <p>This class is thread safe.
+ */
+final class DocumentQuarantine {
+
+  private final int threshold;
+  private final long ttlNanos;
+  private final int maxDocuments;
+  // The failures of the tracked documents, by fingerprint, the least recently failed first.
+  private final Map<String, Failures> documents = new LinkedHashMap<>();
+
+  /** The failures caused by a document. */
+  private static final class Failures {
+
+    private int count;
+    private long lastFailureTime;
+  }
+
+  /**
+   * Creates a new quarantine with the specified configuration.
+   *
+   * @param threshold The number of failures after which a document is quarantined.
+   * @param ttl The time, in milliseconds, after which the failures of a document are forgotten,
+   *     counted from its last failure.
+   * @param maxDocuments The maximum number of tracked documents.
+   */
+  /* default */ DocumentQuarantine(final int threshold, final long ttl, final int maxDocuments) {
+
+    this.threshold = threshold;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+    this.maxDocuments = maxDocuments;
+  }
+
+  /**
+   * Records that the specified document crashed, or hung, an office process.
+   *
+   * @param fingerprint The fingerprint of the document.
+   * @return {@code true} if the document is quarantined, {@code false} otherwise.
+   */
+  /* default */ synchronized boolean recordFailure(@NonNull final String fingerprint) {
+
+    final long now = System.nanoTime();
+    Failures failures = documents.remove(fingerprint);
+    if (failures == null || isExpired(failures, now)) {
+      failures = new Failures();
+    }
+    failures.count++;
+    failures.lastFailureTime = now;
+    documents.put(fingerprint, failures);
+
+    final Iterator<Failures> iterator = documents.values().iterator();
+    while (documents.size() > maxDocuments) {
+      iterator.next();
+      iterator.remove();
+    }
+    return failures.count >= threshold;
+  }
+
+  /**
+   * Gets whether the specified document is quarantined.
+   *
+   * @param fingerprint The fingerprint of the document.
+   * @return {@code true} if the document is quarantined, {@code false} otherwise.
+   */
+  /* default */ synchronized boolean isQuarantined(@NonNull final String fingerprint) {
+
+    final Failures failures = documents.get(fingerprint);
+    if (failures == null) {
+      return false;
+    }
+    if (isExpired(failures, System.nanoTime())) {
+      documents.remove(fingerprint);
+      return false;
+    }
+    return failures.count >= threshold;
+  }
+
+  /**
+   * Gets the number of documents currently quarantined.
+   *
+   * @return The number of quarantined documents.
+   */
+  /* default */ synchronized int size() {
+
+    final long now = System.nanoTime();
+    documents.values().removeIf(failures -> isExpired(failures, now));
+    return (int)
+        documents.values().stream().filter(failures -> failures.count >= threshold).count();
+  }
+
+  private boolean isExpired(final Failures failures, final long now) {
+    return now - failures.lastFailureTime >= ttlNanos;
+  }
+}
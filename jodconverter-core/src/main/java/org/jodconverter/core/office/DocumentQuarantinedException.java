@@ -0,0 +1,59 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An exception thrown when a task is rejected, without being executed, because its source document
+ * is quarantined: the same document, as identified by the fingerprint of its content, recently
+ * crashed or hung office processes too many times. Failing such a task fast protects the office
+ * processes, and the other tasks, from the document.
+ */
+public class DocumentQuarantinedException extends OfficeException {
+  private static final long serialVersionUID = 6020913467338095124L;
+
+  private final String fingerprint;
+
+  /**
+   * Constructs a new document quarantined exception with the specified detail message and
+   * document fingerprint.
+   *
+   * @param message The detail message. The detail message is saved for later retrieval by the
+   *     {@link #getMessage()} method.
+   * @param fingerprint The fingerprint of the quarantined document.
+   */
+  public DocumentQuarantinedException(
+      @NonNull final String message, @NonNull final String fingerprint) {
+    super(message);
+
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Gets the fingerprint of the quarantined document.
+   *
+   * @return The hexadecimal SHA-256 digest of the content of the document.
+   */
+  @NonNull
+  public String getFingerprint() {
+    return fingerprint;
+  }
+}
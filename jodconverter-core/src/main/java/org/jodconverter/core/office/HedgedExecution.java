@@ -0,0 +1,323 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.jodconverter.core.task.HedgeableTask;
+import org.jodconverter.core.task.OfficeTask;
+
+/**
+ * The execution of a {@link HedgeableTask} by an office manager pool, by one attempt, or by two
+ * attempts if the first one takes longer than usual. The second attempt is started on an idle
+ * entry once the first one has been running for longer than the 95th percentile of the recent
+ * latencies of the same conversion. The first attempt to complete wins and the other one is
+ * cancelled. Once all the attempts failed, the task may be retried like a task executed without
+ * hedging.
+ */
+final class HedgedExecution {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HedgedExecution.class);
+
+  private final AbstractOfficeManagerPool pool;
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler;
+  private final HedgeableTask task;
+  private final CompletableFuture<Void> result = new CompletableFuture<>();
+  // The running attempts, and the entries executing them.
+  private final Map<OfficeTask, OfficeManager> running = new IdentityHashMap<>();
+  private boolean hedged;
+  private boolean won;
+  private boolean over;
+  private Exception failure;
+  // The last queued attempt, first attempt or retry.
+  private PendingTask queued;
+
+  /**
+   * Creates the execution of the specified task.
+   *
+   * @param pool The pool executing the attempts of the task.
+   * @param executor The executor executing the attempts on the entries they are assigned to.
+   * @param scheduler The scheduler starting the second attempt.
+   * @param task The task to execute.
+   */
+  /* default */ HedgedExecution(
+      @NonNull final AbstractOfficeManagerPool pool,
+      @NonNull final Executor executor,
+      @NonNull final ScheduledExecutorService scheduler,
+      @NonNull final HedgeableTask task) {
+
+    this.pool = pool;
+    this.executor = executor;
+    this.scheduler = scheduler;
+    this.task = task;
+  }
+
+  /**
+   * Queues the first attempt of the task.
+   *
+   * @return The future completed once an attempt wins or all the attempts failed. Cancelling it
+   *     cancels the queued and running attempts.
+   */
+  @NonNull
+  /* default */ CompletableFuture<Void> start() {
+
+    final PendingTask pendingTask;
+    try {
+      pendingTask = new PendingTask(task.createAttempt(), task);
+      pool.enqueue(pendingTask);
+    } catch (OfficeException officeEx) {
+      task.onAttemptsDone();
+      result.completeExceptionally(officeEx);
+      return result;
+    } catch (RuntimeException runtimeEx) {
+      task.onAttemptsDone();
+      throw runtimeEx;
+    }
+    synchronized (this) {
+      queued = pendingTask;
+    }
+    pendingTask
+        .getEntry()
+        .whenComplete((entry, queueEx) -> assigned(pendingTask, entry, queueEx));
+    result.whenComplete(
+        (ignored, ex) -> {
+          if (result.isCancelled()) {
+            cancel();
+          }
+        });
+    return result;
+  }
+
+  // Executes the queued attempt once an entry is assigned to it, and schedules the hedging of
+  // the task. A retry is only hedged if the first attempt was not.
+  private void assigned(
+      final PendingTask pendingTask,
+      @Nullable final OfficeManager entry,
+      @Nullable final Throwable queueEx) {
+
+    if (queueEx != null) {
+      synchronized (this) {
+        over = true;
+      }
+      task.onAttemptsDone();
+      result.completeExceptionally(queueEx);
+      return;
+    }
+    final OfficeTask attempt = pendingTask.getTask();
+    synchronized (this) {
+      running.put(attempt, entry);
+    }
+    try {
+      executor.execute(() -> executeAttempt(attempt, entry, pendingTask));
+    } catch (RejectedExecutionException rejectedEx) {
+      done(
+          attempt,
+          entry,
+          pendingTask,
+          new OfficeException("This office manager has been shutdown.", rejectedEx));
+      return;
+    }
+    final long delay = pool.getHedgingDelay(attempt);
+    if (delay >= 0L) {
+      try {
+        scheduler.schedule(this::hedge, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException rejectedEx) {
+        LOGGER.debug("Unable to schedule the hedging of task {}", task, rejectedEx);
+      }
+    }
+  }
+
+  // Removes the queued attempt from the queue, and aborts the running attempts.
+  private void cancel() {
+
+    final PendingTask pendingTask;
+    final Map<OfficeTask, OfficeManager> attempts;
+    synchronized (this) {
+      pendingTask = queued;
+      attempts = new IdentityHashMap<>(running);
+    }
+    pool.cancel(pendingTask);
+    attempts.forEach((attempt, entry) -> pool.cancelRunning(entry, attempt));
+  }
+
+  // Queues a retry of the task once all its attempts failed, the way a task executed without
+  // hedging is retried. Returns whether the task is retried.
+  private boolean retry(final Exception attemptsFailure) {
+
+    final PendingTask failedTask;
+    synchronized (this) {
+      failedTask = queued;
+      // The retry may be executed, and fail, before this method returns.
+      over = false;
+      failure = null;
+    }
+    final PendingTask retryTask =
+        result.isCancelled()
+            ? null
+            : pool.retry(failedTask, attemptsFailure);
+    synchronized (this) {
+      if (retryTask == null) {
+        over = true;
+        failure = attemptsFailure;
+        return false;
+      }
+      queued = retryTask;
+    }
+    retryTask.getEntry().whenComplete((entry, queueEx) -> assigned(retryTask, entry, queueEx));
+    if (result.isCancelled()) {
+      cancel();
+    }
+    return true;
+  }
+
+  // Starts a second attempt on an idle entry if the first one is still running.
+  private void hedge() {
+
+    synchronized (this) {
+      if (hedged || won || over || result.isDone()) {
+        return;
+      }
+      hedged = true;
+    }
+
+    // The entry is taken without holding the lock of this execution, since the dispatch lock
+    // may be held while this lock is acquired. The attempts being alike, the memory of the second
+    // attempt is reserved as estimated from the task itself.
+    final PendingTask pendingTask = new PendingTask(task);
+    final OfficeManager entry = pool.takeIdleEntry(pendingTask);
+    if (entry == null) {
+      return;
+    }
+    final OfficeTask attempt;
+    synchronized (this) {
+      attempt = won || over ? null : task.createAttempt();
+      if (attempt != null) {
+        running.put(attempt, entry);
+      }
+    }
+    if (attempt == null) {
+      pool.releaseManager(entry, pendingTask);
+      return;
+    }
+
+    LOGGER.info("Task {} takes longer than usual; starting a second attempt", task);
+    try {
+      executor.execute(() -> executeAttempt(attempt, entry, pendingTask));
+    } catch (RejectedExecutionException rejectedEx) {
+      done(
+          attempt,
+          entry,
+          pendingTask,
+          new OfficeException("This office manager has been shutdown.", rejectedEx));
+    }
+  }
+
+  private void executeAttempt(
+      final OfficeTask attempt, final OfficeManager entry, final PendingTask pendingTask) {
+
+    if (result.isCancelled()) {
+      // Cancelled before its execution started, the attempt is abandoned.
+      done(attempt, entry, pendingTask, new CancellationException());
+      return;
+    }
+    Exception attemptFailure = null;
+    try {
+      pool.checkQuarantine(task);
+    } catch (OfficeException officeEx) {
+      // The document must not be given a chance to crash the entry.
+      done(attempt, entry, pendingTask, officeEx);
+      return;
+    }
+    try {
+      pool.executeOn(entry, attempt);
+    } catch (OfficeException | RuntimeException ex) {
+      attemptFailure = ex;
+      if (!result.isCancelled()) {
+        pool.recordDocumentFailure(task, ex);
+      }
+    }
+    done(attempt, entry, pendingTask, attemptFailure);
+  }
+
+  private void done(
+      final OfficeTask attempt,
+      final OfficeManager entry,
+      final PendingTask pendingTask,
+      @Nullable final Exception attemptFailure) {
+
+    final boolean winner;
+    final boolean cancelled;
+    final boolean last;
+    final boolean failed;
+    final Exception attemptsFailure;
+    synchronized (this) {
+      running.remove(attempt);
+      // A losing, or cancelled, attempt fails because it has been aborted, not because of its
+      // entry.
+      cancelled = attemptFailure != null && (won || result.isCancelled());
+      winner = attemptFailure == null && !won;
+      if (winner) {
+        won = true;
+        // Cancel the losing attempt only if its entry is still executing it. The entry stops the
+        // attempt the way it stops any cancelled task, and it only returns to the pool once the
+        // attempt is over.
+        running.forEach((loser, loserEntry) -> pool.cancelRunning(loserEntry, loser));
+      } else if (failure == null) {
+        failure = attemptFailure;
+      }
+      last = running.isEmpty();
+      if (last) {
+        over = true;
+      }
+      failed = last && !won;
+      attemptsFailure = failure;
+    }
+
+    if (!cancelled && !(attemptFailure instanceof DocumentQuarantinedException)) {
+      pool.recordOutcome(entry, attemptFailure);
+    }
+    final boolean retried = failed && retry(attemptsFailure);
+    pool.releaseManager(entry, pendingTask);
+    if (retried) {
+      return;
+    }
+    if (last) {
+      task.onAttemptsDone();
+    }
+    if (winner) {
+      result.complete(null);
+    } else if (failed) {
+      result.completeExceptionally(attemptsFailure);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.document.DocumentFamily;
+
+/**
+ * Limits the memory that the tasks executed at the same time by an office manager pool may use. The
+ * memory a task needs is estimated from the length of its source document and from the family of
+ * this document, a spreadsheet requiring a lot more memory than a text document of the same length.
+ * The memory used per byte of source document is learned, for each family, from the memory the
+ * executed tasks were observed to use, when the pool entries can report it.
+ *
+ * <p>This class is not thread safe; the pool accesses it while holding its dispatch lock.
+ */
+final class MemoryBudget {
+
+  // The weight of a new observation in the moving averages.
+  private static final double SMOOTHING_FACTOR = 0.2D;
+  // The memory a task needs whatever the length of its source document, in bytes.
+  private static final long MIN_WEIGHT = 16L * 1024L * 1024L; // 16 MB
+  // The memory used per byte of source document assumed for an unknown family.
+  private static final double DEFAULT_RATIO = 10D;
+  // The minimum length of a source document for its observed memory to be learned. The memory
+  // used by smaller documents mostly does not depend on their length.
+  private static final long MIN_LEARNING_LENGTH = 1024L * 1024L; // 1 MB
+
+  private final long budget;
+  private final Map<DocumentFamily, Double> ratios = new EnumMap<>(DocumentFamily.class);
+  private long reserved;
+
+  /**
+   * Creates a new budget of the specified size.
+   *
+   * @param budget The memory, in bytes, the tasks executed at the same time may use.
+   */
+  /* default */ MemoryBudget(final long budget) {
+
+    this.budget = budget;
+    // Memory used per byte of source document, before any task has been observed.
+    ratios.put(DocumentFamily.TEXT, 8D);
+    ratios.put(DocumentFamily.SPREADSHEET, 40D);
+    ratios.put(DocumentFamily.PRESENTATION, 4D);
+    ratios.put(DocumentFamily.DRAWING, 10D);
+  }
+
+  /**
+   * Estimates the memory a task will use.
+   *
+   * @param family The family of the source document, if known.
+   * @param length The length of the source document, in bytes, or -1 if unknown.
+   * @return The estimated memory, in bytes.
+   */
+  /* default */ long estimate(@Nullable final DocumentFamily family, final long length) {
+
+    if (length <= 0L) {
+      return MIN_WEIGHT;
+    }
+    final double ratio = family == null ? DEFAULT_RATIO : ratios.get(family);
+    return Math.max(MIN_WEIGHT, (long) Math.min(Long.MAX_VALUE, ratio * length));
+  }
+
+  /**
+   * Reserves the specified memory for a task about to be executed. A task is always admitted when
+   * no memory is reserved, so that a task whose weight exceeds the whole budget is executed alone
+   * instead of never being executed.
+   *
+   * @param weight The estimated memory of the task, in bytes.
+   * @return {@code true} if the memory has been reserved, {@code false} if the task must wait for
+   *     running tasks to release their memory.
+   */
+  /* default */ boolean reserve(final long weight) {
+
+    if (reserved > 0L && weight > budget - reserved) {
+      return false;
+    }
+    reserved += weight;
+    return true;
+  }
+
+  /**
+   * Releases the memory reserved for a task that is done, and learns from the memory the task was
+   * observed to use.
+   *
+   * @param weight The memory reserved for the task, in bytes.
+   * @param family The family of the source document, if known.
+   * @param length The length of the source document, in bytes, or -1 if unknown.
+   * @param usage The memory the task was observed to use, in bytes, or -1 if unknown.
+   */
+  /* default */ void release(
+      final long weight,
+      @Nullable final DocumentFamily family,
+      final long length,
+      final long usage) {
+
+    reserved = Math.max(0L, reserved - weight);
+    if (family != null && usage >= 0L && length >= MIN_LEARNING_LENGTH) {
+      final double ratio = ratios.get(family);
+      ratios.put(family, ratio + SMOOTHING_FACTOR * ((double) usage / length - ratio));
+    }
+  }
+
+  /**
+   * Gets the memory currently reserved by the running tasks.
+   *
+   * @return The reserved memory, in bytes.
+   */
+  /* default */ long getReserved() {
+    return reserved;
+  }
+}
@@ -19,6 +19,8 @@
 
 package org.jodconverter.core.office;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import org.jodconverter.core.task.OfficeTask;
@@ -38,6 +40,32 @@ public interface OfficeManager {
    */
   void execute(@NonNull OfficeTask task) throws OfficeException;
 
+  /**
+   * Submits the specified task for execution and returns a future that will be completed when the
+   * task terminates. If the task fails, the returned future is completed exceptionally with the
+   * {@link OfficeException} that would have been thrown by {@link #execute(OfficeTask)}.
+   * Implementations may abandon the task when the returned future is cancelled.
+   *
+   * <p>The default implementation executes the task in the calling thread and returns an already
+   * completed future. Implementations able to execute tasks without blocking the caller should
+   * override this method.
+   *
+   * @param task The task to execute.
+   * @return A future that will be completed when the task terminates.
+   */
+  @NonNull
+  default CompletableFuture<Void> executeAsync(@NonNull final OfficeTask task) {
+
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      execute(task);
+      future.complete(null);
+    } catch (OfficeException | RuntimeException ex) {
+      future.completeExceptionally(ex);
+    }
+    return future;
+  }
+
   /**
    * Gets whether the manager is running.
    *
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An exception thrown when a task fails because of the office manager executing it rather than
+ * because of the task itself, for instance when the connection to the office process is lost or
+ * when the task does not complete within the execution timeout. Another office manager may succeed
+ * in executing the same task.
+ */
+public class OfficeManagerFailureException extends OfficeException {
+  private static final long serialVersionUID = -3542195071234618210L;
+
+  /**
+   * Constructs a new office manager failure exception with the specified detail message and cause.
+   *
+   * @param message The detail message (which is saved for later retrieval by the {@link
+   *     #getMessage()} method).
+   * @param cause The cause (which is saved for later retrieval by the {@link #getCause()} method).
+   */
+  public OfficeManagerFailureException(
+      @NonNull final String message, @NonNull final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,563 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The settings of an {@link AbstractOfficeManagerPool}, filled in by the builder of the pool and
+ * given to its constructor. A setting that is not set, or set to {@code null}, takes its default
+ * value, as documented by the builder.
+ *
+ * @see AbstractOfficeManagerPool.AbstractOfficeManagerPoolBuilder
+ */
+public final class OfficeManagerPoolSettings {
+
+  private Integer poolSize;
+  private Long taskQueueTimeout;
+  private Long taskAgingInterval;
+  private Map<String, TenantQuota> tenantQuotas;
+  private TenantQuota defaultTenantQuota;
+  private Integer maxPoolSize;
+  private Long poolScaleUpThreshold;
+  private Long poolIdleTimeout;
+  private Integer poolStartParallelism;
+  private Integer minStartedEntries;
+  private Boolean shortestJobFirst;
+  private PoolEntrySelector poolEntrySelector;
+  private Integer maxQueuedTasks;
+  private Long memoryBudget;
+  private Boolean taskHedging;
+  private Integer circuitBreakerThreshold;
+  private Boolean taskRetry;
+  private Integer documentQuarantineThreshold;
+  private Long documentQuarantineTtl;
+  private Double adaptiveTimeoutMultiplier;
+  private Long minAdaptiveTimeout;
+
+  /**
+   * Sets the number of entries the pool is created with.
+   *
+   * @param poolSize The pool size, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings poolSize(@Nullable final Integer poolSize) {
+    this.poolSize = poolSize;
+    return this;
+  }
+
+  /**
+   * Sets the maximum living time of a task in the conversion queue. The task will be removed from
+   * the queue if the waiting time is longer than this timeout.
+   *
+   * @param taskQueueTimeout The task queue timeout, in milliseconds, or {@code null} for the
+   *     default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings taskQueueTimeout(@Nullable final Long taskQueueTimeout) {
+    this.taskQueueTimeout = taskQueueTimeout;
+    return this;
+  }
+
+  /**
+   * Sets the time a task waits in the conversion queue before being promoted to the next higher
+   * priority, so that low priority tasks cannot starve.
+   *
+   * @param taskAgingInterval The task aging interval, in milliseconds, or {@code null} for the
+   *     default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings taskAgingInterval(@Nullable final Long taskAgingInterval) {
+    this.taskAgingInterval = taskAgingInterval;
+    return this;
+  }
+
+  /**
+   * Sets the quotas of specific tenants, by tenant.
+   *
+   * @param tenantQuotas The tenant quotas, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings tenantQuotas(
+      @Nullable final Map<@NonNull String, @NonNull TenantQuota> tenantQuotas) {
+    this.tenantQuotas = tenantQuotas;
+    return this;
+  }
+
+  /**
+   * Sets the quota of the tenants without a specific quota, including tasks without tenant.
+   *
+   * @param defaultTenantQuota The default tenant quota, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings defaultTenantQuota(
+      @Nullable final TenantQuota defaultTenantQuota) {
+    this.defaultTenantQuota = defaultTenantQuota;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of entries of the pool. The pool never grows if this value is not
+   * greater than the number of entries set with {@link
+   * AbstractOfficeManagerPool#setEntries(java.util.List)}.
+   *
+   * @param maxPoolSize The maximum pool size, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings maxPoolSize(@Nullable final Integer maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets the time the oldest task must have waited in the conversion queue, while no entry is
+   * available, before a new entry is added to the pool.
+   *
+   * @param poolScaleUpThreshold The pool scale up threshold, in milliseconds, or {@code null} for
+   *     the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings poolScaleUpThreshold(@Nullable final Long poolScaleUpThreshold) {
+    this.poolScaleUpThreshold = poolScaleUpThreshold;
+    return this;
+  }
+
+  /**
+   * Sets the time an entry must have been idle before it is removed from the pool, as long as the
+   * pool is larger than its initial size.
+   *
+   * @param poolIdleTimeout The pool idle timeout, in milliseconds, or {@code null} for the default
+   *     value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings poolIdleTimeout(@Nullable final Long poolIdleTimeout) {
+    this.poolIdleTimeout = poolIdleTimeout;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of entries that are started, or stopped, at the same time.
+   *
+   * @param poolStartParallelism The pool start parallelism, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings poolStartParallelism(
+      @Nullable final Integer poolStartParallelism) {
+    this.poolStartParallelism = poolStartParallelism;
+    return this;
+  }
+
+  /**
+   * Sets the number of entries that must be started before the pool is considered started. The
+   * other entries join the pool once started.
+   *
+   * @param minStartedEntries The minimum number of started entries, or {@code null} for the default
+   *     value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings minStartedEntries(@Nullable final Integer minStartedEntries) {
+    this.minStartedEntries = minStartedEntries;
+    return this;
+  }
+
+  /**
+   * Sets whether the queued tasks having the smallest estimated cost are dispatched first among the
+   * tasks of the same priority. A task that waited for the aging interval is dispatched before
+   * cheaper tasks.
+   *
+   * @param shortestJobFirst The shortest job first setting, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings shortestJobFirst(@Nullable final Boolean shortestJobFirst) {
+    this.shortestJobFirst = shortestJobFirst;
+    return this;
+  }
+
+  /**
+   * Sets the selector choosing the available entry that executes a task.
+   *
+   * @param poolEntrySelector The pool entry selector, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings poolEntrySelector(
+      @Nullable final PoolEntrySelector poolEntrySelector) {
+    this.poolEntrySelector = poolEntrySelector;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of tasks waiting in the conversion queue. A new task is immediately
+   * rejected when this number is reached. A value of 0 means unbounded.
+   *
+   * @param maxQueuedTasks The maximum number of queued tasks, or {@code null} for the default
+   *     value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings maxQueuedTasks(@Nullable final Integer maxQueuedTasks) {
+    this.maxQueuedTasks = maxQueuedTasks;
+    return this;
+  }
+
+  /**
+   * Sets the memory, in bytes, the running tasks may use, as estimated from the length and the
+   * family of their source document. A task is held in the conversion queue while its estimated
+   * memory exceeds the memory left. A value of 0 means unlimited.
+   *
+   * @param memoryBudget The memory budget, in bytes, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings memoryBudget(@Nullable final Long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+    return this;
+  }
+
+  /**
+   * Sets whether a {@link HedgeableTask} taking longer than usual is duplicated on an idle entry,
+   * the first attempt to complete winning.
+   *
+   * @param taskHedging The task hedging setting, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings taskHedging(@Nullable final Boolean taskHedging) {
+    this.taskHedging = taskHedging;
+    return this;
+  }
+
+  /**
+   * Sets the number of tasks an entry must fail in a row, or not complete within the execution
+   * timeout, before it is removed from the pool, restarted and probed. A value of 0 disables the
+   * circuit breaker.
+   *
+   * @param circuitBreakerThreshold The circuit breaker threshold, or {@code null} for the default
+   *     value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings circuitBreakerThreshold(
+      @Nullable final Integer circuitBreakerThreshold) {
+    this.circuitBreakerThreshold = circuitBreakerThreshold;
+    return this;
+  }
+
+  /**
+   * Sets whether a {@link HedgeableTask} failing because of its entry is dispatched again, once,
+   * preferably to another entry.
+   *
+   * @param taskRetry The task retry setting, or {@code null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings taskRetry(@Nullable final Boolean taskRetry) {
+    this.taskRetry = taskRetry;
+    return this;
+  }
+
+  /**
+   * Sets the number of times the source document of a {@link HedgeableTask} must crash or hang an
+   * office process before the tasks converting it are rejected. A value of 0 disables the document
+   * quarantine.
+   *
+   * @param documentQuarantineThreshold The document quarantine threshold, or {@code null} for the
+   *     default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings documentQuarantineThreshold(
+      @Nullable final Integer documentQuarantineThreshold) {
+    this.documentQuarantineThreshold = documentQuarantineThreshold;
+    return this;
+  }
+
+  /**
+   * Sets the time a document stays quarantined, counted from the last time it crashed or hung an
+   * office process.
+   *
+   * @param documentQuarantineTtl The document quarantine time to live, in milliseconds, or {@code
+   *     null} for the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings documentQuarantineTtl(
+      @Nullable final Long documentQuarantineTtl) {
+    this.documentQuarantineTtl = documentQuarantineTtl;
+    return this;
+  }
+
+  /**
+   * Sets the multiple of the 99th percentile of the execution times of similar tasks (same
+   * conversion, same size class of the source document) a task is given to complete, the task
+   * execution timeout of the entries remaining the upper bound. A value of 0 disables the adaptive
+   * timeouts.
+   *
+   * @param adaptiveTimeoutMultiplier The adaptive timeout multiplier, or {@code null} for the
+   *     default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings adaptiveTimeoutMultiplier(
+      @Nullable final Double adaptiveTimeoutMultiplier) {
+    this.adaptiveTimeoutMultiplier = adaptiveTimeoutMultiplier;
+    return this;
+  }
+
+  /**
+   * Sets the minimum execution timeout of a task whose timeout is adapted.
+   *
+   * @param minAdaptiveTimeout The minimum adaptive timeout, in milliseconds, or {@code null} for
+   *     the default value.
+   * @return These settings.
+   */
+  @NonNull
+  public OfficeManagerPoolSettings minAdaptiveTimeout(@Nullable final Long minAdaptiveTimeout) {
+    this.minAdaptiveTimeout = minAdaptiveTimeout;
+    return this;
+  }
+
+  /**
+   * Gets the pool size.
+   *
+   * @return The pool size, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getPoolSize() {
+    return poolSize;
+  }
+
+  /**
+   * Gets the task queue timeout.
+   *
+   * @return The task queue timeout, in milliseconds, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Long getTaskQueueTimeout() {
+    return taskQueueTimeout;
+  }
+
+  /**
+   * Gets the task aging interval.
+   *
+   * @return The task aging interval, in milliseconds, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Long getTaskAgingInterval() {
+    return taskAgingInterval;
+  }
+
+  /**
+   * Gets the tenant quotas.
+   *
+   * @return The tenant quotas, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Map<@NonNull String, @NonNull TenantQuota> getTenantQuotas() {
+    return tenantQuotas;
+  }
+
+  /**
+   * Gets the default tenant quota.
+   *
+   * @return The default tenant quota, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public TenantQuota getDefaultTenantQuota() {
+    return defaultTenantQuota;
+  }
+
+  /**
+   * Gets the maximum pool size.
+   *
+   * @return The maximum pool size, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * Gets the pool scale up threshold.
+   *
+   * @return The pool scale up threshold, in milliseconds, or {@code null} if the default value
+   *     applies.
+   */
+  @Nullable
+  public Long getPoolScaleUpThreshold() {
+    return poolScaleUpThreshold;
+  }
+
+  /**
+   * Gets the pool idle timeout.
+   *
+   * @return The pool idle timeout, in milliseconds, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Long getPoolIdleTimeout() {
+    return poolIdleTimeout;
+  }
+
+  /**
+   * Gets the pool start parallelism.
+   *
+   * @return The pool start parallelism, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getPoolStartParallelism() {
+    return poolStartParallelism;
+  }
+
+  /**
+   * Gets the minimum number of started entries.
+   *
+   * @return The minimum number of started entries, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getMinStartedEntries() {
+    return minStartedEntries;
+  }
+
+  /**
+   * Gets the shortest job first setting.
+   *
+   * @return The shortest job first setting, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Boolean getShortestJobFirst() {
+    return shortestJobFirst;
+  }
+
+  /**
+   * Gets the pool entry selector.
+   *
+   * @return The pool entry selector, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public PoolEntrySelector getPoolEntrySelector() {
+    return poolEntrySelector;
+  }
+
+  /**
+   * Gets the maximum number of queued tasks.
+   *
+   * @return The maximum number of queued tasks, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getMaxQueuedTasks() {
+    return maxQueuedTasks;
+  }
+
+  /**
+   * Gets the memory budget.
+   *
+   * @return The memory budget, in bytes, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Gets the task hedging setting.
+   *
+   * @return The task hedging setting, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Boolean getTaskHedging() {
+    return taskHedging;
+  }
+
+  /**
+   * Gets the circuit breaker threshold.
+   *
+   * @return The circuit breaker threshold, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getCircuitBreakerThreshold() {
+    return circuitBreakerThreshold;
+  }
+
+  /**
+   * Gets the task retry setting.
+   *
+   * @return The task retry setting, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Boolean getTaskRetry() {
+    return taskRetry;
+  }
+
+  /**
+   * Gets the document quarantine threshold.
+   *
+   * @return The document quarantine threshold, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Integer getDocumentQuarantineThreshold() {
+    return documentQuarantineThreshold;
+  }
+
+  /**
+   * Gets the document quarantine time to live.
+   *
+   * @return The document quarantine time to live, in milliseconds, or {@code null} if the default
+   *     value applies.
+   */
+  @Nullable
+  public Long getDocumentQuarantineTtl() {
+    return documentQuarantineTtl;
+  }
+
+  /**
+   * Gets the adaptive timeout multiplier.
+   *
+   * @return The adaptive timeout multiplier, or {@code null} if the default value applies.
+   */
+  @Nullable
+  public Double getAdaptiveTimeoutMultiplier() {
+    return adaptiveTimeoutMultiplier;
+  }
+
+  /**
+   * Gets the minimum adaptive timeout.
+   *
+   * @return The minimum adaptive timeout, in milliseconds, or {@code null} if the default value
+   *     applies.
+   */
+  @Nullable
+  public Long getMinAdaptiveTimeout() {
+    return minAdaptiveTimeout;
+  }
+}
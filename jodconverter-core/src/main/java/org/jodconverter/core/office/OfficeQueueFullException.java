@@ -0,0 +1,70 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An exception thrown when a task is rejected, without waiting, because too many tasks are already
+ * waiting for an office manager. It tells callers that the office manager is saturated, so they can
+ * back off, for instance by answering with an HTTP 503 status and a Retry-After header.
+ */
+public class OfficeQueueFullException extends OfficeException {
+  private static final long serialVersionUID = 2408345164125290981L;
+
+  private final int queueLength;
+  private final long estimatedWaitTime;
+
+  /**
+   * Constructs a new queue full exception with the specified detail message and queue state.
+   *
+   * @param message The detail message. The detail message is saved for later retrieval by the
+   *     {@link #getMessage()} method.
+   * @param queueLength The number of tasks waiting when the task was rejected.
+   * @param estimatedWaitTime The estimated time, in milliseconds, a new task would have waited
+   *     before being executed, or -1 if unknown.
+   */
+  public OfficeQueueFullException(
+      @NonNull final String message, final int queueLength, final long estimatedWaitTime) {
+    super(message);
+
+    this.queueLength = queueLength;
+    this.estimatedWaitTime = estimatedWaitTime;
+  }
+
+  /**
+   * Gets the number of tasks that were waiting when the task was rejected.
+   *
+   * @return The queue length.
+   */
+  public int getQueueLength() {
+    return queueLength;
+  }
+
+  /**
+   * Gets the estimated time a new task would have waited before being executed.
+   *
+   * @return The estimated wait time, in milliseconds, or -1 if it cannot be estimated yet (no task
+   *     has been executed).
+   */
+  public long getEstimatedWaitTime() {
+    return estimatedWaitTime;
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.task.HedgeableTask;
+import org.jodconverter.core.task.OfficeTask;
+
+/**
+ * A task waiting in the queue of an {@link AbstractOfficeManagerPool} for a manager entry to become
+ * available. The entry future is completed by the pool once an entry has been assigned to the task,
+ * or completed exceptionally if the task is removed from the queue without being dispatched.
+ *
+ * <p>A task may be executed through attempts of a {@link HedgeableTask}, so that the pool can
+ * fingerprint its source document before executing it, and so that a retry, created once an entry
+ * failed to execute the first attempt, reuses the resources the attempts share.
+ */
+final class PendingTask {
+
+  private final OfficeTask task;
+  private final HedgeableTask attemptedTask;
+  private final OfficeManager failedEntry;
+  private final long enqueueTime;
+  private final CompletableFuture<OfficeManager> entry = new CompletableFuture<>();
+  private ScheduledFuture<?> expiration;
+  private long sourceLength = -1L;
+  private double estimatedCost;
+  private long memoryWeight;
+  private long dispatchTime;
+
+  /**
+   * Creates a new pending task for the specified task.
+   *
+   * @param task The task waiting to be dispatched.
+   */
+  /* default */ PendingTask(@NonNull final OfficeTask task) {
+    this(task, (HedgeableTask) null);
+  }
+
+  /**
+   * Creates a new pending task for an attempt of the specified task.
+   *
+   * @param attempt The attempt waiting to be dispatched.
+   * @param attemptedTask The task the attempt belongs to, or {@code null} if the task is executed
+   *     directly.
+   */
+  /* default */ PendingTask(
+      @NonNull final OfficeTask attempt, @Nullable final HedgeableTask attemptedTask) {
+
+    this.task = attempt;
+    this.attemptedTask = attemptedTask;
+    this.failedEntry = null;
+    this.enqueueTime = System.nanoTime();
+  }
+
+  /**
+   * Creates a new pending task retrying a task an entry failed to execute. The retry keeps the
+   * enqueue time of the failed task.
+   *
+   * @param attempt The new attempt waiting to be dispatched.
+   * @param failedTask The task that failed.
+   */
+  /* default */ PendingTask(
+      @NonNull final OfficeTask attempt, @NonNull final PendingTask failedTask) {
+
+    this.task = attempt;
+    this.attemptedTask = failedTask.attemptedTask;
+    this.failedEntry = failedTask.entry.getNow(null);
+    this.enqueueTime = failedTask.enqueueTime;
+  }
+
+  /**
+   * Gets the task waiting to be dispatched.
+   *
+   * @return The task.
+   */
+  @NonNull
+  /* default */ OfficeTask getTask() {
+    return task;
+  }
+
+  /**
+   * Gets the task this task is an attempt of.
+   *
+   * @return The attempted task, or {@code null} if the task is executed directly.
+   */
+  @Nullable
+  /* default */ HedgeableTask getAttemptedTask() {
+    return attemptedTask;
+  }
+
+  /**
+   * Gets whether this task retries a task an entry failed to execute.
+   *
+   * @return {@code true} if this task is a retry, {@code false} otherwise.
+   */
+  /* default */ boolean isRetry() {
+    return failedEntry != null;
+  }
+
+  /**
+   * Gets the entry that failed to execute the task this task retries.
+   *
+   * @return The failed entry, or {@code null} if this task is not a retry.
+   */
+  @Nullable
+  /* default */ OfficeManager getFailedEntry() {
+    return failedEntry;
+  }
+
+  /**
+   * Gets the time, as returned by {@link System#nanoTime()}, at which this task was queued.
+   *
+   * @return The enqueue time, in nanoseconds.
+   */
+  /* default */ long getEnqueueTime() {
+    return enqueueTime;
+  }
+
+  /**
+   * Gets the length of the source document of the task, as known when the task was queued.
+   *
+   * @return The source length, in bytes, or -1 if unknown.
+   */
+  /* default */ long getSourceLength() {
+    return sourceLength;
+  }
+
+  /**
+   * Gets the estimated duration of the task.
+   *
+   * @return The estimated cost, in milliseconds.
+   */
+  /* default */ double getEstimatedCost() {
+    return estimatedCost;
+  }
+
+  /**
+   * Sets the estimated duration of the task.
+   *
+   * @param sourceLength The length of the source document the estimate is based on, or -1 if
+   *     unknown.
+   * @param estimatedCost The estimated cost, in milliseconds.
+   */
+  /* default */ void setEstimatedCost(final long sourceLength, final double estimatedCost) {
+    this.sourceLength = sourceLength;
+    this.estimatedCost = estimatedCost;
+  }
+
+  /**
+   * Gets the estimated memory the task will use.
+   *
+   * @return The memory weight, in bytes.
+   */
+  /* default */ long getMemoryWeight() {
+    return memoryWeight;
+  }
+
+  /**
+   * Sets the estimated memory the task will use.
+   *
+   * @param sourceLength The length of the source document the estimate is based on, or -1 if
+   *     unknown.
+   * @param memoryWeight The memory weight, in bytes.
+   */
+  /* default */ void setMemoryWeight(final long sourceLength, final long memoryWeight) {
+    this.sourceLength = sourceLength;
+    this.memoryWeight = memoryWeight;
+  }
+
+  /**
+   * Gets the time, as returned by {@link System#nanoTime()}, at which this task was dispatched.
+   *
+   * @return The dispatch time, in nanoseconds. Only meaningful once the task is dispatched.
+   */
+  /* default */ long getDispatchTime() {
+    return dispatchTime;
+  }
+
+  /**
+   * Sets the time at which this task was dispatched.
+   *
+   * @param dispatchTime The dispatch time, as returned by {@link System#nanoTime()}.
+   */
+  /* default */ void setDispatchTime(final long dispatchTime) {
+    this.dispatchTime = dispatchTime;
+  }
+
+  /**
+   * Gets the future that will be completed with the entry assigned to this task.
+   *
+   * @return The entry future.
+   */
+  @NonNull
+  /* default */ CompletableFuture<OfficeManager> getEntry() {
+    return entry;
+  }
+
+  /**
+   * Sets the scheduled action that will remove this task from the queue once the queue timeout is
+   * reached.
+   *
+   * @param expiration The scheduled expiration.
+   */
+  /* default */ void setExpiration(@NonNull final ScheduledFuture<?> expiration) {
+    this.expiration = expiration;
+  }
+
+  /** Cancels the scheduled expiration of this task, if any. */
+  /* default */ void cancelExpiration() {
+    if (expiration != null) {
+      expiration.cancel(false);
+    }
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" + "task=" + task + '}';
+  }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.document.DocumentFamily;
+import org.jodconverter.core.document.DocumentFormat;
+import org.jodconverter.core.task.OfficeTask;
+import org.jodconverter.core.task.TaskPriority;
+
+/**
+ * The queue of tasks waiting for a manager entry in an {@link AbstractOfficeManagerPool}.
+ *
+ * <p>Each tenant has one FIFO lane per {@link TaskPriority}. The next task to dispatch is chosen
+ * among the candidates of these lanes:
+ *
+ * <ol>
+ *   <li>The task with the highest effective priority wins. To prevent starvation, a task is
+ *       promoted by one priority level each time it has waited for the configured aging interval.
+ *   <li>Between tenants having a task with the same effective priority, the tenant that received
+ *       the smallest share of the pool relative to its weight wins (stride scheduling, a weighted
+ *       fair queuing variant).
+ *   <li>Within a tenant, the oldest candidate wins, or the cheapest one if shortest job first is
+ *       enabled.
+ * </ol>
+ *
+ * <p>The candidate of a lane is its oldest task, unless shortest job first is enabled. In that
+ * case, the candidate is the task with the smallest estimated cost, as estimated by a {@link
+ * TaskCostEstimator} that learns from the executed tasks. To prevent starvation, a task that has
+ * waited for the aging interval is served before the cheaper tasks, oldest first.
+ *
+ * <p>A task retried because an entry failed to execute it is put at the head of its lane, and is
+ * dispatched before the other candidates of the same effective priority.
+ *
+ * <p>Tenants that already run their maximum number of tasks are skipped until one of their task
+ * is done.
+ *
+ * <p>If a memory budget is set, the next task is held until the running tasks leave enough of the
+ * budget for its memory, as estimated by a {@link MemoryBudget}. Holding the next task, rather than
+ * dispatching a smaller one, prevents the tasks requiring a lot of memory from starving.
+ *
+ * <p>This class is not thread safe; the pool accesses it while holding its dispatch lock.
+ */
+final class PendingTaskQueue {
+
+  // The pass increment of a tenant with a weight of 1.
+  private static final long STRIDE = 1L << 20;
+
+  private final long agingIntervalNanos;
+  private final TaskCostEstimator costEstimator;
+  private final MemoryBudget memoryBudget;
+  private final Map<String, TenantQuota> tenantQuotas;
+  private final TenantQuota defaultTenantQuota;
+  private final Map<String, TenantState> tenants = new HashMap<>();
+  private long virtualTime;
+  private int size;
+
+  /** The tasks and the dispatch statistics of a tenant. */
+  private static final class TenantState {
+
+    private final TenantQuota quota;
+    private final List<Deque<PendingTask>> lanes;
+    private int queued;
+    private int running;
+    private long pass;
+
+    private TenantState(final TenantQuota quota) {
+
+      this.quota = quota;
+      final int laneCount = TaskPriority.values().length;
+      lanes = new ArrayList<>(laneCount);
+      for (int i = 0; i < laneCount; i++) {
+        lanes.add(new ArrayDeque<>());
+      }
+    }
+
+    private boolean canRun() {
+
+      final int maxRunningTasks = quota.getMaxRunningTasks();
+      return queued > 0 && (maxRunningTasks == 0 || running < maxRunningTasks);
+    }
+
+    private boolean isIdle() {
+      return queued == 0 && running == 0;
+    }
+  }
+
+  /**
+   * Creates a new queue with the specified configuration.
+   *
+   * @param agingInterval The time, in milliseconds, a task must wait before being promoted to the
+   *     next higher priority. A value of 0 disables aging.
+   * @param tenantQuotas The quotas of the tenants, by tenant.
+   * @param defaultTenantQuota The quota of the tenants not found in {@code tenantQuotas}, including
+   *     the tasks without tenant.
+   * @param shortestJobFirst Whether the tasks with the smallest estimated cost are dispatched first
+   *     within a lane.
+   * @param memoryBudget The memory, in bytes, the running tasks may use. A value of 0 disables the
+   *     memory budget.
+   */
+  /* default */ PendingTaskQueue(
+      final long agingInterval,
+      @NonNull final Map<@NonNull String, @NonNull TenantQuota> tenantQuotas,
+      @NonNull final TenantQuota defaultTenantQuota,
+      final boolean shortestJobFirst,
+      final long memoryBudget) {
+
+    this.agingIntervalNanos = TimeUnit.MILLISECONDS.toNanos(agingInterval);
+    this.tenantQuotas = tenantQuotas;
+    this.defaultTenantQuota = defaultTenantQuota;
+    this.costEstimator = shortestJobFirst ? new TaskCostEstimator() : null;
+    this.memoryBudget = memoryBudget > 0L ? new MemoryBudget(memoryBudget) : null;
+  }
+
+  /**
+   * Adds the specified task at the end of the lane matching its tenant and priority.
+   *
+   * @param pendingTask The task to add.
+   * @return {@code true} if the task was added, {@code false} if the maximum number of queued tasks
+   *     of the task tenant is reached.
+   */
+  /* default */ boolean add(@NonNull final PendingTask pendingTask) {
+
+    final String tenant = pendingTask.getTask().getTenant();
+    final TenantState state = getState(tenant);
+    final int maxQueuedTasks = state.quota.getMaxQueuedTasks();
+    if (maxQueuedTasks > 0 && state.queued >= maxQueuedTasks) {
+      if (state.isIdle()) {
+        tenants.remove(tenant);
+      }
+      return false;
+    }
+
+    prepare(state, pendingTask);
+    state.lanes.get(pendingTask.getTask().getPriority().ordinal()).addLast(pendingTask);
+    state.queued++;
+    size++;
+    return true;
+  }
+
+  /**
+   * Adds the specified task, retrying a task an entry failed to execute, at the head of the lane
+   * matching its tenant and priority. The maximum number of queued tasks of the task tenant is not
+   * enforced, the failed task having already been accepted.
+   *
+   * @param pendingTask The task to add.
+   */
+  /* default */ void addFirst(@NonNull final PendingTask pendingTask) {
+
+    final TenantState state = getState(pendingTask.getTask().getTenant());
+    prepare(state, pendingTask);
+    state.lanes.get(pendingTask.getTask().getPriority().ordinal()).addFirst(pendingTask);
+    state.queued++;
+    size++;
+  }
+
+  private TenantState getState(final String tenant) {
+
+    return tenants.computeIfAbsent(
+        tenant, key -> new TenantState(tenantQuotas.getOrDefault(key, defaultTenantQuota)));
+  }
+
+  // Prepares the specified task to be queued by the specified tenant.
+  private void prepare(final TenantState state, final PendingTask pendingTask) {
+
+    // A tenant that had nothing queued must not be credited for the time it was inactive.
+    if (state.queued == 0) {
+      state.pass = Math.max(state.pass, virtualTime);
+    }
+    if (costEstimator != null) {
+      final OfficeTask task = pendingTask.getTask();
+      final long length = task.getSourceLength();
+      pendingTask.setEstimatedCost(
+          length,
+          costEstimator.estimate(task.getSourceFormat(), task.getTargetFormat(), length));
+    }
+    if (memoryBudget != null) {
+      estimateMemory(pendingTask);
+    }
+  }
+
+  // Estimates the memory the specified task needs. Must be called only with a memory budget.
+  private void estimateMemory(final PendingTask pendingTask) {
+
+    final OfficeTask task = pendingTask.getTask();
+    final long length = task.getSourceLength();
+    pendingTask.setMemoryWeight(length, memoryBudget.estimate(getSourceFamily(task), length));
+  }
+
+  /**
+   * Reserves the capacity of its tenant, and the memory, a task executed without being queued
+   * needs, as if it was dispatched. The task is then considered running until {@link
+   * #done(PendingTask, long)} is called.
+   *
+   * @param pendingTask The task to execute.
+   * @return {@code true} if the task can run, {@code false} if its tenant already runs as many
+   *     tasks as it may or if the running tasks do not leave enough memory.
+   */
+  /* default */ boolean reserve(@NonNull final PendingTask pendingTask) {
+
+    final String tenant = pendingTask.getTask().getTenant();
+    final TenantState state = getState(tenant);
+    final int maxRunningTasks = state.quota.getMaxRunningTasks();
+    if (memoryBudget != null) {
+      estimateMemory(pendingTask);
+    }
+    if ((maxRunningTasks > 0 && state.running >= maxRunningTasks)
+        || (memoryBudget != null && !memoryBudget.reserve(pendingTask.getMemoryWeight()))) {
+      if (state.isIdle()) {
+        tenants.remove(tenant);
+      }
+      return false;
+    }
+
+    state.running++;
+    pendingTask.setDispatchTime(System.nanoTime());
+    return true;
+  }
+
+  /**
+   * Removes the specified task from the queue.
+   *
+   * @param pendingTask The task to remove.
+   * @return {@code true} if the task was waiting in the queue, {@code false} otherwise.
+   */
+  /* default */ boolean remove(@NonNull final PendingTask pendingTask) {
+
+    final String tenant = pendingTask.getTask().getTenant();
+    final TenantState state = tenants.get(tenant);
+    if (state == null
+        || !state.lanes.get(pendingTask.getTask().getPriority().ordinal()).remove(pendingTask)) {
+      return false;
+    }
+
+    state.queued--;
+    size--;
+    if (state.isIdle()) {
+      tenants.remove(tenant);
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves and removes the next task to dispatch. The task is then considered running until
+   * {@link #done(PendingTask, long)} is called.
+   *
+   * @return The next task to dispatch, or {@code null} if no waiting task can be dispatched.
+   */
+  @Nullable
+  /* default */ PendingTask poll() {
+
+    final long now = System.nanoTime();
+    TenantState selected = null;
+    Deque<PendingTask> selectedLane = null;
+    PendingTask selectedTask = null;
+    long selectedRank = Long.MAX_VALUE;
+    for (final TenantState state : tenants.values()) {
+      if (!state.canRun()) {
+        continue;
+      }
+
+      for (int i = 0; i < state.lanes.size(); i++) {
+        final Deque<PendingTask> lane = state.lanes.get(i);
+        final PendingTask head = lane.peekFirst();
+        if (head == null) {
+          continue;
+        }
+
+        // Lower is better. Each aging interval spent in the queue promotes the lane by one level.
+        final long rank =
+            agingIntervalNanos > 0L
+                ? Math.max(0L, i - (now - head.getEnqueueTime()) / agingIntervalNanos)
+                : i;
+        final PendingTask candidate = getCandidate(lane, now);
+        if (isBetter(rank, state, candidate, selectedRank, selected, selectedTask, now)) {
+          selected = state;
+          selectedLane = lane;
+          selectedTask = candidate;
+          selectedRank = rank;
+        }
+      }
+    }
+
+    if (selected == null) {
+      return null;
+    }
+    if (memoryBudget != null && !memoryBudget.reserve(selectedTask.getMemoryWeight())) {
+      // Wait for running tasks to release enough memory.
+      return null;
+    }
+
+    // Charge the tenant for the dispatched task.
+    virtualTime = selected.pass;
+    selected.pass += STRIDE / selected.quota.getWeight();
+    selected.queued--;
+    selected.running++;
+    size--;
+    selectedLane.remove(selectedTask);
+    selectedTask.setDispatchTime(now);
+    return selectedTask;
+  }
+
+  private boolean isBetter(
+      final long rank,
+      final TenantState state,
+      final PendingTask candidate,
+      final long selectedRank,
+      final TenantState selected,
+      final PendingTask selectedTask,
+      final long now) {
+
+    if (selected == null || rank != selectedRank) {
+      return rank < selectedRank;
+    }
+    if (candidate.isRetry() != selectedTask.isRetry()) {
+      return candidate.isRetry();
+    }
+    if (state != selected) {
+      return state.pass < selected.pass;
+    }
+    return precedes(candidate, selectedTask, now);
+  }
+
+  // Gets the task of the specified lane that must be dispatched first.
+  private PendingTask getCandidate(final Deque<PendingTask> lane, final long now) {
+
+    // Tasks are ordered by enqueue time within a lane, so a starving head always wins, as does a
+    // retry put at the head of the lane.
+    final PendingTask head = lane.peekFirst();
+    if (costEstimator == null || head.isRetry() || isStarving(head, now)) {
+      return head;
+    }
+
+    PendingTask candidate = head;
+    for (final PendingTask task : lane) {
+      if (precedes(task, candidate, now)) {
+        candidate = task;
+      }
+    }
+    return candidate;
+  }
+
+  // Indicates whether the first task must be dispatched before the second one, both tasks having
+  // the same tenant and the same effective priority.
+  private boolean precedes(final PendingTask task, final PendingTask other, final long now) {
+
+    if (costEstimator != null) {
+      final boolean starving = isStarving(task, now);
+      if (starving != isStarving(other, now)) {
+        return starving;
+      }
+      if (!starving && task.getEstimatedCost() != other.getEstimatedCost()) {
+        return task.getEstimatedCost() < other.getEstimatedCost();
+      }
+    }
+    return task.getEnqueueTime() - other.getEnqueueTime() < 0L;
+  }
+
+  private boolean isStarving(final PendingTask task, final long now) {
+    return agingIntervalNanos > 0L && now - task.getEnqueueTime() >= agingIntervalNanos;
+  }
+
+  @Nullable
+  private static DocumentFamily getSourceFamily(final OfficeTask task) {
+
+    final DocumentFormat sourceFormat = task.getSourceFormat();
+    return sourceFormat == null ? null : sourceFormat.getInputFamily();
+  }
+
+  /**
+   * Notifies the queue that a task returned by {@link #poll()} is done.
+   *
+   * @param pendingTask The task that is done.
+   * @param memoryUsage The memory the task was observed to use, in bytes, or -1 if unknown.
+   */
+  /* default */ void done(@NonNull final PendingTask pendingTask, final long memoryUsage) {
+
+    if (costEstimator != null) {
+      final OfficeTask task = pendingTask.getTask();
+      costEstimator.record(
+          task.getSourceFormat(),
+          task.getTargetFormat(),
+          pendingTask.getSourceLength(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingTask.getDispatchTime()));
+    }
+    release(pendingTask, memoryUsage);
+  }
+
+  /**
+   * Notifies the queue that a task returned by {@link #poll()} is abandoned without having been
+   * executed. Nothing is learnt from the task.
+   *
+   * @param pendingTask The abandoned task.
+   */
+  /* default */ void abandon(@NonNull final PendingTask pendingTask) {
+    release(pendingTask, -1L);
+  }
+
+  // Releases the capacity, and the memory, reserved by a running task.
+  private void release(final PendingTask pendingTask, final long memoryUsage) {
+
+    if (memoryBudget != null) {
+      memoryBudget.release(
+          pendingTask.getMemoryWeight(),
+          getSourceFamily(pendingTask.getTask()),
+          pendingTask.getSourceLength(),
+          memoryUsage);
+    }
+
+    final String tenant = pendingTask.getTask().getTenant();
+    final TenantState state = tenants.get(tenant);
+    if (state != null) {
+      state.running--;
+      if (state.isIdle()) {
+        tenants.remove(tenant);
+      }
+    }
+  }
+
+  /**
+   * Retrieves, but does not remove, the task that has been waiting the longest in the queue.
+   *
+   * @return The oldest waiting task, or {@code null} if the queue is empty.
+   */
+  @Nullable
+  /* default */ PendingTask peekOldest() {
+
+    PendingTask oldest = null;
+    for (final TenantState state : tenants.values()) {
+      for (final Deque<PendingTask> lane : state.lanes) {
+        final PendingTask head = lane.peekFirst();
+        if (head != null
+            && (oldest == null || head.getEnqueueTime() - oldest.getEnqueueTime() < 0L)) {
+          oldest = head;
+        }
+      }
+    }
+    return oldest;
+  }
+
+  /**
+   * Removes all the tasks from the queue.
+   *
+   * @return The removed tasks.
+   */
+  @NonNull
+  /* default */ List<@NonNull PendingTask> clear() {
+
+    final List<PendingTask> removed = new ArrayList<>(size);
+    tenants.values().forEach(state -> state.lanes.forEach(removed::addAll));
+    tenants.clear();
+    size = 0;
+    return removed;
+  }
+
+  /**
+   * Gets whether the queue is empty.
+   *
+   * @return {@code true} if no task is waiting, {@code false} otherwise.
+   */
+  /* default */ boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the number of tasks waiting in the queue.
+   *
+   * @return The number of waiting tasks.
+   */
+  /* default */ int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of tasks of the specified tenant waiting in the queue.
+   *
+   * @param tenant The tenant, or {@code null} for the tasks without tenant.
+   * @return The number of waiting tasks of the tenant.
+   */
+  /* default */ int size(@Nullable final String tenant) {
+
+    final TenantState state = tenants.get(tenant);
+    return state == null ? 0 : state.queued;
+  }
+
+  /**
+   * Gets the quota of the specified tenant.
+   *
+   * @param tenant The tenant, or {@code null} for the tasks without tenant.
+   * @return The quota of the tenant, or the default quota if the tenant has no specific quota.
+   */
+  @NonNull
+  /* default */ TenantQuota getQuota(@Nullable final String tenant) {
+    return tenantQuotas.getOrDefault(tenant, defaultTenantQuota);
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Chooses which available entry of an {@link AbstractOfficeManagerPool} executes the next task.
+ * Built-in selectors are provided by {@link StandardPoolEntrySelector}.
+ *
+ * <p>A selector is called while the pool holds its dispatch lock; it must be fast and must not
+ * block.
+ *
+ * @see StandardPoolEntrySelector
+ */
+@FunctionalInterface
+public interface PoolEntrySelector {
+
+  /**
+   * Selects the entry that will execute the next task.
+   *
+   * @param availableEntries The statistics of the available entries, never empty. The entries are
+   *     ordered by the time they became available, the entry that has been available the longest
+   *     coming first.
+   * @return The index, in {@code availableEntries}, of the selected entry.
+   */
+  int select(@NonNull List<@NonNull PoolEntryStats> availableEntries);
+}
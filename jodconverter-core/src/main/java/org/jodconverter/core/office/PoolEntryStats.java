@@ -0,0 +1,239 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The statistics of an entry of an {@link AbstractOfficeManagerPool}, used by a {@link
+ * PoolEntrySelector} to choose the entry that executes a task, and to monitor the health of the
+ * entry. The statistics are updated without locking and can be read at any time.
+ */
+public final class PoolEntryStats {
+
+  // The weight of a new latency, or a new outcome, in the moving averages.
+  private static final double SMOOTHING_FACTOR = 0.2D;
+
+  private final AtomicLong taskCount = new AtomicLong();
+  private final AtomicLong averageLatency = new AtomicLong(Double.doubleToLongBits(0D));
+  private final AtomicLong failureCount = new AtomicLong();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicLong failureRate = new AtomicLong(Double.doubleToLongBits(0D));
+  private volatile long lastRestartTime = System.nanoTime();
+  private volatile long lastTaskMemoryUsage = -1L;
+  private volatile long lastHeartbeatLatency = -1L;
+  private volatile CircuitBreakerState circuitBreakerState = CircuitBreakerState.CLOSED;
+
+  /** Creates new statistics. */
+  /* default */ PoolEntryStats() {
+    super();
+  }
+
+  /**
+   * Gets the number of tasks executed by the entry since it has been added to the pool.
+   *
+   * @return The number of executed tasks.
+   */
+  public long getTaskCount() {
+    return taskCount.get();
+  }
+
+  /**
+   * Gets the exponentially weighted moving average of the time the entry took to execute its
+   * tasks. The most recent tasks weigh more, so that an entry that becomes slow is detected
+   * quickly.
+   *
+   * @return The average latency, in milliseconds, or 0 if the entry has not executed any task.
+   */
+  public double getAverageLatency() {
+    return Double.longBitsToDouble(averageLatency.get());
+  }
+
+  /**
+   * Gets the time, as returned by {@link System#nanoTime()}, at which the entry was last started or
+   * restarted.
+   *
+   * @return The last restart time, in nanoseconds.
+   */
+  public long getLastRestartTime() {
+    return lastRestartTime;
+  }
+
+  /**
+   * Gets the memory the office process of the entry was observed to use while executing the last
+   * task.
+   *
+   * @return The memory usage, in bytes, or -1 if the entry cannot observe it.
+   */
+  public long getLastTaskMemoryUsage() {
+    return lastTaskMemoryUsage;
+  }
+
+  /**
+   * Gets the time the office process of the entry took to answer the last heartbeat sent while it
+   * was idle. A latency growing over time is a sign of an office process becoming unresponsive.
+   *
+   * @return The heartbeat latency, in milliseconds, or -1 if the entry does not send heartbeats.
+   */
+  public long getLastHeartbeatLatency() {
+    return lastHeartbeatLatency;
+  }
+
+  /**
+   * Gets the number of tasks the entry failed, because it crashed, lost its connection or did not
+   * complete them within the execution timeout, since it has been added to the pool.
+   *
+   * @return The number of failed tasks.
+   */
+  public long getFailureCount() {
+    return failureCount.get();
+  }
+
+  /**
+   * Gets the number of tasks the entry failed in a row since it last succeeded.
+   *
+   * @return The number of consecutive failures.
+   */
+  public int getConsecutiveFailures() {
+    return consecutiveFailures.get();
+  }
+
+  /**
+   * Gets the exponentially weighted moving average of the failures of the entry, the most recent
+   * tasks weighing more.
+   *
+   * @return The failure rate, between 0 (no recent failure) and 1 (only recent failures).
+   */
+  public double getFailureRate() {
+    return Double.longBitsToDouble(failureRate.get());
+  }
+
+  /**
+   * Gets the state of the circuit breaker of the entry.
+   *
+   * @return The circuit breaker state, always {@link CircuitBreakerState#CLOSED} if the pool has no
+   *     circuit breaker.
+   */
+  @NonNull
+  public CircuitBreakerState getCircuitBreakerState() {
+    return circuitBreakerState;
+  }
+
+  /**
+   * Records a task executed by the entry.
+   *
+   * @param latency The time, in nanoseconds, the entry took to execute the task.
+   */
+  /* default */ void recordTask(final long latency) {
+
+    final double latencyMillis = latency / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+    final long count = taskCount.incrementAndGet();
+    long current;
+    double updated;
+    do {
+      current = averageLatency.get();
+      final double average = Double.longBitsToDouble(current);
+      updated =
+          count == 1L ? latencyMillis : average + SMOOTHING_FACTOR * (latencyMillis - average);
+    } while (!averageLatency.compareAndSet(current, Double.doubleToLongBits(updated)));
+  }
+
+  /**
+   * Records the memory used by the last task executed by the entry.
+   *
+   * @param memoryUsage The memory usage, in bytes, or -1 if unknown.
+   */
+  /* default */ void recordTaskMemoryUsage(final long memoryUsage) {
+    lastTaskMemoryUsage = memoryUsage;
+  }
+
+  /**
+   * Records the time the office process of the entry took to answer a heartbeat.
+   *
+   * @param latencyMillis The heartbeat latency, in milliseconds.
+   */
+  /* default */ void recordHeartbeatLatency(final long latencyMillis) {
+    lastHeartbeatLatency = latencyMillis;
+  }
+
+  /**
+   * Records whether the entry succeeded or failed to execute a task.
+   *
+   * @param failed {@code true} if the task failed, {@code false} otherwise.
+   * @return The number of consecutive failures, including the recorded task.
+   */
+  /* default */ int recordOutcome(final boolean failed) {
+
+    final double outcome = failed ? 1D : 0D;
+    long current;
+    double updated;
+    do {
+      current = failureRate.get();
+      final double rate = Double.longBitsToDouble(current);
+      updated = rate + SMOOTHING_FACTOR * (outcome - rate);
+    } while (!failureRate.compareAndSet(current, Double.doubleToLongBits(updated)));
+
+    if (!failed) {
+      consecutiveFailures.set(0);
+      return 0;
+    }
+    failureCount.incrementAndGet();
+    return consecutiveFailures.incrementAndGet();
+  }
+
+  /**
+   * Sets the state of the circuit breaker of the entry. Closing the circuit breaker resets the
+   * number of consecutive failures.
+   *
+   * @param state The new state.
+   */
+  /* default */ void setCircuitBreakerState(final CircuitBreakerState state) {
+
+    if (state == CircuitBreakerState.CLOSED) {
+      consecutiveFailures.set(0);
+    }
+    circuitBreakerState = state;
+  }
+
+  /** Records a start, or a restart, of the entry. */
+  /* default */ void recordRestart() {
+    lastRestartTime = System.nanoTime();
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+        + "{"
+        + "taskCount="
+        + getTaskCount()
+        + ", averageLatency="
+        + getAverageLatency()
+        + ", failureCount="
+        + getFailureCount()
+        + ", circuitBreakerState="
+        + getCircuitBreakerState()
+        + '}';
+  }
+}
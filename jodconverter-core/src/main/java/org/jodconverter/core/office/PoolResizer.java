@@ -0,0 +1,183 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides when an office manager pool grows or shrinks. The pool grows, one entry at a time, when
+ * the oldest queued task has waited too long while all the entries are busy. It shrinks back to its
+ * initial size when an entry stays idle for too long while no task is queued, so that only idle
+ * entries are ever removed. To this end, the resizer tracks since when each available entry has
+ * been idle.
+ *
+ * <p>This class is not thread safe; the pool accesses it while holding its dispatch lock.
+ */
+final class PoolResizer {
+
+  // The maximum delay between two evaluations of the pool size.
+  private static final long MAX_CHECK_INTERVAL = 1_000L; // 1 second
+
+  private final int maxPoolSize;
+  private final long scaleUpThreshold;
+  private final long idleTimeout;
+  private final Map<OfficeManager, Long> idleSince = new IdentityHashMap<>();
+  private int minPoolSize;
+  private boolean entryStarting;
+  private long nextScaleUpTime = System.nanoTime();
+
+  /**
+   * Creates a new resizer.
+   *
+   * @param maxPoolSize The maximum number of entries of the pool.
+   * @param scaleUpThreshold The time, in milliseconds, the oldest queued task must wait before the
+   *     pool grows.
+   * @param idleTimeout The time, in milliseconds, an entry must stay idle before the pool shrinks.
+   */
+  /* default */ PoolResizer(
+      final int maxPoolSize, final long scaleUpThreshold, final long idleTimeout) {
+
+    this.maxPoolSize = maxPoolSize;
+    this.scaleUpThreshold = scaleUpThreshold;
+    this.idleTimeout = idleTimeout;
+  }
+
+  /**
+   * Sets the initial number of entries of the pool, below which the pool never shrinks.
+   *
+   * @param minPoolSize The minimum number of entries.
+   */
+  /* default */ void setMinPoolSize(final int minPoolSize) {
+    this.minPoolSize = minPoolSize;
+  }
+
+  /**
+   * Gets whether the pool may grow beyond its initial size.
+   *
+   * @return {@code true} if the pool size must be evaluated periodically.
+   */
+  /* default */ boolean isEnabled() {
+    return maxPoolSize > minPoolSize;
+  }
+
+  /**
+   * Gets the delay between two evaluations of the pool size.
+   *
+   * @return The delay, in milliseconds.
+   */
+  /* default */ long getCheckInterval() {
+    return Math.max(1L, Math.min(MAX_CHECK_INTERVAL, Math.min(scaleUpThreshold, idleTimeout)));
+  }
+
+  /**
+   * Records that the specified entry is available from now on.
+   *
+   * @param entry The entry returned to the pool.
+   */
+  /* default */ void entryIdle(@NonNull final OfficeManager entry) {
+    idleSince.put(entry, System.nanoTime());
+  }
+
+  /**
+   * Records that the specified entry is no longer available.
+   *
+   * @param entry The entry taken from the pool.
+   */
+  /* default */ void entryBusy(@NonNull final OfficeManager entry) {
+    idleSince.remove(entry);
+  }
+
+  /** Forgets all the available entries, once the pool is emptied. */
+  /* default */ void clear() {
+    idleSince.clear();
+  }
+
+  /**
+   * Tells whether the pool must grow, given the oldest queued task. If so, the pool is not grown
+   * again until it reports whether the new entry has been {@link #grown() added} or {@link
+   * #growFailed() not}.
+   *
+   * @param poolSize The current number of entries of the pool.
+   * @param oldestEnqueueTime The time the oldest queued task has been queued, as returned by {@link
+   *     System#nanoTime()}.
+   * @param now The current time, as returned by {@link System#nanoTime()}.
+   * @return {@code true} if a new entry must be added to the pool.
+   */
+  /* default */ boolean shouldGrow(
+      final int poolSize, final long oldestEnqueueTime, final long now) {
+
+    if (!idleSince.isEmpty()
+        || entryStarting
+        || poolSize >= maxPoolSize
+        || now - oldestEnqueueTime < TimeUnit.MILLISECONDS.toNanos(scaleUpThreshold)
+        || now - nextScaleUpTime < 0L) {
+      return false;
+    }
+    entryStarting = true;
+    return true;
+  }
+
+  /** Records that the new entry has been added to the pool, allowing the pool to grow again. */
+  /* default */ void grown() {
+    entryStarting = false;
+  }
+
+  /** Records that no entry could be added; the pool grows again once the threshold elapsed. */
+  /* default */ void growFailed() {
+
+    entryStarting = false;
+    nextScaleUpTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scaleUpThreshold);
+  }
+
+  /**
+   * Chooses the entry to remove from the pool while no task is queued: the entry that has been
+   * idle the longest, if it has been idle for more than the idle timeout.
+   *
+   * @param poolSize The current number of entries of the pool.
+   * @param now The current time, as returned by {@link System#nanoTime()}.
+   * @return The entry to remove, which is no longer tracked as available, or {@code null} if the
+   *     pool must not shrink.
+   */
+  @Nullable
+  /* default */ OfficeManager pollIdleEntry(final int poolSize, final long now) {
+
+    if (poolSize <= minPoolSize) {
+      return null;
+    }
+    OfficeManager idlest = null;
+    long idlestSince = now;
+    for (final Map.Entry<OfficeManager, Long> entry : idleSince.entrySet()) {
+      if (idlest == null || entry.getValue() - idlestSince < 0L) {
+        idlest = entry.getKey();
+        idlestSince = entry.getValue();
+      }
+    }
+    if (idlest == null || now - idlestSince < TimeUnit.MILLISECONDS.toNanos(idleTimeout)) {
+      return null;
+    }
+    idleSince.remove(idlest);
+    return idlest;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/** The built-in {@link PoolEntrySelector} implementations. */
+public enum StandardPoolEntrySelector implements PoolEntrySelector {
+
+  /**
+   * Selects the entry that has been available the longest. The work is spread evenly between the
+   * entries. This is the default selector.
+   */
+  FIFO {
+    @Override
+    public int select(@NonNull final List<@NonNull PoolEntryStats> availableEntries) {
+      return 0;
+    }
+  },
+
+  /**
+   * Selects the entry that became available the most recently. Under a light load, the tasks are
+   * executed by a small subset of busy entries whose caches stay warm, and the entries reach their
+   * maximum number of tasks at different times.
+   */
+  LIFO {
+    @Override
+    public int select(@NonNull final List<@NonNull PoolEntryStats> availableEntries) {
+      return availableEntries.size() - 1;
+    }
+  },
+
+  /**
+   * Selects the entry that was started, or restarted, the longest time ago. The entries closest to
+   * their maximum number of tasks are used first, so that their restarts are staggered instead of
+   * occurring at the same time.
+   */
+  LEAST_RECENTLY_RESTARTED {
+    @Override
+    public int select(@NonNull final List<@NonNull PoolEntryStats> availableEntries) {
+
+      int selected = 0;
+      for (int i = 1; i < availableEntries.size(); i++) {
+        if (availableEntries.get(i).getLastRestartTime()
+                - availableEntries.get(selected).getLastRestartTime()
+            < 0L) {
+          selected = i;
+        }
+      }
+      return selected;
+    }
+  },
+
+  /**
+   * Selects the entry that has been available the longest among the entries whose average latency
+   * is not significantly higher than the lowest average latency of the available entries. Entries
+   * that have become slow are avoided until no other entry is available.
+   */
+  LATENCY_AWARE {
+
+    // The ratio to the lowest average latency above which an entry is considered slow.
+    private static final double SLOW_RATIO = 2D;
+
+    @Override
+    public int select(@NonNull final List<@NonNull PoolEntryStats> availableEntries) {
+
+      double lowest = Double.MAX_VALUE;
+      for (final PoolEntryStats stats : availableEntries) {
+        lowest = Math.min(lowest, stats.getAverageLatency());
+      }
+      for (int i = 0; i < availableEntries.size(); i++) {
+        if (availableEntries.get(i).getAverageLatency() <= lowest * SLOW_RATIO) {
+          return i;
+        }
+      }
+      return 0;
+    }
+  }
+}
@@ -55,6 +55,46 @@ public class SuspendableThreadPoolExecutor extends ThreadPoolExecutor {
     }
   }
 
+  @Override
+  protected void terminated() {
+    super.terminated();
+
+    // Wake up the threads waiting for this executor to become available.
+    suspendLock.lock();
+    try {
+      availableCondition.signalAll();
+    } finally {
+      suspendLock.unlock();
+    }
+  }
+
+  /**
+   * Waits until this executor is available, without executing anything. This is used when tasks are
+   * executed by the calling thread instead of the thread of this executor, which is then never
+   * started.
+   *
+   * @param timeout The maximum time to wait, in milliseconds.
+   * @return {@code true} if this executor is available, {@code false} if the timeout elapsed or if
+   *     this executor has been shut down before it became available.
+   * @throws InterruptedException If the current thread is interrupted while waiting.
+   */
+  /* default */ boolean awaitAvailable(final long timeout) throws InterruptedException {
+
+    long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+    suspendLock.lock();
+    try {
+      while (!available) {
+        if (nanos <= 0L || isShutdown()) {
+          return false;
+        }
+        nanos = availableCondition.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      suspendLock.unlock();
+    }
+  }
+
   /**
    * Sets the availability of this executor.
    *
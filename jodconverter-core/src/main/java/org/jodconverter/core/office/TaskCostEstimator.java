@@ -0,0 +1,132 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.document.DocumentFormat;
+
+/**
+ * Estimates the time a task will take to execute from the length of its source document and the
+ * formats it converts from and to. The throughput of each conversion (a source format to a target
+ * format) is learned from the tasks executed by the pool, using exponentially weighted moving
+ * averages so that the estimates follow the changes of the workload.
+ *
+ * <p>This class is not thread safe; the pool accesses it while holding its dispatch lock.
+ */
+final class TaskCostEstimator {
+
+  // The weight of a new observation in the moving averages.
+  private static final double SMOOTHING_FACTOR = 0.2D;
+  // The throughput assumed before any task has been observed, in bytes per millisecond.
+  private static final double DEFAULT_THROUGHPUT = 512D; // About 0.5 MB per second
+  // The duration assumed before any task has been observed, in milliseconds.
+  private static final double DEFAULT_DURATION = 1_000D; // 1 second
+  // The key of the statistics of all the conversions, used for the conversions never observed.
+  private static final String ALL_CONVERSIONS = "*";
+  // The statistics of a conversion that has never been observed.
+  private static final Statistics UNKNOWN = new Statistics();
+
+  private final Map<String, Statistics> statistics = new HashMap<>();
+
+  /** The learned throughput and duration of a conversion. */
+  private static final class Statistics {
+
+    private double throughput = Double.NaN;
+    private double duration = Double.NaN;
+
+    private void record(final long length, final double durationMillis) {
+
+      duration = average(duration, durationMillis);
+      if (length >= 0L) {
+        throughput = average(throughput, length / durationMillis);
+      }
+    }
+
+    private static double average(final double average, final double value) {
+      return Double.isNaN(average) ? value : average + SMOOTHING_FACTOR * (value - average);
+    }
+  }
+
+  /**
+   * Estimates the duration of a conversion.
+   *
+   * @param sourceFormat The format of the source document, if known.
+   * @param targetFormat The format of the target document, if known.
+   * @param length The length of the source document, in bytes, or -1 if unknown.
+   * @return The estimated duration, in milliseconds.
+   */
+  /* default */ double estimate(
+      @Nullable final DocumentFormat sourceFormat,
+      @Nullable final DocumentFormat targetFormat,
+      final long length) {
+
+    final Statistics conversion =
+        statistics.getOrDefault(getKey(sourceFormat, targetFormat), UNKNOWN);
+    final Statistics all = statistics.getOrDefault(ALL_CONVERSIONS, UNKNOWN);
+    if (length < 0L) {
+      return firstKnown(conversion.duration, all.duration, DEFAULT_DURATION);
+    }
+    return length / firstKnown(conversion.throughput, all.throughput, DEFAULT_THROUGHPUT);
+  }
+
+  /**
+   * Records the duration of an executed conversion.
+   *
+   * @param sourceFormat The format of the source document, if known.
+   * @param targetFormat The format of the target document, if known.
+   * @param length The length of the source document, in bytes, or -1 if unknown.
+   * @param durationMillis The time the conversion took, in milliseconds.
+   */
+  /* default */ void record(
+      @Nullable final DocumentFormat sourceFormat,
+      @Nullable final DocumentFormat targetFormat,
+      final long length,
+      final long durationMillis) {
+
+    final double duration = Math.max(1L, durationMillis);
+    statistics
+        .computeIfAbsent(getKey(sourceFormat, targetFormat), key -> new Statistics())
+        .record(length, duration);
+    statistics.computeIfAbsent(ALL_CONVERSIONS, key -> new Statistics()).record(length, duration);
+  }
+
+  private static double firstKnown(final double... values) {
+
+    for (final double value : values) {
+      if (!Double.isNaN(value)) {
+        return value;
+      }
+    }
+    return Double.NaN;
+  }
+
+  private static String getKey(
+      @Nullable final DocumentFormat sourceFormat, @Nullable final DocumentFormat targetFormat) {
+
+    return Optional.ofNullable(sourceFormat).map(DocumentFormat::getExtension).orElse("?")
+        + "->"
+        + Optional.ofNullable(targetFormat).map(DocumentFormat::getExtension).orElse("?");
+  }
+}
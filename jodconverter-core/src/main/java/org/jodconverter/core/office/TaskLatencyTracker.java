@@ -0,0 +1,109 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.document.DocumentFormat;
+
+/**
+ * Tracks the latency of the recent executions of each conversion (a source format to a target
+ * format), so that an execution taking much longer than usual can be detected.
+ *
+ * <p>This class is not thread safe; the pool accesses it while holding its dispatch lock.
+ */
+final class TaskLatencyTracker {
+
+  // The number of recent executions of a conversion the percentile is computed from.
+  private static final int WINDOW_SIZE = 100;
+  // The minimum number of executions of a conversion before its percentile is known.
+  private static final int MIN_SAMPLES = 20;
+  // The percentile of the latencies an execution must exceed to be considered as a straggler.
+  private static final double PERCENTILE = 0.95D;
+
+  private final Map<String, Window> windows = new HashMap<>();
+
+  /** The latencies of the recent executions of a conversion. */
+  private static final class Window {
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int count;
+    private int next;
+
+    private void add(final long latency) {
+
+      latencies[next] = latency;
+      next = (next + 1) % WINDOW_SIZE;
+      count = Math.min(count + 1, WINDOW_SIZE);
+    }
+
+    private long getPercentile() {
+
+      final long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return sorted[(int) Math.ceil(PERCENTILE * count) - 1];
+    }
+  }
+
+  /**
+   * Gets the 95th percentile of the latencies of the recent executions of a conversion.
+   *
+   * @param sourceFormat The format of the source document, if known.
+   * @param targetFormat The format of the target document, if known.
+   * @return The percentile, in milliseconds, or -1 if the conversion has not been executed enough
+   *     times yet.
+   */
+  /* default */ long getPercentile(
+      @Nullable final DocumentFormat sourceFormat, @Nullable final DocumentFormat targetFormat) {
+
+    final Window window = windows.get(getKey(sourceFormat, targetFormat));
+    return window == null || window.count < MIN_SAMPLES ? -1L : window.getPercentile();
+  }
+
+  /**
+   * Records the latency of an executed conversion.
+   *
+   * @param sourceFormat The format of the source document, if known.
+   * @param targetFormat The format of the target document, if known.
+   * @param latencyMillis The time the conversion took, in milliseconds.
+   */
+  /* default */ void record(
+      @Nullable final DocumentFormat sourceFormat,
+      @Nullable final DocumentFormat targetFormat,
+      final long latencyMillis) {
+
+    windows
+        .computeIfAbsent(getKey(sourceFormat, targetFormat), key -> new Window())
+        .add(latencyMillis);
+  }
+
+  private static String getKey(
+      @Nullable final DocumentFormat sourceFormat, @Nullable final DocumentFormat targetFormat) {
+
+    return Optional.ofNullable(sourceFormat).map(DocumentFormat::getExtension).orElse("?")
+        + "->"
+        + Optional.ofNullable(targetFormat).map(DocumentFormat::getExtension).orElse("?");
+  }
+}
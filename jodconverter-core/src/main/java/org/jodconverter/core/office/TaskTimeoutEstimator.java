@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import org.jodconverter.core.document.DocumentFormat;
+import org.jodconverter.core.task.OfficeTask;
+
+/**
+ * Adapts the execution timeout of each task to the usual execution time of similar tasks, so that a
+ * hung task is aborted long before the configured task execution timeout while a task that is
+ * usually long is given the time it needs.
+ *
+ * <p>The execution times are recorded, per conversion (a source format to a target format) and per
+ * size class of the source document, in a compact histogram of logarithmic buckets. The timeout of
+ * a task is a multiple of the 99th percentile of its histogram, but never less than a minimum.
+ *
+ * <p>This class is thread safe.
+ */
+final class TaskTimeoutEstimator {
+
+  // The number of buckets per doubling of the execution time.
+  private static final int BUCKETS_PER_DOUBLING = 4;
+  // The number of buckets of a histogram. The last bucket holds the execution times longer than
+  // 2^20 milliseconds (about 17 minutes).
+  private static final int BUCKET_COUNT = 20 * BUCKETS_PER_DOUBLING;
+  // The minimum number of executions of a kind of task before its percentile is known.
+  private static final int MIN_SAMPLES = 20;
+  // The number of executions after which the weight of the previous executions is halved, so that
+  // the histogram follows the recent executions.
+  private static final int DECAY_SAMPLES = 1_000;
+  // The percentile of the execution times the timeout is derived from.
+  private static final double PERCENTILE = 0.99D;
+
+  private final double multiplier;
+  private final long minTimeout;
+  private final Map<String, Histogram> histograms = new HashMap<>();
+
+  /** The execution times of a kind of task. */
+  private static final class Histogram {
+
+    private final int[] counts = new int[BUCKET_COUNT];
+    private int total;
+
+    private void add(final long executionTime) {
+
+      if (total == DECAY_SAMPLES) {
+        total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+          counts[i] /= 2;
+          total += counts[i];
+        }
+      }
+      counts[getBucket(executionTime)]++;
+      total++;
+    }
+
+    private long getPercentile() {
+
+      final int threshold = (int) Math.ceil(PERCENTILE * total);
+      int cumulated = 0;
+      int bucket = 0;
+      while (bucket < BUCKET_COUNT - 1) {
+        cumulated += counts[bucket];
+        if (cumulated >= threshold) {
+          break;
+        }
+        bucket++;
+      }
+      // The upper bound of the bucket, so that the percentile is never underestimated.
+      return (long) Math.ceil(Math.pow(2D, (bucket + 1) / (double) BUCKETS_PER_DOUBLING));
+    }
+
+    private static int getBucket(final long executionTime) {
+
+      if (executionTime <= 1L) {
+        return 0;
+      }
+      final double log2 = Math.log(executionTime) / Math.log(2D);
+      return Math.min(BUCKET_COUNT - 1, (int) (log2 * BUCKETS_PER_DOUBLING));
+    }
+  }
+
+  /**
+   * Creates a new estimator with the specified configuration.
+   *
+   * @param multiplier The multiple of the 99th percentile of the execution times of similar tasks
+   *     a task is given to complete.
+   * @param minTimeout The minimum timeout, in milliseconds, of a task.
+   */
+  /* default */ TaskTimeoutEstimator(final double multiplier, final long minTimeout) {
+
+    this.multiplier = multiplier;
+    this.minTimeout = minTimeout;
+  }
+
+  /**
+   * Gets the execution timeout of the specified task.
+   *
+   * @param task The task.
+   * @return The timeout, in milliseconds, or -1 if similar tasks have not been executed enough
+   *     times yet.
+   */
+  /* default */ synchronized long getTimeout(@NonNull final OfficeTask task) {
+
+    final Histogram histogram = histograms.get(getKey(task));
+    if (histogram == null || histogram.total < MIN_SAMPLES) {
+      return -1L;
+    }
+    return Math.max(minTimeout, (long) Math.ceil(multiplier * histogram.getPercentile()));
+  }
+
+  /**
+   * Records the execution time of a task that completed successfully.
+   *
+   * @param task The executed task.
+   * @param executionTime The time the task took, in milliseconds.
+   */
+  /* default */ synchronized void record(@NonNull final OfficeTask task, final long executionTime) {
+    histograms.computeIfAbsent(getKey(task), key -> new Histogram()).add(executionTime);
+  }
+
+  // Tasks are grouped by conversion and by size class of their source document, each class being
+  // four times as large as the previous one.
+  private static String getKey(final OfficeTask task) {
+
+    final long length = task.getSourceLength();
+    final int sizeClass = length < 0L ? -1 : (Long.SIZE - Long.numberOfLeadingZeros(length)) / 2;
+    return Optional.ofNullable(task.getSourceFormat()).map(DocumentFormat::getExtension).orElse("?")
+        + "->"
+        + Optional.ofNullable(task.getTargetFormat()).map(DocumentFormat::getExtension).orElse("?")
+        + "#"
+        + sizeClass;
+  }
+}
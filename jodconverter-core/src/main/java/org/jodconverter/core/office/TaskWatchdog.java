@@ -0,0 +1,69 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The watchdog enforcing the execution timeout of the tasks that pool entries execute on the
+ * calling thread. A single daemon thread, shared by all the entries, fires the timeouts of all the
+ * running tasks, so that no thread is dedicated to each entry.
+ */
+final class TaskWatchdog {
+
+  // Lazily creates the watchdog thread the first time a task is watched.
+  private static final class Holder {
+
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+
+      final ScheduledThreadPoolExecutor timer =
+          new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("jodconverter-watchdog"));
+      // Most tasks complete before their timeout; do not keep their cancelled timeouts around.
+      timer.setRemoveOnCancelPolicy(true);
+      return timer;
+    }
+  }
+
+  /**
+   * Schedules the specified action to be executed once the specified timeout elapsed, unless the
+   * returned future is cancelled before. The action is executed by the watchdog thread; it must not
+   * block.
+   *
+   * @param action The action to execute on timeout.
+   * @param timeout The timeout, in milliseconds.
+   * @return The future to cancel once the watched task is done.
+   */
+  @NonNull
+  /* default */ static ScheduledFuture<?> watch(
+      @NonNull final Runnable action, final long timeout) {
+    return Holder.TIMER.schedule(action, timeout, TimeUnit.MILLISECONDS);
+  }
+
+  // Suppresses default constructor, ensuring non-instantiability.
+  private TaskWatchdog() {
+    throw new AssertionError("Utility class must not be instantiated");
+  }
+}
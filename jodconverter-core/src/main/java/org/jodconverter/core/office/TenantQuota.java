@@ -0,0 +1,115 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import org.apache.commons.lang3.Validate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Represents the share of an office manager pool a tenant is entitled to. Tasks are associated to a
+ * tenant through {@link org.jodconverter.core.task.OfficeTask#getTenant()}.
+ *
+ * <p>When several tenants are waiting for an office manager, the pool dispatches their tasks in
+ * proportion to their weight. A tenant cannot have more running tasks than its maximum number of
+ * running tasks, and a task is rejected when the maximum number of queued tasks of its tenant is
+ * reached.
+ */
+public final class TenantQuota {
+
+  /** The quota applied to tenants without a specific quota when none is configured. */
+  public static final TenantQuota DEFAULT = new TenantQuota(1, 0, 0);
+
+  private final int weight;
+  private final int maxRunningTasks;
+  private final int maxQueuedTasks;
+
+  /**
+   * Creates a new quota.
+   *
+   * @param weight The relative share of the pool given to the tenant. A tenant with a weight of 2
+   *     gets twice as many tasks dispatched as a tenant with a weight of 1. Must be greater than 0.
+   * @param maxRunningTasks The maximum number of tasks of the tenant that can be executed at the
+   *     same time, 0 meaning no limit.
+   * @param maxQueuedTasks The maximum number of tasks of the tenant that can wait for an office
+   *     manager, 0 meaning no limit.
+   */
+  public TenantQuota(final int weight, final int maxRunningTasks, final int maxQueuedTasks) {
+
+    Validate.inclusiveBetween(
+        1,
+        Integer.MAX_VALUE,
+        weight,
+        String.format("weight %s must be greater than 0", weight));
+    Validate.inclusiveBetween(
+        0,
+        Integer.MAX_VALUE,
+        maxRunningTasks,
+        String.format("maxRunningTasks %s must be greater than or equal to 0", maxRunningTasks));
+    Validate.inclusiveBetween(
+        0,
+        Integer.MAX_VALUE,
+        maxQueuedTasks,
+        String.format("maxQueuedTasks %s must be greater than or equal to 0", maxQueuedTasks));
+    this.weight = weight;
+    this.maxRunningTasks = maxRunningTasks;
+    this.maxQueuedTasks = maxQueuedTasks;
+  }
+
+  /**
+   * Gets the relative share of the pool given to the tenant.
+   *
+   * @return The weight.
+   */
+  public int getWeight() {
+    return weight;
+  }
+
+  /**
+   * Gets the maximum number of tasks of the tenant that can be executed at the same time.
+   *
+   * @return The maximum number of running tasks, 0 meaning no limit.
+   */
+  public int getMaxRunningTasks() {
+    return maxRunningTasks;
+  }
+
+  /**
+   * Gets the maximum number of tasks of the tenant that can wait for an office manager.
+   *
+   * @return The maximum number of queued tasks, 0 meaning no limit.
+   */
+  public int getMaxQueuedTasks() {
+    return maxQueuedTasks;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+        + "{"
+        + "weight="
+        + weight
+        + ", maxRunningTasks="
+        + maxRunningTasks
+        + ", maxQueuedTasks="
+        + maxQueuedTasks
+        + '}';
+  }
+}
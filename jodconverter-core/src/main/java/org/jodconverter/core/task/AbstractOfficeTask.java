@@ -19,8 +19,11 @@
 
 package org.jodconverter.core.task;
 
+import org.apache.commons.lang3.Validate;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import org.jodconverter.core.document.DocumentFormat;
 import org.jodconverter.core.job.SourceDocumentSpecs;
 
 /**
@@ -31,6 +34,9 @@ import org.jodconverter.core.job.SourceDocumentSpecs;
 public abstract class AbstractOfficeTask implements OfficeTask {
 
   protected final SourceDocumentSpecs source;
+  private TaskPriority priority = TaskPriority.NORMAL;
+  private String tenant;
+  private long deadline = -1L;
 
   /**
    * Creates a new task with the specified source document.
@@ -43,6 +49,64 @@ public abstract class AbstractOfficeTask implements OfficeTask {
     this.source = source;
   }
 
+  @NonNull
+  @Override
+  public TaskPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Sets the priority of this task.
+   *
+   * @param priority The new priority.
+   */
+  public void setPriority(@NonNull final TaskPriority priority) {
+
+    Validate.notNull(priority, "priority must not be null");
+    this.priority = priority;
+  }
+
+  @Nullable
+  @Override
+  public String getTenant() {
+    return tenant;
+  }
+
+  /**
+   * Sets the tenant this task belongs to.
+   *
+   * @param tenant The tenant, may be {@code null}.
+   */
+  public void setTenant(@Nullable final String tenant) {
+    this.tenant = tenant;
+  }
+
+  @Override
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Sets the time by which this task must be done.
+   *
+   * @param deadline The deadline, as a time in milliseconds such as returned by {@link
+   *     System#currentTimeMillis()}, or a negative value if the task has no deadline.
+   */
+  public void setDeadline(final long deadline) {
+    this.deadline = deadline < 0L ? -1L : deadline;
+  }
+
+  @Override
+  public long getSourceLength() {
+    return source.getLength();
+  }
+
+  @Nullable
+  @Override
+  public DocumentFormat getSourceFormat() {
+    return source.getFormat();
+  }
+
   @NonNull
   @Override
   public String toString() {
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.task;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An {@link OfficeTask} that can be executed by two office managers at the same time. When request
+ * hedging is enabled, an office manager pool executes attempts of such a task instead of the task
+ * itself, and starts a second attempt on an idle office manager if the first one takes much longer
+ * than usual. The first attempt that completes successfully wins, and the other one is cancelled.
+ * The pool also executes attempts to retry a task its office manager failed to execute, and to
+ * check the source document of a task against its quarantine before executing it.
+ */
+public interface HedgeableTask extends OfficeTask {
+
+  /**
+   * Creates a new attempt to execute this task. The attempts of a task may be executed at the same
+   * time. They share the resources that must only be prepared once (a staged source document, for
+   * instance), and each of them keeps its result private until it completes: only the first
+   * attempt to complete delivers its result, an attempt completing after it must discard its
+   * result and fail.
+   *
+   * @return The new attempt.
+   */
+  @NonNull
+  OfficeTask createAttempt();
+
+  /**
+   * Notifies this task that all its attempts are done, so that the resources they shared can be
+   * released.
+   */
+  void onAttemptsDone();
+
+  /**
+   * Gets the fingerprint of the content of the source document shared by the attempts of this
+   * task, staging the document if no attempt did yet. An office manager pool uses it to recognize
+   * the documents that keep crashing or hanging office processes.
+   *
+   * @return The fingerprint, or {@code null} if this task cannot fingerprint its source document.
+   *     The default implementation returns {@code null}.
+   */
+  @Nullable
+  default String getSourceFingerprint() {
+    return null;
+  }
+}
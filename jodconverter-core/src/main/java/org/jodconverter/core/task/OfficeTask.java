@@ -20,7 +20,9 @@
 package org.jodconverter.core.task;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import org.jodconverter.core.document.DocumentFormat;
 import org.jodconverter.core.office.OfficeContext;
 import org.jodconverter.core.office.OfficeException;
 
@@ -38,4 +40,73 @@ public interface OfficeTask {
    * @throws OfficeException If an error occurs.
    */
   void execute(@NonNull OfficeContext context) throws OfficeException;
+
+  /**
+   * Gets the priority of this task. When several tasks are waiting for an office manager to become
+   * available, tasks with a higher priority are executed first.
+   *
+   * @return The task priority. The default implementation returns {@link TaskPriority#NORMAL}.
+   */
+  @NonNull
+  default TaskPriority getPriority() {
+    return TaskPriority.NORMAL;
+  }
+
+  /**
+   * Gets the tenant this task belongs to. An office manager pool shares its capacity between
+   * tenants according to their {@link org.jodconverter.core.office.TenantQuota}.
+   *
+   * @return The tenant, or {@code null} if the task is not associated to a tenant. The default
+   *     implementation returns {@code null}.
+   */
+  @Nullable
+  default String getTenant() {
+    return null;
+  }
+
+  /**
+   * Gets the time by which this task must be done. An office manager pool drops the task if it is
+   * still waiting for an office manager once its deadline has passed, and limits the execution of
+   * the task to the time left.
+   *
+   * @return The deadline, as a time in milliseconds such as returned by {@link
+   *     System#currentTimeMillis()}, or -1 if the task has no deadline. The default implementation
+   *     returns -1.
+   */
+  default long getDeadline() {
+    return -1L;
+  }
+
+  /**
+   * Gets the length, in bytes, of the document processed by this task. An office manager pool uses
+   * it, with the source and target formats, to estimate the cost of the task.
+   *
+   * @return The length of the source document, or -1 if unknown. The default implementation
+   *     returns -1.
+   */
+  default long getSourceLength() {
+    return -1L;
+  }
+
+  /**
+   * Gets the format of the document processed by this task.
+   *
+   * @return The source format, or {@code null} if unknown. The default implementation returns
+   *     {@code null}.
+   */
+  @Nullable
+  default DocumentFormat getSourceFormat() {
+    return null;
+  }
+
+  /**
+   * Gets the format of the document produced by this task.
+   *
+   * @return The target format, or {@code null} if unknown or if the task does not produce a
+   *     document. The default implementation returns {@code null}.
+   */
+  @Nullable
+  default DocumentFormat getTargetFormat() {
+    return null;
+  }
 }
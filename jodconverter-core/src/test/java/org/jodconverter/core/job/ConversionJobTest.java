@@ -0,0 +1,92 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.ExecutionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.task.TaskPriority;
+
+/** Contains tests for the {@link ConversionJob} interface. */
+public class ConversionJobTest {
+
+  // A job implementing only the abstract functions of the interface.
+  private static class SimpleConversionJob implements ConversionJob {
+
+    private final OfficeException thrownException;
+    private boolean executed;
+
+    /* default */ SimpleConversionJob(final OfficeException thrownException) {
+      this.thrownException = thrownException;
+    }
+
+    @NonNull
+    @Override
+    public ConversionJob priority(@NonNull final TaskPriority priority) {
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public ConversionJob tenant(@Nullable final String tenant) {
+      return this;
+    }
+
+    @NonNull
+    @Override
+    public ConversionJob deadline(final long deadline) {
+      return this;
+    }
+
+    @Override
+    public void execute() throws OfficeException {
+
+      if (thrownException != null) {
+        throw thrownException;
+      }
+      executed = true;
+    }
+  }
+
+  @Test
+  public void executeAsync_WithDefaultImplementation_ShouldExecuteConversion() throws Exception {
+
+    final SimpleConversionJob job = new SimpleConversionJob(null);
+    job.executeAsync().get();
+    assertThat(job.executed).isTrue();
+  }
+
+  @Test
+  public void executeAsync_WithDefaultImplementationWhenConversionFails_ShouldFailFuture() {
+
+    final OfficeException failure = new OfficeException("Conversion failed");
+    final SimpleConversionJob job = new SimpleConversionJob(failure);
+    assertThatExceptionOfType(ExecutionException.class)
+        .isThrownBy(() -> job.executeAsync().get())
+        .withCause(failure);
+  }
+}
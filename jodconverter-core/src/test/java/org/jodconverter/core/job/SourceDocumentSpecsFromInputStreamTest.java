@@ -139,6 +139,25 @@ public class SourceDocumentSpecsFromInputStreamTest {
     }
   }
 
+  @Test
+  public void getFingerprint_WhenStreamStaged_ShouldMatchFingerprintOfSourceFile()
+      throws IOException {
+
+    final File tempFile = new File(testFolder, "getFingerprint_WhenStreamStaged.txt");
+    given(fileMaker.makeTemporaryFile(isA(String.class))).willReturn(tempFile);
+
+    try (InputStream inputStream = Files.newInputStream(Paths.get(SOURCE_FILE))) {
+      final SourceDocumentSpecsFromInputStream specs =
+          new SourceDocumentSpecsFromInputStream(inputStream, fileMaker, false);
+      specs.setDocumentFormat(DefaultDocumentFormatRegistry.TXT);
+
+      final File sourceFile = new File(SOURCE_FILE);
+      assertThat(specs.getFingerprint(specs.getFile()))
+          .hasSize(64)
+          .isEqualTo(new SourceDocumentSpecsFromFile(sourceFile).getFingerprint(sourceFile));
+    }
+  }
+
   @Test
   public void new_WithValidValues_SpecsCreatedWithExpectedValues() throws IOException {
 
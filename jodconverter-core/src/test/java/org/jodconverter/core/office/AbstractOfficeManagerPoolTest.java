@@ -0,0 +1,180 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.jodconverter.core.task.OfficeTask;
+
+/** Contains tests for the {@link AbstractOfficeManagerPool} class. */
+public class AbstractOfficeManagerPoolTest {
+
+  /** An entry that takes some time to start, and that may fail to start. */
+  private static class DelayedEntry implements OfficeManager {
+
+    private final long startDelay;
+    private final String failure;
+    private final AtomicInteger taskCount = new AtomicInteger();
+    private volatile boolean running;
+
+    /* default */ DelayedEntry(final long startDelay, final String failure) {
+      this.startDelay = startDelay;
+      this.failure = failure;
+    }
+
+    @Override
+    public void execute(final OfficeTask task) throws OfficeException {
+      taskCount.incrementAndGet();
+      task.execute(new SimpleOfficeContext());
+    }
+
+    @Override
+    public boolean isRunning() {
+      return running;
+    }
+
+    @Override
+    public void start() throws OfficeException {
+      try {
+        Thread.sleep(startDelay);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) {
+        throw new OfficeException(failure);
+      }
+      running = true;
+    }
+
+    @Override
+    public void stop() {
+      running = false;
+    }
+  }
+
+  /** A pool of the specified entries. */
+  private static class TestPool extends AbstractOfficeManagerPool {
+
+    /* default */ TestPool(
+        final Integer poolStartParallelism,
+        final Integer minStartedEntries,
+        final PoolEntrySelector poolEntrySelector,
+        final OfficeManager... entries) {
+      super(
+          new File(System.getProperty("java.io.tmpdir")),
+          new OfficeManagerPoolSettings()
+              .poolSize(entries.length)
+              .poolStartParallelism(poolStartParallelism)
+              .minStartedEntries(minStartedEntries)
+              .poolEntrySelector(poolEntrySelector));
+
+      setEntries(Arrays.asList(entries));
+    }
+  }
+
+  @Test
+  public void start_ShouldStartEntriesConcurrently() throws OfficeException {
+
+    final List<DelayedEntry> entries =
+        Arrays.asList(
+            new DelayedEntry(300L, null),
+            new DelayedEntry(300L, null),
+            new DelayedEntry(300L, null),
+            new DelayedEntry(300L, null));
+    final TestPool pool = new TestPool(4, null, null, entries.toArray(new OfficeManager[0]));
+
+    final long start = System.currentTimeMillis();
+    pool.start();
+    try {
+      assertThat(System.currentTimeMillis() - start).isLessThan(1_000L);
+      assertThat(entries).allMatch(DelayedEntry::isRunning);
+    } finally {
+      pool.stop();
+    }
+    assertThat(entries).noneMatch(DelayedEntry::isRunning);
+  }
+
+  @Test
+  public void start_WithMinStartedEntries_ShouldBeUsableBeforeAllEntriesAreStarted()
+      throws Exception {
+
+    final DelayedEntry fast = new DelayedEntry(0L, null);
+    final DelayedEntry slow = new DelayedEntry(1_000L, null);
+    final TestPool pool = new TestPool(2, 1, null, fast, slow);
+
+    pool.start();
+    try {
+      assertThat(pool.isRunning()).isTrue();
+      assertThat(slow.isRunning()).isFalse();
+      pool.executeAsync(new SimpleOfficeTask()).get();
+    } finally {
+      pool.stop();
+    }
+  }
+
+  @Test
+  public void start_WhenEntriesFail_ShouldThrowFirstFailureWithOthersSuppressed() {
+
+    final DelayedEntry started = new DelayedEntry(0L, null);
+    final TestPool pool =
+        new TestPool(
+            3,
+            null,
+            null,
+            started,
+            new DelayedEntry(0L, "failure 1"),
+            new DelayedEntry(100L, "failure 2"));
+
+    assertThatExceptionOfType(OfficeException.class)
+        .isThrownBy(pool::start)
+        .satisfies(ex -> assertThat(ex.getSuppressed()).hasSize(1));
+    assertThat(pool.isRunning()).isFalse();
+    assertThat(started.isRunning()).isFalse();
+  }
+
+  @Test
+  public void execute_WithLifoSelector_ShouldReuseMostRecentlyReleasedEntry() throws Exception {
+
+    final DelayedEntry entry1 = new DelayedEntry(0L, null);
+    final DelayedEntry entry2 = new DelayedEntry(0L, null);
+    final TestPool pool = new TestPool(2, null, StandardPoolEntrySelector.LIFO, entry1, entry2);
+
+    pool.start();
+    try {
+      for (int i = 0; i < 5; i++) {
+        pool.execute(new SimpleOfficeTask());
+      }
+    } finally {
+      pool.stop();
+    }
+
+    // A single entry should have executed all the tasks.
+    assertThat(entry1.taskCount.get() * entry2.taskCount.get()).isZero();
+    assertThat(entry1.taskCount.get() + entry2.taskCount.get()).isEqualTo(5);
+  }
+}
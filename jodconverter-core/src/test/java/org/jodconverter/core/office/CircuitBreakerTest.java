@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link CircuitBreaker} class. */
+public class CircuitBreakerTest {
+
+  private ScheduledThreadPoolExecutor scheduler;
+  private List<AbstractOfficeManagerPoolEntry> recovered;
+  private CircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  public void setUp() {
+
+    scheduler = new ScheduledThreadPoolExecutor(1);
+    recovered = new ArrayList<>();
+    circuitBreaker = new CircuitBreaker(2, Runnable::run, scheduler, () -> true, recovered::add);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void recordOutcome_WhenEntryFailsTooManyTasksInARow_ShouldOpenCircuitBreaker() {
+
+    final SimpleOfficeManagerPoolEntry entry = new SimpleOfficeManagerPoolEntry(null);
+    final OfficeException crash =
+        new OfficeManagerFailureException("Connection lost", new IllegalStateException());
+
+    circuitBreaker.recordOutcome(entry, entry.getStats(), crash);
+    assertThat(entry.getStats().getCircuitBreakerState()).isEqualTo(CircuitBreakerState.CLOSED);
+    circuitBreaker.recordOutcome(entry, entry.getStats(), crash);
+    assertThat(entry.getStats().getCircuitBreakerState()).isEqualTo(CircuitBreakerState.OPEN);
+    assertThat(entry.getStats().getConsecutiveFailures()).isEqualTo(2);
+  }
+
+  @Test
+  public void recordOutcome_WhenTaskFailsOnItsOwn_ShouldNotCountFailure() {
+
+    final SimpleOfficeManagerPoolEntry entry = new SimpleOfficeManagerPoolEntry(null);
+
+    for (int i = 0; i < 3; i++) {
+      circuitBreaker.recordOutcome(entry, entry.getStats(), new OfficeException("this is a test"));
+    }
+    assertThat(entry.getStats().getCircuitBreakerState()).isEqualTo(CircuitBreakerState.CLOSED);
+    assertThat(entry.getStats().getFailureCount()).isEqualTo(0L);
+  }
+
+  @Test
+  public void recover_WhenProbeSucceeds_ShouldCloseCircuitBreakerAndReturnEntry() {
+
+    final SimpleOfficeManagerPoolEntry entry = new SimpleOfficeManagerPoolEntry(null);
+    entry.getStats().setCircuitBreakerState(CircuitBreakerState.OPEN);
+
+    circuitBreaker.recover(entry);
+    assertThat(entry.getStats().getCircuitBreakerState()).isEqualTo(CircuitBreakerState.CLOSED);
+    assertThat(recovered).containsExactly(entry);
+  }
+
+  @Test
+  public void recover_WhenProbeFails_ShouldScheduleAnotherTry() {
+
+    final SimpleOfficeManagerPoolEntry entry =
+        new SimpleOfficeManagerPoolEntry(null) {
+          @Override
+          protected void probe() throws OfficeException {
+            throw new OfficeException("Still failing");
+          }
+        };
+    entry.getStats().setCircuitBreakerState(CircuitBreakerState.OPEN);
+
+    circuitBreaker.recover(entry);
+    assertThat(entry.getStats().getCircuitBreakerState()).isEqualTo(CircuitBreakerState.OPEN);
+    assertThat(recovered).isEmpty();
+    assertThat(scheduler.getQueue()).hasSize(1);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.jodconverter.core.document.DocumentFamily;
+
+/** Contains tests for the {@link MemoryBudget} class. */
+public class MemoryBudgetTest {
+
+  @Test
+  public void estimate_WithoutObservation_ShouldWeightSpreadsheetsMore() {
+
+    final MemoryBudget budget = new MemoryBudget(1_000_000_000L);
+
+    assertThat(budget.estimate(DocumentFamily.SPREADSHEET, 10_000_000L))
+        .isGreaterThan(budget.estimate(DocumentFamily.TEXT, 10_000_000L));
+    assertThat(budget.estimate(DocumentFamily.TEXT, -1L))
+        .isEqualTo(budget.estimate(DocumentFamily.TEXT, 1_000L));
+  }
+
+  @Test
+  public void estimate_AfterObservations_ShouldConvergeToObservedUsage() {
+
+    final MemoryBudget budget = new MemoryBudget(1_000_000_000L);
+    for (int i = 0; i < 50; i++) {
+      budget.release(0L, DocumentFamily.SPREADSHEET, 10_000_000L, 100_000_000L);
+    }
+
+    assertThat(budget.estimate(DocumentFamily.SPREADSHEET, 20_000_000L))
+        .isBetween(199_000_000L, 201_000_000L);
+  }
+
+  @Test
+  public void reserve_WhenBudgetIsExceeded_ShouldAdmitTaskOnlyWhenNothingIsReserved() {
+
+    final MemoryBudget budget = new MemoryBudget(100L);
+
+    assertThat(budget.reserve(60L)).isTrue();
+    assertThat(budget.reserve(50L)).isFalse();
+    assertThat(budget.reserve(40L)).isTrue();
+
+    budget.release(60L, null, -1L, -1L);
+    budget.release(40L, null, -1L, -1L);
+    assertThat(budget.getReserved()).isEqualTo(0L);
+    assertThat(budget.reserve(500L)).isTrue();
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.jodconverter.core.task.OfficeTask;
+import org.jodconverter.core.task.TaskPriority;
+
+/** Contains tests for the {@link PendingTaskQueue} class. */
+public class PendingTaskQueueTest {
+
+  private static PendingTaskQueue queue(final long agingInterval) {
+    return new PendingTaskQueue(
+        agingInterval, Collections.emptyMap(), TenantQuota.DEFAULT, false, 0L);
+  }
+
+  private static PendingTask pendingTask(final TaskPriority priority) {
+    return pendingTask(null, priority);
+  }
+
+  private static PendingTask pendingTask(final String tenant, final TaskPriority priority) {
+    return pendingTask(tenant, priority, -1L);
+  }
+
+  private static PendingTask pendingTask(
+      final String tenant, final TaskPriority priority, final long sourceLength) {
+
+    return new PendingTask(
+        new OfficeTask() {
+          @Override
+          @SuppressWarnings("NullableProblems")
+          public void execute(final OfficeContext context) {
+            // Nothing to do
+          }
+
+          @Override
+          public TaskPriority getPriority() {
+            return priority;
+          }
+
+          @Override
+          public String getTenant() {
+            return tenant;
+          }
+
+          @Override
+          public long getSourceLength() {
+            return sourceLength;
+          }
+        });
+  }
+
+  @Test
+  public void poll_WithoutAging_ShouldReturnHighestPriorityFirstInFifoOrder() {
+
+    final PendingTaskQueue queue = queue(0L);
+    final PendingTask low = pendingTask(TaskPriority.LOW);
+    final PendingTask normal1 = pendingTask(TaskPriority.NORMAL);
+    final PendingTask high = pendingTask(TaskPriority.HIGH);
+    final PendingTask normal2 = pendingTask(TaskPriority.NORMAL);
+    queue.add(low);
+    queue.add(normal1);
+    queue.add(high);
+    queue.add(normal2);
+
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(queue.poll()).isSameAs(high);
+    assertThat(queue.poll()).isSameAs(normal1);
+    assertThat(queue.poll()).isSameAs(normal2);
+    assertThat(queue.poll()).isSameAs(low);
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void poll_WithAging_ShouldPromoteTasksWaitingLongerThanAgingInterval()
+      throws InterruptedException {
+
+    final PendingTaskQueue queue = queue(100L);
+    final PendingTask low = pendingTask(TaskPriority.LOW);
+    queue.add(low);
+
+    // Wait long enough for the low priority task to be promoted twice.
+    Thread.sleep(250L);
+    final PendingTask high = pendingTask(TaskPriority.HIGH);
+    queue.add(high);
+
+    assertThat(queue.poll()).isSameAs(low);
+    assertThat(queue.poll()).isSameAs(high);
+  }
+
+  @Test
+  public void poll_WithShortestJobFirst_ShouldReturnCheapestTaskFirst() {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(0L, Collections.emptyMap(), TenantQuota.DEFAULT, true, 0L);
+    final PendingTask large = pendingTask(null, TaskPriority.NORMAL, 100_000_000L);
+    final PendingTask small = pendingTask(null, TaskPriority.NORMAL, 40_000L);
+    final PendingTask medium = pendingTask(null, TaskPriority.NORMAL, 2_000_000L);
+    final PendingTask high = pendingTask(null, TaskPriority.HIGH, 100_000_000L);
+    queue.add(large);
+    queue.add(small);
+    queue.add(medium);
+    queue.add(high);
+
+    // The priority still comes first.
+    assertThat(queue.poll()).isSameAs(high);
+    assertThat(queue.poll()).isSameAs(small);
+    assertThat(queue.poll()).isSameAs(medium);
+    assertThat(queue.poll()).isSameAs(large);
+  }
+
+  @Test
+  public void poll_WithShortestJobFirst_ShouldReturnTaskWaitingLongerThanAgingIntervalFirst()
+      throws InterruptedException {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(100L, Collections.emptyMap(), TenantQuota.DEFAULT, true, 0L);
+    final PendingTask large = pendingTask(null, TaskPriority.NORMAL, 100_000_000L);
+    queue.add(large);
+
+    // Wait long enough for the large task to starve.
+    Thread.sleep(150L);
+    final PendingTask small = pendingTask(null, TaskPriority.NORMAL, 40_000L);
+    queue.add(small);
+
+    assertThat(queue.poll()).isSameAs(large);
+    assertThat(queue.poll()).isSameAs(small);
+  }
+
+  @Test
+  public void poll_WithMemoryBudget_ShouldHoldTaskUntilEnoughMemoryIsReleased() {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(0L, Collections.emptyMap(), TenantQuota.DEFAULT, false, 100_000_000L);
+    final PendingTask first = pendingTask(null, TaskPriority.NORMAL, 5_000_000L);
+    final PendingTask second = pendingTask(null, TaskPriority.NORMAL, 6_000_000L);
+    final PendingTask small = pendingTask(null, TaskPriority.NORMAL, 1_000L);
+    queue.add(first);
+    queue.add(second);
+    queue.add(small);
+
+    // The second task does not fit in the memory left by the first one, and holds the small one.
+    assertThat(queue.poll()).isSameAs(first);
+    assertThat(queue.poll()).isNull();
+
+    queue.done(first, -1L);
+    assertThat(queue.poll()).isSameAs(second);
+    assertThat(queue.poll()).isSameAs(small);
+  }
+
+  @Test
+  public void reserve_WithMemoryBudget_ShouldShareMemoryWithDispatchedTasks() {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(0L, Collections.emptyMap(), TenantQuota.DEFAULT, false, 100_000_000L);
+    final PendingTask attempt = pendingTask(null, TaskPriority.NORMAL, 5_000_000L);
+    final PendingTask other = pendingTask(null, TaskPriority.NORMAL, 6_000_000L);
+
+    // A task executed without being queued holds the queued tasks that do not fit anymore.
+    assertThat(queue.reserve(attempt)).isTrue();
+    queue.add(other);
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.reserve(pendingTask(null, TaskPriority.NORMAL, 6_000_000L))).isFalse();
+
+    queue.done(attempt, -1L);
+    assertThat(queue.poll()).isSameAs(other);
+  }
+
+  @Test
+  public void remove_QueuedTask_ShouldRemoveTask() {
+
+    final PendingTaskQueue queue = queue(0L);
+    final PendingTask task = pendingTask(TaskPriority.LOW);
+    queue.add(task);
+
+    assertThat(queue.remove(task)).isTrue();
+    assertThat(queue.remove(task)).isFalse();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void clear_ShouldReturnAllQueuedTasks() {
+
+    final PendingTaskQueue queue = queue(0L);
+    final PendingTask low = pendingTask(TaskPriority.LOW);
+    final PendingTask high = pendingTask(TaskPriority.HIGH);
+    queue.add(low);
+    queue.add(high);
+
+    assertThat(queue.clear()).containsExactlyInAnyOrder(low, high);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void poll_WithSeveralTenants_ShouldShareDispatchesAccordingToWeights() {
+
+    final Map<String, TenantQuota> quotas = new HashMap<>();
+    quotas.put("A", new TenantQuota(2, 0, 0));
+    quotas.put("B", new TenantQuota(1, 0, 0));
+    final PendingTaskQueue queue = new PendingTaskQueue(0L, quotas, TenantQuota.DEFAULT, false, 0L);
+    for (int i = 0; i < 6; i++) {
+      queue.add(pendingTask("A", TaskPriority.NORMAL));
+      queue.add(pendingTask("B", TaskPriority.NORMAL));
+    }
+
+    // Among the first 6 dispatched tasks, tenant A should get twice the share of tenant B.
+    int countA = 0;
+    for (int i = 0; i < 6; i++) {
+      final PendingTask task = queue.poll();
+      if ("A".equals(task.getTask().getTenant())) {
+        countA++;
+      }
+      queue.done(task, -1L);
+    }
+    assertThat(countA).isEqualTo(4);
+  }
+
+  @Test
+  public void poll_WhenTenantRunsMaxRunningTasks_ShouldSkipTenantUntilTaskIsDone() {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(
+            0L,
+            Collections.singletonMap("A", new TenantQuota(1, 1, 0)),
+            TenantQuota.DEFAULT,
+            false,
+            0L);
+    final PendingTask a1 = pendingTask("A", TaskPriority.NORMAL);
+    final PendingTask a2 = pendingTask("A", TaskPriority.NORMAL);
+    queue.add(a1);
+    queue.add(a2);
+
+    assertThat(queue.poll()).isSameAs(a1);
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.isEmpty()).isFalse();
+
+    queue.done(a1, -1L);
+    assertThat(queue.poll()).isSameAs(a2);
+  }
+
+  @Test
+  public void add_WhenTenantQueuesMaxQueuedTasks_ShouldRejectTask() {
+
+    final PendingTaskQueue queue =
+        new PendingTaskQueue(
+            0L,
+            Collections.singletonMap("A", new TenantQuota(1, 0, 1)),
+            TenantQuota.DEFAULT,
+            false,
+            0L);
+    assertThat(queue.add(pendingTask("A", TaskPriority.NORMAL))).isTrue();
+    assertThat(queue.add(pendingTask("B", TaskPriority.NORMAL))).isTrue();
+
+    assertThat(queue.add(pendingTask("A", TaskPriority.NORMAL))).isFalse();
+    assertThat(queue.size()).isEqualTo(2);
+    assertThat(queue.size("A")).isEqualTo(1);
+    assertThat(queue.getQuota("A").getMaxQueuedTasks()).isEqualTo(1);
+    assertThat(queue.getQuota("B")).isSameAs(TenantQuota.DEFAULT);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link PoolResizer} class. */
+public class PoolResizerTest {
+
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+  @Test
+  public void shouldGrow_WhenOldestTaskWaitedLongEnough_ShouldAddOneEntryAtATime() {
+
+    final PoolResizer resizer = new PoolResizer(3, 50L, 200L);
+    resizer.setMinPoolSize(1);
+    final long now = System.nanoTime();
+
+    assertThat(resizer.isEnabled()).isTrue();
+    assertThat(resizer.shouldGrow(1, now - 10L * MILLIS, now)).isFalse();
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isTrue();
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isFalse();
+    resizer.grown();
+    assertThat(resizer.shouldGrow(2, now - 100L * MILLIS, now)).isTrue();
+    resizer.grown();
+    assertThat(resizer.shouldGrow(3, now - 100L * MILLIS, now)).isFalse();
+  }
+
+  @Test
+  public void shouldGrow_WhenGrowthFailed_ShouldWaitForThresholdBeforeGrowingAgain() {
+
+    final PoolResizer resizer = new PoolResizer(3, 50L, 200L);
+    resizer.setMinPoolSize(1);
+    final long now = System.nanoTime();
+
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isTrue();
+    resizer.growFailed();
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isFalse();
+    final long later = System.nanoTime() + 100L * MILLIS;
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, later)).isTrue();
+  }
+
+  @Test
+  public void shouldGrow_WhenEntryIsIdle_ShouldNotGrow() {
+
+    final PoolResizer resizer = new PoolResizer(3, 50L, 200L);
+    resizer.setMinPoolSize(1);
+    final OfficeManager entry = new SimpleOfficeManagerPoolEntry(null);
+    resizer.entryIdle(entry);
+    final long now = System.nanoTime();
+
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isFalse();
+    resizer.entryBusy(entry);
+    assertThat(resizer.shouldGrow(1, now - 100L * MILLIS, now)).isTrue();
+  }
+
+  @Test
+  public void pollIdleEntry_WhenEntryIdleLongerThanTimeout_ShouldShrinkDownToMinPoolSize() {
+
+    final PoolResizer resizer = new PoolResizer(3, 50L, 200L);
+    resizer.setMinPoolSize(1);
+    final OfficeManager entry = new SimpleOfficeManagerPoolEntry(null);
+    resizer.entryIdle(entry);
+    final long now = System.nanoTime();
+
+    assertThat(resizer.pollIdleEntry(2, now + 100L * MILLIS)).isNull();
+    assertThat(resizer.pollIdleEntry(1, now + 300L * MILLIS)).isNull();
+    assertThat(resizer.pollIdleEntry(2, now + 300L * MILLIS)).isSameAs(entry);
+    assertThat(resizer.pollIdleEntry(2, now + 300L * MILLIS)).isNull();
+  }
+}
@@ -36,6 +36,9 @@ public final class SimpleOfficeManager extends AbstractOfficeManagerPool {
   // The maximum size of the pool.
   private static final int MAX_POOL_SIZE = 1000;
 
+  private final Long taskExecutionTimeout;
+  private final Boolean directExecution;
+
   /**
    * Creates a new builder instance.
    *
@@ -68,17 +71,25 @@ public final class SimpleOfficeManager extends AbstractOfficeManagerPool {
 
   private SimpleOfficeManager(
       final File workingDir,
-      final int poolSize,
       final Long taskExecutionTimeout,
-      final Long taskQueueTimeout) {
-    super(workingDir, poolSize, taskQueueTimeout);
+      final Boolean directExecution,
+      final OfficeManagerPoolSettings poolSettings) {
+    super(workingDir, poolSettings);
+
+    this.taskExecutionTimeout = taskExecutionTimeout;
+    this.directExecution = directExecution;
 
     setEntries(
-        IntStream.range(0, poolSize)
-            .mapToObj(i -> new SimpleOfficeManagerPoolEntry(taskExecutionTimeout))
+        IntStream.range(0, poolSettings.getPoolSize())
+            .mapToObj(i -> new SimpleOfficeManagerPoolEntry(taskExecutionTimeout, directExecution))
             .collect(Collectors.toList()));
   }
 
+  @Override
+  protected OfficeManager createEntry() {
+    return new SimpleOfficeManagerPoolEntry(taskExecutionTimeout, directExecution);
+  }
+
   /**
    * A builder for constructing a {@link SimpleOfficeManager}.
    *
@@ -87,6 +98,9 @@ public final class SimpleOfficeManager extends AbstractOfficeManagerPool {
   public static final class Builder extends AbstractOfficeManagerPoolBuilder<Builder> {
 
     private Integer poolSize;
+    private Integer maxPoolSize;
+    private Long poolScaleUpThreshold;
+    private Long poolIdleTimeout;
 
     // Private constructor so only SimpleOfficeManager can initialize an instance of this builder.
     private Builder() {
@@ -103,9 +117,13 @@ public final class SimpleOfficeManager extends AbstractOfficeManagerPool {
       final SimpleOfficeManager manager =
           new SimpleOfficeManager(
               workingDir,
-              poolSize == null ? DEFAULT_POOL_SIZE : poolSize,
               taskExecutionTimeout,
-              taskQueueTimeout);
+              directExecution,
+              buildPoolSettings()
+                  .poolSize(poolSize == null ? DEFAULT_POOL_SIZE : poolSize)
+                  .maxPoolSize(maxPoolSize)
+                  .poolScaleUpThreshold(poolScaleUpThreshold)
+                  .poolIdleTimeout(poolIdleTimeout));
       if (install) {
         InstalledOfficeManagerHolder.setInstance(manager);
       }
@@ -130,5 +148,41 @@ public final class SimpleOfficeManager extends AbstractOfficeManagerPool {
       this.poolSize = poolSize;
       return this;
     }
+
+    /**
+     * Specifies the maximum size the pool can grow to when tasks are waiting for an entry.
+     *
+     * @param maxPoolSize The maximum pool size.
+     * @return This builder instance.
+     */
+    public Builder maxPoolSize(final Integer maxPoolSize) {
+
+      this.maxPoolSize = maxPoolSize;
+      return this;
+    }
+
+    /**
+     * Specifies the time the oldest queued task must wait before the pool grows.
+     *
+     * @param poolScaleUpThreshold The scale up threshold, in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder poolScaleUpThreshold(final Long poolScaleUpThreshold) {
+
+      this.poolScaleUpThreshold = poolScaleUpThreshold;
+      return this;
+    }
+
+    /**
+     * Specifies the time an entry must stay idle before the pool shrinks.
+     *
+     * @param poolIdleTimeout The idle timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    public Builder poolIdleTimeout(final Long poolIdleTimeout) {
+
+      this.poolIdleTimeout = poolIdleTimeout;
+      return this;
+    }
   }
 }
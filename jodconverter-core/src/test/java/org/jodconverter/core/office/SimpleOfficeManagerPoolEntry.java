@@ -42,6 +42,20 @@ class SimpleOfficeManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
     super(taskExecutionTimeout);
   }
 
+  /**
+   * Creates a new pool entry with the specified configuration.
+   *
+   * @param taskExecutionTimeout The maximum time allowed to process a task. If the processing time
+   *     of a task is longer than this timeout, this task will be aborted and the next task is
+   *     processed.
+   * @param directExecution Indicates whether tasks are executed by the calling thread rather than
+   *     by a thread dedicated to this entry.
+   */
+  public SimpleOfficeManagerPoolEntry(
+      final Long taskExecutionTimeout, final Boolean directExecution) {
+    super(taskExecutionTimeout, directExecution);
+  }
+
   @Override
   protected void doStart() {
 
@@ -23,13 +23,34 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
+import org.jodconverter.core.task.OfficeTask;
+
 /** Contains tests for the {@link SimpleOfficeManagerPoolEntry} class. */
 public class SimpleOfficeManagerPoolEntryTest {
 
+  // Waits for the specified latch like a task waiting for an office process, ignoring interrupts.
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+
+    while (true) {
+      try {
+        latch.await();
+        return;
+      } catch (InterruptedException ignored) {
+        // Keep waiting
+      }
+    }
+  }
+
   @Test
   public void execute_UnproblematicTask_TaskShouldBeExecutedSuccessfully() throws OfficeException {
 
@@ -70,6 +91,92 @@ public class SimpleOfficeManagerPoolEntryTest {
     }
   }
 
+  @Test
+  public void execute_WithDirectExecution_ShouldExecuteTaskOnCallingThread()
+      throws OfficeException {
+
+    final SimpleOfficeManagerPoolEntry officeManager =
+        new SimpleOfficeManagerPoolEntry(null, true);
+    try {
+      officeManager.start();
+
+      final AtomicReference<Thread> executingThread = new AtomicReference<>();
+      officeManager.execute(context -> executingThread.set(Thread.currentThread()));
+      assertThat(executingThread.get()).isSameAs(Thread.currentThread());
+
+    } finally {
+      officeManager.stop();
+      assertThat(officeManager.isRunning()).isFalse();
+    }
+  }
+
+  @Test
+  public void execute_WithDirectExecution_WhenTimeoutExceptionOccurred_ShouldThrowOfficeException()
+      throws OfficeException {
+
+    final SimpleOfficeManagerPoolEntry officeManager =
+        new SimpleOfficeManagerPoolEntry(500L, true);
+    try {
+      officeManager.start();
+
+      // The watchdog interrupts the task, which does not run until its end.
+      final long start = System.currentTimeMillis();
+      assertThatExceptionOfType(OfficeException.class)
+          .isThrownBy(() -> officeManager.execute(new SimpleOfficeTask(5_000L)))
+          .withCauseExactlyInstanceOf(TimeoutException.class);
+      assertThat(System.currentTimeMillis() - start).isLessThan(2_000L);
+      assertThat(Thread.currentThread().isInterrupted()).isFalse();
+
+    } finally {
+      officeManager.stop();
+      assertThat(officeManager.isRunning()).isFalse();
+    }
+  }
+
+  @Test
+  public void cancelTask_WhenTaskIgnoresInterrupts_ShouldRunIdleActionOnceTaskIsOver()
+      throws Exception {
+
+    final SimpleOfficeManagerPoolEntry officeManager = new SimpleOfficeManagerPoolEntry(null);
+    try {
+      officeManager.start();
+
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final OfficeTask task =
+          context -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+          };
+      final CompletableFuture<Void> execution =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  officeManager.execute(task);
+                } catch (OfficeException ex) {
+                  throw new CompletionException(ex);
+                }
+              });
+      started.await();
+      assertThat(officeManager.cancelTask(task)).isTrue();
+      assertThatExceptionOfType(ExecutionException.class)
+          .isThrownBy(execution::get)
+          .withCauseExactlyInstanceOf(OfficeException.class);
+
+      // The execution is over, but the thread of the entry is still executing the task.
+      final CountDownLatch idle = new CountDownLatch(1);
+      assertThat(officeManager.runWhenIdle(idle::countDown)).isTrue();
+      assertThat(idle.getCount()).isEqualTo(1L);
+
+      release.countDown();
+      assertThat(idle.await(5L, TimeUnit.SECONDS)).isTrue();
+      assertThat(officeManager.runWhenIdle(() -> {})).isFalse();
+
+    } finally {
+      officeManager.stop();
+    }
+  }
+
   @Test
   public void execute_WhenUnknownExecutionExceptionOccurred_ShouldThrowOfficeExceptionWithCause()
       throws OfficeException {
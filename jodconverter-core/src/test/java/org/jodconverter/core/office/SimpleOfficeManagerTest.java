@@ -21,13 +21,64 @@ package org.jodconverter.core.office;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.Test;
 
+import org.jodconverter.core.task.HedgeableTask;
+import org.jodconverter.core.task.OfficeTask;
+import org.jodconverter.core.task.TaskPriority;
+
 /** Contains tests for the {@link SimpleOfficeManager} class. */
 public class SimpleOfficeManagerTest {
 
+  private static int waitForPoolSize(final SimpleOfficeManager manager, final int poolSize)
+      throws InterruptedException {
+
+    final long deadline = System.currentTimeMillis() + 5_000L;
+    while (manager.getPoolSize() != poolSize && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20L);
+    }
+    return manager.getPoolSize();
+  }
+
+  // Waits for the specified latch like a task waiting for an office process, ignoring interrupts.
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+
+    while (true) {
+      try {
+        latch.await();
+        return;
+      } catch (InterruptedException ignored) {
+        // Keep waiting
+      }
+    }
+  }
+
+  // Blocks like a task waiting for an office process until interrupted, then counts down the
+  // specified latch.
+  private static void blockUntilInterrupted(final CountDownLatch interrupted) {
+
+    try {
+      new CountDownLatch(1).await();
+    } catch (InterruptedException ex) {
+      interrupted.countDown();
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private static class SleepyOfficeTaskRunner implements Runnable {
 
     private final OfficeManager manager;
@@ -49,6 +100,67 @@ public class SimpleOfficeManagerTest {
     }
   }
 
+  private static class SimpleHedgeableTask implements HedgeableTask {
+
+    private final long firstAttemptDelay;
+    private final AtomicInteger attemptCount = new AtomicInteger();
+    private final AtomicInteger attemptsDoneCount = new AtomicInteger();
+    private final CountDownLatch attemptsDone = new CountDownLatch(1);
+
+    /* default */ SimpleHedgeableTask(final long firstAttemptDelay) {
+      this.firstAttemptDelay = firstAttemptDelay;
+    }
+
+    @Override
+    @SuppressWarnings("NullableProblems")
+    public void execute(final OfficeContext context) {
+      throw new UnsupportedOperationException("Only attempts are executed");
+    }
+
+    @Override
+    public OfficeTask createAttempt() {
+      return new SimpleOfficeTask(attemptCount.getAndIncrement() == 0 ? firstAttemptDelay : 0L);
+    }
+
+    @Override
+    public void onAttemptsDone() {
+      attemptsDoneCount.incrementAndGet();
+      attemptsDone.countDown();
+    }
+  }
+
+  private static class FingerprintedTask implements HedgeableTask {
+
+    private final String fingerprint;
+    private final Exception thrownException;
+
+    /* default */ FingerprintedTask(final String fingerprint, final Exception thrownException) {
+      this.fingerprint = fingerprint;
+      this.thrownException = thrownException;
+    }
+
+    @Override
+    @SuppressWarnings("NullableProblems")
+    public void execute(final OfficeContext context) {
+      throw new UnsupportedOperationException("Only attempts are executed");
+    }
+
+    @Override
+    public OfficeTask createAttempt() {
+      return new SimpleOfficeTask(thrownException);
+    }
+
+    @Override
+    public void onAttemptsDone() {
+      // Nothing to release
+    }
+
+    @Override
+    public String getSourceFingerprint() {
+      return fingerprint;
+    }
+  }
+
   @Test
   public void install_ShouldSetInstalledOfficeManagerHolder() {
 
@@ -223,4 +335,722 @@ public class SimpleOfficeManagerTest {
       manager.stop();
     }
   }
+
+  @Test
+  public void executeAsync_WithoutBeingStared_ShouldThrowIllegalStateException() {
+
+    assertThatIllegalStateException()
+        .isThrownBy(() -> SimpleOfficeManager.make().executeAsync(new SimpleOfficeTask()));
+  }
+
+  @Test
+  public void executeAsync_UnproblematicTask_FutureShouldCompleteWhenTaskIsExecuted()
+      throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    try {
+      manager.start();
+
+      final SimpleOfficeTask task = new SimpleOfficeTask(500L);
+      final CompletableFuture<Void> future = manager.executeAsync(task);
+      assertThat(future).isNotDone();
+
+      future.get();
+      assertThat(task.isCompleted()).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WhenTaskFails_FutureShouldCompleteExceptionally() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    try {
+      manager.start();
+
+      final CompletableFuture<Void> future =
+          manager.executeAsync(new SimpleOfficeTask(new OfficeException("this is a test")));
+
+      assertThatExceptionOfType(ExecutionException.class)
+          .isThrownBy(future::get)
+          .withCauseExactlyInstanceOf(OfficeException.class)
+          .satisfies(e -> assertThat(e.getCause()).hasMessage("this is a test"));
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_TaskQueueTimeout_FutureShouldCompleteExceptionally() throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().taskQueueTimeout(1_000L).build();
+    try {
+      manager.start();
+
+      // The first task holds the only manager longer than the queue timeout.
+      final CompletableFuture<Void> future1 = manager.executeAsync(new SimpleOfficeTask(2_000L));
+      final CompletableFuture<Void> future2 = manager.executeAsync(new SimpleOfficeTask(1_500L));
+
+      future1.get();
+      assertThat(future2).isCompletedExceptionally();
+      assertThatExceptionOfType(ExecutionException.class)
+          .isThrownBy(future2::get)
+          .withCauseExactlyInstanceOf(OfficeException.class)
+          .satisfies(
+              e ->
+                  assertThat(e.getCause())
+                      .hasMessageContaining("No office manager available after 1000 millisec"));
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WhenQueueIsFull_FutureShouldCompleteExceptionallyWithoutWaiting()
+      throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.builder().maxQueuedTasks(1).build();
+    try {
+      manager.start();
+
+      // The first task holds the only manager while the second one fills the queue.
+      final CompletableFuture<Void> future1 = manager.executeAsync(new SimpleOfficeTask(500L));
+      final CompletableFuture<Void> future2 = manager.executeAsync(new SimpleOfficeTask());
+      final CompletableFuture<Void> future3 = manager.executeAsync(new SimpleOfficeTask());
+
+      assertThat(manager.getQueueLength()).isEqualTo(1);
+      assertThat(future3).isCompletedExceptionally();
+      assertThatExceptionOfType(ExecutionException.class)
+          .isThrownBy(future3::get)
+          .withCauseExactlyInstanceOf(OfficeQueueFullException.class)
+          .satisfies(
+              e -> {
+                final OfficeQueueFullException cause = (OfficeQueueFullException) e.getCause();
+                assertThat(cause.getQueueLength()).isEqualTo(1);
+                assertThat(cause.getEstimatedWaitTime()).isEqualTo(-1L);
+              });
+
+      CompletableFuture.allOf(future1, future2).get();
+      assertThat(manager.getQueueLength()).isEqualTo(0);
+      assertThat(manager.getEstimatedWaitTime()).isEqualTo(0L);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WhenDeadlinePassesInQueue_FutureShouldCompleteExceptionally()
+      throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    try {
+      manager.start();
+
+      // The first task holds the only manager beyond the deadline of the second one.
+      final CountDownLatch release = new CountDownLatch(1);
+      final CompletableFuture<Void> future1 =
+          manager.executeAsync(context -> awaitUninterruptibly(release));
+      final long deadline = System.currentTimeMillis() + 200L;
+      final CompletableFuture<Void> future2 =
+          manager.executeAsync(
+              new SimpleOfficeTask() {
+                @Override
+                public long getDeadline() {
+                  return deadline;
+                }
+              });
+
+      assertThatExceptionOfType(ExecutionException.class)
+          .isThrownBy(future2::get)
+          .withCauseExactlyInstanceOf(OfficeException.class)
+          .satisfies(e -> assertThat(e.getCause()).hasMessageContaining("deadline"));
+      assertThat(future1).isNotDone();
+      release.countDown();
+      future1.get();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WhenCancelled_ShouldAbandonQueuedAndRunningTasks() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    try {
+      manager.start();
+
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch aborted = new CountDownLatch(1);
+      final CompletableFuture<Void> future1 =
+          manager.executeAsync(
+              context -> {
+                started.countDown();
+                blockUntilInterrupted(aborted);
+              });
+      final AtomicBoolean executed = new AtomicBoolean();
+      final CompletableFuture<Void> future2 = manager.executeAsync(context -> executed.set(true));
+      assertThat(manager.getQueueLength()).isEqualTo(1);
+
+      // The queued task is removed at once, and the running one is aborted.
+      future2.cancel(true);
+      assertThat(manager.getQueueLength()).isEqualTo(0);
+      started.await();
+      future1.cancel(true);
+      assertThat(aborted.await(5L, TimeUnit.SECONDS)).isTrue();
+
+      manager.execute(new SimpleOfficeTask());
+      assertThat(executed).isFalse();
+      assertThat(manager.getPoolEntryStats().get(0).getFailureCount()).isEqualTo(0L);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WhenCancelledTaskIgnoresInterrupts_ShouldKeepEntryUntilTaskIsOver()
+      throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    try {
+      manager.start();
+
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      final AtomicBoolean over = new AtomicBoolean();
+      final CompletableFuture<Void> future1 =
+          manager.executeAsync(
+              context -> {
+                started.countDown();
+                awaitUninterruptibly(release);
+                over.set(true);
+              });
+      started.await();
+      future1.cancel(true);
+
+      // The only entry is not given the next task while it still executes the cancelled one.
+      final AtomicBoolean overBeforeNext = new AtomicBoolean();
+      final CompletableFuture<Void> future2 =
+          manager.executeAsync(context -> overBeforeNext.set(over.get()));
+      assertThat(manager.getQueueLength()).isEqualTo(1);
+      release.countDown();
+      future2.get();
+      assertThat(overBeforeNext).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithTaskHedging_ShouldCompleteWithSecondAttemptWhenFirstOneIsSlow()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().poolSize(2).taskHedging(true).build();
+    try {
+      manager.start();
+
+      // Learn the usual latency of the tasks.
+      for (int i = 0; i < 20; i++) {
+        final SimpleHedgeableTask task = new SimpleHedgeableTask(0L);
+        manager.execute(task);
+        assertThat(task.attemptCount).hasValue(1);
+      }
+
+      // The first attempt is a straggler; the second attempt wins and the first one is cancelled.
+      final SimpleHedgeableTask task = new SimpleHedgeableTask(5_000L);
+      final long start = System.currentTimeMillis();
+      manager.execute(task);
+      assertThat(System.currentTimeMillis() - start).isLessThan(2_000L);
+      assertThat(task.attemptCount).hasValue(2);
+
+      assertThat(task.attemptsDone.await(5L, TimeUnit.SECONDS)).isTrue();
+      assertThat(task.attemptsDoneCount).hasValue(1);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithTaskHedging_ShouldKeepLosingEntryUntilItsAttemptIsOver()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().poolSize(2).taskHedging(true).build();
+    try {
+      manager.start();
+      for (int i = 0; i < 20; i++) {
+        manager.execute(new SimpleHedgeableTask(0L));
+      }
+
+      // The first attempt ignores the interrupt cancelling it once the second attempt won.
+      final CountDownLatch release = new CountDownLatch(1);
+      final AtomicBoolean loserOver = new AtomicBoolean();
+      final AtomicInteger attemptCount = new AtomicInteger();
+      manager.execute(
+          new HedgeableTask() {
+            @Override
+            @SuppressWarnings("NullableProblems")
+            public void execute(final OfficeContext context) {
+              throw new UnsupportedOperationException("Only attempts are executed");
+            }
+
+            @Override
+            public OfficeTask createAttempt() {
+              if (attemptCount.getAndIncrement() > 0) {
+                return new SimpleOfficeTask();
+              }
+              return context -> {
+                awaitUninterruptibly(release);
+                loserOver.set(true);
+              };
+            }
+
+            @Override
+            public void onAttemptsDone() {
+              // Nothing to release
+            }
+          });
+      assertThat(attemptCount).hasValue(2);
+
+      // Only the entry of the winning attempt is given tasks until the losing attempt is over.
+      final CountDownLatch hold = new CountDownLatch(1);
+      final CompletableFuture<Void> busy =
+          manager.executeAsync(context -> awaitUninterruptibly(hold));
+      final AtomicBoolean loserOverBeforeNext = new AtomicBoolean();
+      final CompletableFuture<Void> next =
+          manager.executeAsync(context -> loserOverBeforeNext.set(loserOver.get()));
+      assertThat(manager.getQueueLength()).isEqualTo(1);
+      release.countDown();
+      next.get();
+      assertThat(loserOverBeforeNext).isTrue();
+      hold.countDown();
+      busy.get();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithTaskHedgingWhenInterrupted_ShouldCancelAttempts() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.builder().taskHedging(true).build();
+    try {
+      manager.start();
+
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch aborted = new CountDownLatch(1);
+      final CountDownLatch attemptsDone = new CountDownLatch(1);
+      final HedgeableTask task =
+          new HedgeableTask() {
+            @Override
+            @SuppressWarnings("NullableProblems")
+            public void execute(final OfficeContext context) {
+              throw new UnsupportedOperationException("Only attempts are executed");
+            }
+
+            @Override
+            public OfficeTask createAttempt() {
+              return context -> {
+                started.countDown();
+                blockUntilInterrupted(aborted);
+              };
+            }
+
+            @Override
+            public void onAttemptsDone() {
+              attemptsDone.countDown();
+            }
+          };
+      final AtomicReference<Exception> failure = new AtomicReference<>();
+      final Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  manager.execute(task);
+                } catch (OfficeException ex) {
+                  failure.set(ex);
+                }
+              });
+      thread.start();
+      started.await();
+      thread.interrupt();
+      thread.join(5_000L);
+      assertThat(thread.isAlive()).isFalse();
+      assertThat(failure.get()).hasCauseExactlyInstanceOf(InterruptedException.class);
+
+      // The running attempt is aborted, releasing the only entry of the pool.
+      assertThat(aborted.await(5L, TimeUnit.SECONDS)).isTrue();
+      assertThat(attemptsDone.await(5L, TimeUnit.SECONDS)).isTrue();
+      final SimpleOfficeTask nextTask = new SimpleOfficeTask();
+      manager.execute(nextTask);
+      assertThat(nextTask.isCompleted()).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithTaskRetry_ShouldRetryTaskTimingOutOnAnotherEntry() throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder()
+            .poolSize(2)
+            .taskExecutionTimeout(300L)
+            .taskRetry(true)
+            .build();
+    try {
+      manager.start();
+
+      // The first attempt does not complete within the timeout; the retry succeeds.
+      final SimpleHedgeableTask task = new SimpleHedgeableTask(2_000L);
+      final long start = System.currentTimeMillis();
+      manager.execute(task);
+      assertThat(System.currentTimeMillis() - start).isLessThan(1_500L);
+      assertThat(task.attemptCount).hasValue(2);
+      assertThat(task.attemptsDoneCount).hasValue(1);
+
+      // A task that is not hedgeable cannot be retried.
+      assertThatExceptionOfType(OfficeManagerFailureException.class)
+          .isThrownBy(() -> manager.execute(new SimpleOfficeTask(2_000L)));
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithTaskHedgingAndTaskRetry_ShouldRetryTaskTimingOutOnAnotherEntry()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder()
+            .poolSize(2)
+            .taskExecutionTimeout(300L)
+            .taskHedging(true)
+            .taskRetry(true)
+            .build();
+    try {
+      manager.start();
+
+      // Too few latencies are known to hedge the task; its only attempt times out and is retried.
+      final SimpleHedgeableTask task = new SimpleHedgeableTask(2_000L);
+      final long start = System.currentTimeMillis();
+      manager.execute(task);
+      assertThat(System.currentTimeMillis() - start).isLessThan(1_500L);
+      assertThat(task.attemptCount).hasValue(2);
+      assertThat(task.attemptsDoneCount).hasValue(1);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithDocumentQuarantine_ShouldRejectDocumentCrashingTooManyTimes()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().documentQuarantineThreshold(2).build();
+    try {
+      manager.start();
+
+      final OfficeException crash =
+          new OfficeManagerFailureException("Connection lost", new IllegalStateException());
+      for (int i = 0; i < 2; i++) {
+        assertThatExceptionOfType(OfficeManagerFailureException.class)
+            .isThrownBy(() -> manager.execute(new FingerprintedTask("poison", crash)));
+      }
+
+      // The document is rejected without being executed, other documents are not.
+      assertThatExceptionOfType(DocumentQuarantinedException.class)
+          .isThrownBy(() -> manager.execute(new FingerprintedTask("poison", null)))
+          .satisfies(ex -> assertThat(ex.getFingerprint()).isEqualTo("poison"));
+      assertThat(manager.getQuarantinedDocumentCount()).isEqualTo(1);
+      manager.execute(new FingerprintedTask("healthy", null));
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithAdaptiveTimeout_ShouldAbortTaskTakingMuchLongerThanUsual()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder()
+            .adaptiveTimeoutMultiplier(3D)
+            .minAdaptiveTimeout(200L)
+            .build();
+    try {
+      manager.start();
+      for (int i = 0; i < 20; i++) {
+        manager.execute(new SimpleOfficeTask(10L));
+      }
+
+      // The task is aborted long before the task execution timeout (2 minutes).
+      final long start = System.currentTimeMillis();
+      assertThatExceptionOfType(OfficeManagerFailureException.class)
+          .isThrownBy(() -> manager.execute(new SimpleOfficeTask(5_000L)));
+      assertThat(System.currentTimeMillis() - start).isLessThan(2_000L);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithCircuitBreaker_ShouldRestartEntryFailingTooManyTasksInARow()
+      throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().circuitBreakerThreshold(2).build();
+    try {
+      manager.start();
+      final PoolEntryStats stats = manager.getPoolEntryStats().get(0);
+      final long startTime = stats.getLastRestartTime();
+
+      final OfficeException crash =
+          new OfficeManagerFailureException("Connection lost", new IllegalStateException());
+      for (int i = 0; i < 2; i++) {
+        assertThatExceptionOfType(OfficeManagerFailureException.class)
+            .isThrownBy(() -> manager.execute(new SimpleOfficeTask(crash)));
+      }
+
+      // The entry is only given the next task once restarted.
+      manager.execute(new SimpleOfficeTask());
+      assertThat(stats.getCircuitBreakerState()).isEqualTo(CircuitBreakerState.CLOSED);
+      assertThat(stats.getLastRestartTime()).isGreaterThan(startTime);
+      assertThat(stats.getFailureCount()).isEqualTo(2L);
+      assertThat(stats.getConsecutiveFailures()).isEqualTo(0);
+      assertThat(stats.getFailureRate()).isGreaterThan(0D);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void execute_WithCircuitBreaker_ShouldNotCountTasksFailingOnTheirOwn() throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder().circuitBreakerThreshold(2).build();
+    try {
+      manager.start();
+      final PoolEntryStats stats = manager.getPoolEntryStats().get(0);
+      final long startTime = stats.getLastRestartTime();
+
+      // A task failing because of its document says nothing about the entry executing it.
+      for (int i = 0; i < 3; i++) {
+        assertThatExceptionOfType(OfficeException.class)
+            .isThrownBy(
+                () -> manager.execute(new SimpleOfficeTask(new OfficeException("this is a test"))));
+      }
+
+      assertThat(stats.getCircuitBreakerState()).isEqualTo(CircuitBreakerState.CLOSED);
+      assertThat(stats.getLastRestartTime()).isEqualTo(startTime);
+      assertThat(stats.getFailureCount()).isEqualTo(0L);
+      assertThat(stats.getConsecutiveFailures()).isEqualTo(0);
+      manager.execute(new SimpleOfficeTask());
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void drain_WithQueuedAsyncTasks_ShouldCompleteTasksBeforeStopping() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    manager.start();
+
+    // The first task holds the only manager until the pool is draining.
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CompletableFuture<Void> future1 =
+        manager.executeAsync(
+            context -> {
+              started.countDown();
+              awaitUninterruptibly(release);
+            });
+    final CompletableFuture<Void> future2 = manager.executeAsync(new SimpleOfficeTask());
+    started.await();
+
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    final Thread drainer =
+        new Thread(
+            () -> {
+              try {
+                manager.drain(5_000L);
+              } catch (OfficeException ex) {
+                failure.set(ex);
+              }
+            });
+    drainer.start();
+    release.countDown();
+    drainer.join();
+
+    assertThat(failure.get()).isNull();
+    assertThat(manager.isRunning()).isFalse();
+
+    // The entry is released before the future of its task is completed.
+    CompletableFuture.allOf(future1, future2).get();
+    assertThat(future1).isCompleted().isNotCompletedExceptionally();
+    assertThat(future2).isCompleted().isNotCompletedExceptionally();
+    assertThatIllegalStateException()
+        .isThrownBy(() -> manager.executeAsync(new SimpleOfficeTask()));
+  }
+
+  @Test
+  public void restartAll_WhileExecutingTasks_ShouldRestartEveryEntryWithoutFailingTasks()
+      throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.builder().poolSize(2).build();
+    try {
+      manager.start();
+      final List<PoolEntryStats> stats = manager.getPoolEntryStats();
+      final long startTime1 = stats.get(0).getLastRestartTime();
+      final long startTime2 = stats.get(1).getLastRestartTime();
+
+      // Both entries are busy, and more tasks are queued, when the rolling restart begins.
+      final CountDownLatch started = new CountDownLatch(2);
+      final CountDownLatch release = new CountDownLatch(1);
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        futures.add(
+            manager.executeAsync(
+                context -> {
+                  started.countDown();
+                  awaitUninterruptibly(release);
+                }));
+      }
+      for (int i = 0; i < 8; i++) {
+        futures.add(manager.executeAsync(new SimpleOfficeTask()));
+      }
+      started.await();
+
+      final AtomicReference<Exception> failure = new AtomicReference<>();
+      final Thread restarter =
+          new Thread(
+              () -> {
+                try {
+                  manager.restartAll();
+                } catch (OfficeException ex) {
+                  failure.set(ex);
+                }
+              });
+      restarter.start();
+      release.countDown();
+      restarter.join();
+
+      assertThat(failure.get()).isNull();
+      assertThat(stats.get(0).getLastRestartTime()).isGreaterThan(startTime1);
+      assertThat(stats.get(1).getLastRestartTime()).isGreaterThan(startTime2);
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+      assertThat(futures).allMatch(future -> !future.isCompletedExceptionally());
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void stop_WithQueuedAsyncTasks_FuturesShouldCompleteExceptionally() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.make();
+    manager.start();
+    final CompletableFuture<Void> future;
+    try {
+      manager.executeAsync(new SimpleOfficeTask(1_000L));
+      future = manager.executeAsync(new SimpleOfficeTask());
+    } finally {
+      manager.stop();
+    }
+
+    assertThat(future).isCompletedExceptionally();
+  }
+
+  @Test
+  public void executeAsync_WithPriorities_ShouldExecuteHighestPriorityFirst() throws Exception {
+
+    final SimpleOfficeManager manager = SimpleOfficeManager.builder().taskAgingInterval(0L).build();
+    try {
+      manager.start();
+
+      // Keep the only manager busy while the other tasks are queued.
+      final CompletableFuture<Void> busy = manager.executeAsync(new SimpleOfficeTask(500L));
+
+      final List<TaskPriority> executed = Collections.synchronizedList(new ArrayList<>());
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (final TaskPriority priority :
+          new TaskPriority[] {TaskPriority.LOW, TaskPriority.NORMAL, TaskPriority.HIGH}) {
+        futures.add(
+            manager.executeAsync(
+                new OfficeTask() {
+                  @Override
+                  @SuppressWarnings("NullableProblems")
+                  public void execute(final OfficeContext context) {
+                    executed.add(priority);
+                  }
+
+                  @Override
+                  public TaskPriority getPriority() {
+                    return priority;
+                  }
+                }));
+      }
+
+      busy.get();
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+      assertThat(executed)
+          .containsExactly(TaskPriority.HIGH, TaskPriority.NORMAL, TaskPriority.LOW);
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeAsync_WithMaxPoolSize_ShouldGrowThenShrinkPool() throws Exception {
+
+    final SimpleOfficeManager manager =
+        SimpleOfficeManager.builder()
+            .maxPoolSize(3)
+            .poolScaleUpThreshold(50L)
+            .poolIdleTimeout(200L)
+            .build();
+    try {
+      manager.start();
+      assertThat(manager.getPoolSize()).isEqualTo(1);
+
+      // Tasks waiting longer than the threshold make the pool grow up to its maximum size.
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        futures.add(manager.executeAsync(new SimpleOfficeTask(500L)));
+      }
+      assertThat(waitForPoolSize(manager, 3)).isEqualTo(3);
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+      // Idle entries are removed until the pool is back to its initial size.
+      assertThat(waitForPoolSize(manager, 1)).isEqualTo(1);
+
+      // The remaining entry is still usable.
+      manager.executeAsync(new SimpleOfficeTask()).get();
+
+    } finally {
+      manager.stop();
+    }
+  }
 }
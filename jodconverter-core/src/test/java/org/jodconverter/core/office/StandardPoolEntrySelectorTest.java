@@ -0,0 +1,80 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link StandardPoolEntrySelector} class. */
+public class StandardPoolEntrySelectorTest {
+
+  private static PoolEntryStats stats(final long... latencies) {
+
+    final PoolEntryStats stats = new PoolEntryStats();
+    for (final long latency : latencies) {
+      stats.recordTask(TimeUnit.MILLISECONDS.toNanos(latency));
+    }
+    return stats;
+  }
+
+  @Test
+  public void select_WithFifoOrLifo_ShouldSelectFirstOrLastEntry() {
+
+    assertThat(StandardPoolEntrySelector.FIFO.select(Arrays.asList(stats(), stats(), stats())))
+        .isEqualTo(0);
+    assertThat(StandardPoolEntrySelector.LIFO.select(Arrays.asList(stats(), stats(), stats())))
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void select_WithLeastRecentlyRestarted_ShouldSelectOldestEntry()
+      throws InterruptedException {
+
+    final PoolEntryStats restarted = stats();
+    final PoolEntryStats oldest = stats();
+    Thread.sleep(10L);
+    restarted.recordRestart();
+
+    assertThat(
+            StandardPoolEntrySelector.LEAST_RECENTLY_RESTARTED.select(
+                Arrays.asList(restarted, oldest, stats())))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void select_WithLatencyAware_ShouldAvoidSlowEntries() {
+
+    final PoolEntryStats slow = stats(100L, 1_000L, 1_000L);
+    final PoolEntryStats fast = stats(100L, 100L);
+
+    assertThat(slow.getTaskCount()).isEqualTo(3);
+    assertThat(slow.getAverageLatency()).isGreaterThan(2 * fast.getAverageLatency());
+    assertThat(StandardPoolEntrySelector.LATENCY_AWARE.select(Arrays.asList(slow, fast)))
+        .isEqualTo(1);
+    assertThat(
+            StandardPoolEntrySelector.LATENCY_AWARE.select(
+                Arrays.asList(slow, fast, stats(150L))))
+        .isEqualTo(1);
+  }
+}
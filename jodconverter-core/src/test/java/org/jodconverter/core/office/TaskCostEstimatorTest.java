@@ -0,0 +1,69 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.core.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.jodconverter.core.document.DocumentFamily;
+import org.jodconverter.core.document.DocumentFormat;
+
+/** Contains tests for the {@link TaskCostEstimator} class. */
+public class TaskCostEstimatorTest {
+
+  private static final DocumentFormat DOCX = format("docx");
+  private static final DocumentFormat XLSX = format("xlsx");
+  private static final DocumentFormat ODT = format("odt");
+  private static final DocumentFormat PDF = format("pdf");
+
+  private static DocumentFormat format(final String extension) {
+    return DocumentFormat.builder()
+        .name(extension)
+        .extension(extension)
+        .mediaType("application/" + extension)
+        .inputFamily(DocumentFamily.TEXT)
+        .build();
+  }
+
+  @Test
+  public void estimate_WithoutObservation_ShouldBeProportionalToLength() {
+
+    final TaskCostEstimator estimator = new TaskCostEstimator();
+
+    assertThat(estimator.estimate(XLSX, PDF, 2_000L))
+        .isEqualTo(2 * estimator.estimate(DOCX, PDF, 1_000L));
+  }
+
+  @Test
+  public void estimate_AfterObservations_ShouldUseThroughputOfConversion() {
+
+    final TaskCostEstimator estimator = new TaskCostEstimator();
+    estimator.record(DOCX, PDF, 1_000_000L, 100L);
+    estimator.record(XLSX, PDF, 1_000_000L, 1_000L);
+
+    assertThat(estimator.estimate(DOCX, PDF, 100_000L)).isEqualTo(10D);
+    assertThat(estimator.estimate(XLSX, PDF, 100_000L)).isEqualTo(100D);
+    // A conversion of unknown length is estimated from the durations of the same conversion.
+    assertThat(estimator.estimate(XLSX, PDF, -1L)).isEqualTo(1_000D);
+    // A conversion never observed is estimated from all the observed conversions.
+    assertThat(estimator.estimate(ODT, PDF, 100_000L)).isBetween(10D, 100D);
+  }
+}
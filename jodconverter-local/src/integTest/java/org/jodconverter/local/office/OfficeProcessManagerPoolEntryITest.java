@@ -24,6 +24,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -149,6 +150,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -174,6 +185,96 @@ public class OfficeProcessManagerPoolEntryITest {
     }
   }
 
+  /** Tests that an office process is warmed up before executing a task. */
+  @Test
+  public void executeTask_WithWarmUpConversions_ShouldExecuteTask()
+      throws OfficeException, RetryTimeoutException {
+
+    final OfficeProcessManagerPoolEntry manager =
+        new OfficeProcessManagerPoolEntry(
+            CONNECT_URL,
+            LocalOfficeUtils.getDefaultOfficeHome(),
+            OfficeUtils.getDefaultWorkingDir(),
+            LocalOfficeUtils.findBestProcessManager(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            Arrays.asList(WarmUpConversion.TEXT_TO_PDF, WarmUpConversion.SPREADSHEET_TO_XLSX),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+    try {
+      manager.start();
+      assertThat(manager.isRunning()).isTrue();
+      final Future<?> warmUp = Whitebox.getInternalState(manager, "warmUpFuture");
+      assertThat(warmUp.isDone()).isTrue();
+
+      final MockOfficeTask task = new MockOfficeTask();
+      manager.execute(task);
+      assertThat(task.isCompleted()).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
+  @Test
+  public void executeTask_WithHeartbeat_ShouldRecordHeartbeatLatency()
+      throws OfficeException, RetryTimeoutException {
+
+    final OfficeProcessManagerPoolEntry manager =
+        new OfficeProcessManagerPoolEntry(
+            CONNECT_URL,
+            LocalOfficeUtils.getDefaultOfficeHome(),
+            OfficeUtils.getDefaultWorkingDir(),
+            LocalOfficeUtils.findBestProcessManager(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            500L,
+            null,
+            null,
+            null,
+            null);
+    try {
+      manager.start();
+      assertThat(manager.getStats().getLastHeartbeatLatency()).isEqualTo(-1L);
+
+      // Wait for the idle office process to answer a few heartbeats.
+      TestUtil.sleepQuietly(2_000L);
+      assertThat(manager.getStats().getLastHeartbeatLatency()).isNotNegative();
+      assertThat(manager.isRunning()).isTrue();
+
+      final MockOfficeTask task = new MockOfficeTask();
+      manager.execute(task);
+      assertThat(task.isCompleted()).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
   private static class RestartAfterCrashTask implements Callable<Boolean> {
 
     private final OfficeProcessManagerPoolEntry officeManager;
@@ -211,6 +312,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -285,6 +396,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             1_500L,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            0L,
+            null,
             null);
     try {
       manager.start();
@@ -318,6 +439,60 @@ public class OfficeProcessManagerPoolEntryITest {
     }
   }
 
+  /**
+   * Tests that a task that does not complete within its timeout is cancelled without restarting
+   * the office process when it is over within the grace period.
+   */
+  @Test
+  public void execute_WhenTimeoutExceptionOccured_ShouldCancelTaskWithoutRestart()
+      throws OfficeException {
+
+    final OfficeProcessManagerPoolEntry manager =
+        new OfficeProcessManagerPoolEntry(
+            CONNECT_URL,
+            LocalOfficeUtils.getDefaultOfficeHome(),
+            OfficeUtils.getDefaultWorkingDir(),
+            LocalOfficeUtils.findBestProcessManager(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            1_500L,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            5_000L,
+            null,
+            null);
+    try {
+      manager.start();
+      assertThat(manager.isRunning()).isTrue();
+      final long pid = getOfficeProcess(manager).getPid();
+
+      final MockOfficeTask task = new MockOfficeTask(2_000L);
+
+      assertThatExceptionOfType(OfficeException.class)
+          .isThrownBy(() -> manager.execute(task))
+          .withCauseExactlyInstanceOf(TimeoutException.class);
+
+      final MockOfficeTask goodTask = new MockOfficeTask();
+      manager.execute(goodTask);
+      assertThat(goodTask.isCompleted()).isTrue();
+      assertThat(getOfficeProcess(manager).getPid()).isEqualTo(pid);
+      assertThat(getConnection(manager).isConnected()).isTrue();
+
+    } finally {
+      manager.stop();
+    }
+  }
+
   /**
    * Tests that an office process is restarted when it reached the maximum number of executed tasks.
    */
@@ -337,7 +512,17 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
             3,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -371,6 +556,78 @@ public class OfficeProcessManagerPoolEntryITest {
     }
   }
 
+  /**
+   * Tests that the standby office process takes over when the maximum number of executed tasks is
+   * reached.
+   */
+  @Test
+  public void execute_WhenMaxTasksPerProcessReachedWithStandby_ShouldSwitchToStandby()
+      throws OfficeException {
+
+    final OfficeProcessManagerPoolEntry manager =
+        new OfficeProcessManagerPoolEntry(
+            CONNECT_URL,
+            LocalOfficeUtils.getDefaultOfficeHome(),
+            OfficeUtils.getDefaultWorkingDir(),
+            LocalOfficeUtils.findBestProcessManager(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            3,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            new OfficeUrl(2003),
+            null);
+    try {
+      manager.start();
+      assertThat(manager.isRunning()).isTrue();
+      assertThat(manager)
+          .extracting(
+              "standbyProcessManager.process.running",
+              "standbyProcessManager.connection.connected")
+          .containsExactly(true, true);
+      final Object initialProcessManager =
+          Whitebox.getInternalState(manager, "officeProcessManager");
+      final Object standbyProcessManager =
+          Whitebox.getInternalState(manager, "standbyProcessManager");
+
+      for (int i = 0; i < 4; i++) {
+        final MockOfficeTask task = new MockOfficeTask();
+        manager.execute(task);
+        assertThat(task.isCompleted()).isTrue();
+      }
+
+      // The standby process has taken over, the previous one is the new standby.
+      assertThat(manager).extracting("taskCount.value").isEqualTo(1);
+      assertThat(Whitebox.<Object>getInternalState(manager, "officeProcessManager"))
+          .isSameAs(standbyProcessManager);
+      assertThat(Whitebox.<Object>getInternalState(manager, "standbyProcessManager"))
+          .isSameAs(initialProcessManager);
+
+    } finally {
+
+      manager.stop();
+      assertThat(manager.isRunning()).isFalse();
+      assertThat(manager)
+          .extracting(
+              "officeProcessManager.process.running",
+              "officeProcessManager.connection.connected",
+              "standbyProcessManager.process.running",
+              "standbyProcessManager.connection.connected")
+          .containsExactly(false, false, false, false);
+    }
+  }
+
   @Test
   public void start_WhenProcessAlreadyExistsAndKillExistingProcessOn_ShouldKillExistingProcess()
       throws OfficeException, RetryTimeoutException {
@@ -391,6 +648,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -435,6 +702,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
 
@@ -472,6 +749,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -529,6 +816,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     try {
       manager.start();
@@ -583,6 +880,16 @@ public class OfficeProcessManagerPoolEntryITest {
             null,
             null,
             null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null);
     assertThat(manager.isRunning()).isFalse();
   }
@@ -22,6 +22,7 @@ package org.jodconverter.local;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.sun.star.document.UpdateDocMode;
 import org.apache.commons.lang3.Validate;
@@ -37,6 +38,7 @@ import org.jodconverter.core.job.AbstractTargetDocumentSpecs;
 import org.jodconverter.core.office.InstalledOfficeManagerHolder;
 import org.jodconverter.core.office.OfficeException;
 import org.jodconverter.core.office.OfficeManager;
+import org.jodconverter.core.office.TemporaryFileMaker;
 import org.jodconverter.local.filter.DefaultFilterChain;
 import org.jodconverter.local.filter.Filter;
 import org.jodconverter.local.filter.FilterChain;
@@ -153,9 +155,28 @@ public class LocalConverter extends AbstractConverter {
     public void doExecute() throws OfficeException {
 
       // Create a default conversion task and execute it
+      officeManager.execute(createTask());
+    }
+
+    @NonNull
+    @Override
+    protected CompletableFuture<Void> doExecuteAsync() {
+
+      // Create a default conversion task and submit it
+      return officeManager.executeAsync(createTask());
+    }
+
+    private LocalConversionTask createTask() {
+
       final LocalConversionTask task =
           new LocalConversionTask(source, target, loadProperties, filterChain, storeProperties);
-      officeManager.execute(task);
+      task.setPriority(priority);
+      task.setTenant(tenant);
+      task.setDeadline(deadline);
+      if (officeManager instanceof TemporaryFileMaker) {
+        task.setTemporaryFileMaker((TemporaryFileMaker) officeManager);
+      }
+      return task;
     }
   }
 
@@ -20,8 +20,17 @@
 package org.jodconverter.local.office;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -33,16 +42,46 @@ import org.slf4j.LoggerFactory;
 
 import org.jodconverter.core.office.AbstractOfficeManagerPool;
 import org.jodconverter.core.office.InstalledOfficeManagerHolder;
+import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.office.OfficeManager;
+import org.jodconverter.core.office.OfficeManagerPoolSettings;
 import org.jodconverter.core.office.OfficeUtils;
 import org.jodconverter.local.process.ProcessManager;
 
 /**
  * Default {@link org.jodconverter.core.office.OfficeManager} implementation that uses a pool of
  * office processes to execute conversion tasks.
+ *
+ * <p>By default, an office process is launched for each configured port number or pipe name. When
+ * a maximum pool size is configured, the pool starts with the minimum pool size and launches
+ * additional office processes when tasks are waiting, using the configured port numbers or pipe
+ * names first, then the next free port numbers, or pipe names derived from the last configured
+ * pipe name.
+ *
+ * <p>When warm standby is enabled, each entry of the pool also keeps a standby office process
+ * started, using an additional port number or pipe name, to which it switches when the maximum
+ * number of tasks per process is reached.
  */
 public final class LocalOfficeManager extends AbstractOfficeManagerPool {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalOfficeManager.class);
+  // The port number used when no port number nor pipe name is configured.
+  private static final int DEFAULT_PORT_NUMBER = 2002;
+  // The highest valid port number.
+  private static final int MAX_PORT_NUMBER = 65_535;
+  // The default behavior regarding standby office processes.
+  private static final boolean DEFAULT_WARM_STANDBY = false;
+
+  private final List<OfficeUrl> officeUrls;
+  private final String basePipeName;
+  private final int highestPortNumber;
+  private final boolean warmStandby;
+  private volatile File templateProfileDir;
+  private final BiFunction<OfficeUrl, OfficeUrl, OfficeManager> entryFactory;
+  private final Set<String> usedOfficeUrls = ConcurrentHashMap.newKeySet();
+  private final Map<OfficeManager, List<OfficeUrl>> entryUrls = new ConcurrentHashMap<>();
+  // Executes the checks of the office processes of all the entries.
+  private final OfficeProcessMonitor monitor = new OfficeProcessMonitor();
 
   /**
    * Creates a new builder instance.
@@ -79,7 +118,8 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
   }
 
   private LocalOfficeManager(
-      final List<OfficeUrl> officeUrls,
+      final List<Integer> portNumbers,
+      final List<String> pipeNames,
       final File officeHome,
       final File workingDir,
       final ProcessManager processManager,
@@ -89,29 +129,214 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
       final Long processTimeout,
       final Long processRetryInterval,
       final Long taskExecutionTimeout,
+      final Boolean directExecution,
       final Integer maxTasksPerProcess,
+      final Integer maxTasksPerProcessJitter,
+      final Double maxRestartingRatio,
+      final RecyclePolicy recyclePolicy,
+      final Long heartbeatInterval,
+      final Long heartbeatTimeout,
+      final Long taskCancelGracePeriod,
       final Boolean disableOpengl,
-      final Long taskQueueTimeout) {
-    super(workingDir, officeUrls.size(), taskQueueTimeout);
-
-    setEntries(
-        officeUrls.stream()
-            .map(
-                officeUrl ->
-                    new OfficeProcessManagerPoolEntry(
-                        officeUrl,
-                        officeHome,
-                        workingDir,
-                        processManager,
-                        runAsArgs,
-                        templateProfileDir,
-                        killExistingProcess,
-                        processTimeout,
-                        processRetryInterval,
-                        taskExecutionTimeout,
-                        maxTasksPerProcess,
-                        disableOpengl))
-            .collect(Collectors.toList()));
+      final List<WarmUpConversion> warmUpConversions,
+      final Boolean warmStandby,
+      final OfficeManagerPoolSettings poolSettings) {
+    super(workingDir, poolSettings);
+
+    this.officeUrls = LocalOfficeUtils.buildOfficeUrls(portNumbers, pipeNames);
+    // Additional pipe names are derived from the last pipe name when only pipe names are
+    // configured. Otherwise, additional ports follow the highest configured port.
+    final boolean pipesOnly =
+        (portNumbers == null || portNumbers.isEmpty()) && pipeNames != null && !pipeNames.isEmpty();
+    this.basePipeName = pipesOnly ? pipeNames.get(pipeNames.size() - 1) : null;
+    this.highestPortNumber =
+        portNumbers == null
+            ? DEFAULT_PORT_NUMBER
+            : portNumbers.stream().mapToInt(Integer::intValue).max().orElse(DEFAULT_PORT_NUMBER);
+    this.warmStandby = warmStandby == null ? DEFAULT_WARM_STANDBY : warmStandby;
+    this.templateProfileDir = templateProfileDir;
+    // The restarts of all the entries are coordinated, whatever the size of the pool.
+    final RestartCoordinator restartCoordinator =
+        maxRestartingRatio == null || maxRestartingRatio >= 1D
+            ? null
+            : new RestartCoordinator(maxRestartingRatio, this::getPoolSize);
+    this.entryFactory =
+        (officeUrl, standbyOfficeUrl) ->
+            new OfficeProcessManagerPoolEntry(
+                officeUrl,
+                officeHome,
+                workingDir,
+                processManager,
+                runAsArgs,
+                this.templateProfileDir,
+                killExistingProcess,
+                processTimeout,
+                processRetryInterval,
+                taskExecutionTimeout,
+                directExecution,
+                maxTasksPerProcess,
+                disableOpengl,
+                warmUpConversions,
+                maxTasksPerProcessJitter,
+                restartCoordinator,
+                recyclePolicy,
+                heartbeatInterval,
+                heartbeatTimeout,
+                taskCancelGracePeriod,
+                standbyOfficeUrl,
+                monitor);
+
+    // Without maximum pool size, an entry is created for each configured URL.
+    final List<OfficeManager> entries = new ArrayList<>();
+    if (poolSettings.getMaxPoolSize() == null) {
+      for (final OfficeUrl officeUrl : officeUrls) {
+        usedOfficeUrls.add(officeUrl.getConnectionAndParametersAsString());
+      }
+      for (final OfficeUrl officeUrl : officeUrls) {
+        final OfficeManager entry = newEntry(officeUrl);
+        Validate.validState(entry != null, "No office URL available for a standby process");
+        entries.add(entry);
+      }
+    } else {
+      for (int i = 0; i < poolSettings.getPoolSize(); i++) {
+        final OfficeManager entry = createEntry();
+        Validate.validState(entry != null, "No office URL available to start the pool");
+        entries.add(entry);
+      }
+    }
+    setEntries(entries);
+  }
+
+  /**
+   * Restarts all the office processes of this office manager, the specified number of entries at
+   * a time, with a new template profile directory. The pool keeps executing tasks with the other
+   * entries while an entry restarts. The office processes started later, when the pool grows for
+   * instance, also use the new template profile directory.
+   *
+   * @param templateProfileDir The directory to copy to the temporary office profile directories to
+   *     be created, or {@code null} to start the office processes with a new profile.
+   * @param parallelism The maximum number of entries restarted at the same time.
+   * @throws OfficeException If an entry fails to restart.
+   * @see #restartAll(int)
+   */
+  public void restartAll(@Nullable final File templateProfileDir, final int parallelism)
+      throws OfficeException {
+
+    LocalOfficeUtils.validateOfficeTemplateProfileDirectory(templateProfileDir);
+    this.templateProfileDir = templateProfileDir;
+    for (final OfficeManager entry : entryUrls.keySet()) {
+      ((OfficeProcessManagerPoolEntry) entry).setTemplateProfileDir(templateProfileDir);
+    }
+    restartAll(parallelism);
+  }
+
+  @Override
+  protected void doStart() {
+    monitor.start();
+  }
+
+  @Override
+  protected void doStop() {
+    monitor.stop();
+  }
+
+  @Override
+  protected OfficeManager createEntry() {
+
+    final OfficeUrl officeUrl = allocateOfficeUrl(true);
+    final OfficeManager entry = officeUrl == null ? null : newEntry(officeUrl);
+    if (entry == null) {
+      if (officeUrl != null) {
+        usedOfficeUrls.remove(officeUrl.getConnectionAndParametersAsString());
+      }
+      LOGGER.warn("Unable to grow the pool, no office URL available");
+    }
+    return entry;
+  }
+
+  @Override
+  protected void entryRemoved(@NonNull final OfficeManager entry) {
+
+    // Free the URLs of the entry so they can be reused.
+    final List<OfficeUrl> urls = entryUrls.remove(entry);
+    if (urls != null) {
+      urls.forEach(
+          officeUrl -> usedOfficeUrls.remove(officeUrl.getConnectionAndParametersAsString()));
+    }
+  }
+
+  /**
+   * Creates an entry for the specified, already allocated, office URL. A standby office URL is
+   * also allocated if warm standby is enabled.
+   *
+   * @param officeUrl The office URL of the entry.
+   * @return The created entry, or {@code null} if no standby office URL is available.
+   */
+  private OfficeManager newEntry(final OfficeUrl officeUrl) {
+
+    OfficeUrl standbyOfficeUrl = null;
+    if (warmStandby) {
+      standbyOfficeUrl = allocateOfficeUrl(false);
+      if (standbyOfficeUrl == null) {
+        return null;
+      }
+    }
+
+    final OfficeManager entry = entryFactory.apply(officeUrl, standbyOfficeUrl);
+    entryUrls.put(
+        entry,
+        standbyOfficeUrl == null
+            ? Collections.singletonList(officeUrl)
+            : Arrays.asList(officeUrl, standbyOfficeUrl));
+    return entry;
+  }
+
+  /**
+   * Reserves an office URL that is not used by any entry of the pool. The configured URLs are
+   * used first, if allowed. Then, new pipe names are derived from the last configured pipe name if
+   * only pipe names are configured, or the free ports following the highest configured port are
+   * used.
+   *
+   * @param useConfiguredUrls Whether the configured URLs can be used.
+   * @return The office URL, or {@code null} if no URL is available.
+   */
+  private OfficeUrl allocateOfficeUrl(final boolean useConfiguredUrls) {
+
+    if (useConfiguredUrls) {
+      for (final OfficeUrl officeUrl : officeUrls) {
+        if (usedOfficeUrls.add(officeUrl.getConnectionAndParametersAsString())) {
+          return officeUrl;
+        }
+      }
+    }
+
+    if (basePipeName != null) {
+      for (int i = 1; ; i++) {
+        final OfficeUrl officeUrl = new OfficeUrl(basePipeName + "_" + i);
+        if (usedOfficeUrls.add(officeUrl.getConnectionAndParametersAsString())) {
+          return officeUrl;
+        }
+      }
+    }
+
+    for (int port = highestPortNumber + 1; port <= MAX_PORT_NUMBER; port++) {
+      final OfficeUrl officeUrl = new OfficeUrl(port);
+      final String url = officeUrl.getConnectionAndParametersAsString();
+      if (!usedOfficeUrls.contains(url) && isPortAvailable(port) && usedOfficeUrls.add(url)) {
+        return officeUrl;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isPortAvailable(final int port) {
+
+    try {
+      new ServerSocket(port, 1, InetAddress.getLoopbackAddress()).close();
+      return true;
+    } catch (IOException ex) {
+      return false;
+    }
   }
 
   /**
@@ -127,6 +352,8 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
     // The maximum value for the delay between each try when executing a process call
     // (start/terminate).
     private static final long MAX_PROCESS_RETRY_INTERVAL = 10_000L; // 10 sec.
+    // The maximum size of the pool.
+    private static final int MAX_POOL_SIZE = 1000;
 
     private List<String> pipeNames;
     private List<Integer> portNumbers;
@@ -136,12 +363,24 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
     private File templateProfileDir;
     private boolean useDefaultOnInvalidTemplateProfileDir;
     private Boolean killExistingProcess;
+    private Integer minPoolSize;
+    private Integer maxPoolSize;
+    private Long poolScaleUpThreshold;
+    private Long poolIdleTimeout;
 
     // OfficeProcessManager
     private Long processTimeout;
     private Long processRetryInterval;
     private Integer maxTasksPerProcess;
+    private Integer maxTasksPerProcessJitter;
+    private Double maxRestartingRatio;
+    private RecyclePolicy recyclePolicy;
+    private Long heartbeatInterval;
+    private Long heartbeatTimeout;
+    private Long taskCancelGracePeriod;
     private Boolean disableOpengl;
+    private List<WarmUpConversion> warmUpConversions;
+    private Boolean warmStandby;
 
     // Private constructor so only LocalOfficeManager can initialize an instance of this builder.
     private Builder() {
@@ -180,10 +419,28 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
         LocalOfficeUtils.validateOfficeTemplateProfileDirectory(templateProfileDir);
       }
 
-      // Build the office URLs
+      // Without maximum pool size, an office process is launched for each configured URL.
+      final int configuredPoolSize =
+          LocalOfficeUtils.buildOfficeUrls(portNumbers, pipeNames).size();
+      Integer resolvedMaxPoolSize = null;
+      int resolvedMinPoolSize = configuredPoolSize;
+      if (maxPoolSize != null) {
+        resolvedMinPoolSize = minPoolSize == null ? configuredPoolSize : minPoolSize;
+        resolvedMaxPoolSize =
+            maxPoolSize == 0
+                ? Math.max(resolvedMinPoolSize, LocalOfficeUtils.getDefaultMaxPoolSize())
+                : maxPoolSize;
+        Validate.isTrue(
+            resolvedMinPoolSize <= resolvedMaxPoolSize,
+            "minPoolSize %d must be less than or equal to maxPoolSize %d",
+            resolvedMinPoolSize,
+            resolvedMaxPoolSize);
+      }
+
       final LocalOfficeManager manager =
           new LocalOfficeManager(
-              LocalOfficeUtils.buildOfficeUrls(portNumbers, pipeNames),
+              portNumbers,
+              pipeNames,
               officeHome,
               workingDir,
               processManager,
@@ -193,9 +450,22 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
               processTimeout,
               processRetryInterval,
               taskExecutionTimeout,
+              directExecution,
               maxTasksPerProcess,
+              maxTasksPerProcessJitter,
+              maxRestartingRatio,
+              recyclePolicy,
+              heartbeatInterval,
+              heartbeatTimeout,
+              taskCancelGracePeriod,
               disableOpengl,
-              taskQueueTimeout);
+              warmUpConversions,
+              warmStandby,
+              buildPoolSettings()
+                  .poolSize(resolvedMinPoolSize)
+                  .maxPoolSize(resolvedMaxPoolSize)
+                  .poolScaleUpThreshold(poolScaleUpThreshold)
+                  .poolIdleTimeout(poolIdleTimeout));
       if (install) {
         InstalledOfficeManagerHolder.setInstance(manager);
       }
@@ -234,6 +504,109 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
       return this;
     }
 
+    /**
+     * Specifies the number of office processes launched when the manager starts, and under which
+     * the pool never shrinks. Only used when a maximum pool size is specified.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: The number of port numbers and pipe names, or 1 if none is
+     * specified.
+     *
+     * @param minPoolSize The minimum pool size.
+     * @return This builder instance.
+     * @see #maxPoolSize(Integer)
+     */
+    @NonNull
+    public Builder minPoolSize(@Nullable final Integer minPoolSize) {
+
+      if (minPoolSize != null) {
+        Validate.inclusiveBetween(
+            1,
+            MAX_POOL_SIZE,
+            minPoolSize,
+            String.format(
+                "minPoolSize %s must be between %d and %d", minPoolSize, 1, MAX_POOL_SIZE));
+      }
+      this.minPoolSize = minPoolSize;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum number of office processes the pool can grow to. When specified, the
+     * pool launches additional office processes when tasks wait too long for an office process, and
+     * stops them once they have been idle for a while. The configured port numbers or pipe names
+     * are used first, then additional port numbers or pipe names are allocated automatically. A
+     * value of 0 sizes the pool according to the available processors and physical memory.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: No maximum; an office process is launched for each port
+     * number or pipe name.
+     *
+     * @param maxPoolSize The maximum pool size, or 0 to compute it from the available resources.
+     * @return This builder instance.
+     * @see LocalOfficeUtils#getDefaultMaxPoolSize()
+     */
+    @NonNull
+    public Builder maxPoolSize(@Nullable final Integer maxPoolSize) {
+
+      if (maxPoolSize != null) {
+        Validate.inclusiveBetween(
+            0,
+            MAX_POOL_SIZE,
+            maxPoolSize,
+            String.format(
+                "maxPoolSize %s must be between %d and %d", maxPoolSize, 0, MAX_POOL_SIZE));
+      }
+      this.maxPoolSize = maxPoolSize;
+      return this;
+    }
+
+    /**
+     * Specifies the time the oldest task must have waited in the conversion queue, while all the
+     * office processes are busy, before a new office process is launched. Only used when a maximum
+     * pool size is specified.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 2000 (2 seconds)
+     *
+     * @param poolScaleUpThreshold The scale up threshold, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder poolScaleUpThreshold(@Nullable final Long poolScaleUpThreshold) {
+
+      if (poolScaleUpThreshold != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            poolScaleUpThreshold,
+            String.format(
+                "poolScaleUpThreshold %s must greater than or equal to 0", poolScaleUpThreshold));
+      }
+      this.poolScaleUpThreshold = poolScaleUpThreshold;
+      return this;
+    }
+
+    /**
+     * Specifies the time an office process must have been idle before it is stopped, as long as
+     * the pool is larger than its minimum size. Only used when a maximum pool size is specified.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 300000 (5 minutes)
+     *
+     * @param poolIdleTimeout The idle timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder poolIdleTimeout(@Nullable final Long poolIdleTimeout) {
+
+      if (poolIdleTimeout != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            poolIdleTimeout,
+            String.format("poolIdleTimeout %s must greater than or equal to 0", poolIdleTimeout));
+      }
+      this.poolIdleTimeout = poolIdleTimeout;
+      return this;
+    }
+
     /**
      * Specifies the office home directory (office installation).
      *
@@ -463,6 +836,164 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
       return this;
     }
 
+    /**
+     * Specifies the maximum number of tasks by which the maximum number of tasks per process is
+     * randomly lowered, for each office process and at each restart. Since the pool spreads the
+     * tasks evenly between its office processes, they would otherwise all reach the maximum number
+     * of tasks, and restart, at about the same time. A value of 0 disables the jitter.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0
+     *
+     * @param maxTasksPerProcessJitter The maximum number of tasks subtracted from the maximum
+     *     number of tasks per process.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder maxTasksPerProcessJitter(@Nullable final Integer maxTasksPerProcessJitter) {
+
+      if (maxTasksPerProcessJitter != null) {
+        Validate.inclusiveBetween(
+            0,
+            Integer.MAX_VALUE,
+            maxTasksPerProcessJitter,
+            String.format(
+                "maxTasksPerProcessJitter %s must greater than or equal to 0",
+                maxTasksPerProcessJitter));
+      }
+      this.maxTasksPerProcessJitter = maxTasksPerProcessJitter;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum fraction of the office processes of the pool that can restart at the
+     * same time. An office process reaching its maximum number of tasks defers its restart, and
+     * keeps executing tasks, while this fraction of the office processes is restarting, so that
+     * the pool never loses most of its capacity at once. Restarts after a crash or a task timeout
+     * are never deferred, but count as restarting office processes. At least one office process
+     * can always restart.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 1 (no limit)
+     *
+     * @param maxRestartingRatio The fraction, greater than 0 and up to 1, of the office processes
+     *     that can restart at the same time.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder maxRestartingRatio(@Nullable final Double maxRestartingRatio) {
+
+      if (maxRestartingRatio != null) {
+        Validate.isTrue(
+            maxRestartingRatio > 0D && maxRestartingRatio <= 1D,
+            "maxRestartingRatio %s must be greater than 0 and less than or equal to 1",
+            maxRestartingRatio);
+      }
+      this.maxRestartingRatio = maxRestartingRatio;
+      return this;
+    }
+
+    /**
+     * Specifies the policy deciding when an office process must be restarted, in addition to the
+     * maximum number of tasks per process. The number of tasks is a poor proxy of the memory an
+     * office process accumulates, so an office process can rather be restarted according to its
+     * resident memory, its age or its idle time. See the static methods of {@link RecyclePolicy}
+     * for the built-in policies. To only rely on the policy, set a high maximum number of tasks per
+     * process. The policy is evaluated after each task and, while the office process is idle, at
+     * each heartbeat, or every 10 seconds without heartbeat.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: No recycle policy.
+     *
+     * @param recyclePolicy The recycle policy.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder recyclePolicy(@Nullable final RecyclePolicy recyclePolicy) {
+
+      this.recyclePolicy = recyclePolicy;
+      return this;
+    }
+
+    /**
+     * Specifies the delay, in milliseconds, between each heartbeat sent to an idle office process.
+     * A heartbeat is a cheap call the office process must answer within the heartbeat timeout;
+     * otherwise, the office process is considered hung and is restarted before any task is handed
+     * to it. Without heartbeats, an office process hung while idle is only detected when the next
+     * task reaches the task execution timeout. The latency of the heartbeats is available in the
+     * statistics of the pool entries.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 0 (no heartbeat)
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds, 0 to disable heartbeats.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder heartbeatInterval(@Nullable final Long heartbeatInterval) {
+
+      if (heartbeatInterval != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            heartbeatInterval,
+            String.format(
+                "heartbeatInterval %s must be greater than or equal to 0", heartbeatInterval));
+      }
+      this.heartbeatInterval = heartbeatInterval;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum time, in milliseconds, an idle office process has to answer a
+     * heartbeat before it is restarted. See {@link #heartbeatInterval(Long)}.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 5000 (5 seconds)
+     *
+     * @param heartbeatTimeout The heartbeat timeout, in milliseconds.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder heartbeatTimeout(@Nullable final Long heartbeatTimeout) {
+
+      if (heartbeatTimeout != null) {
+        Validate.inclusiveBetween(
+            1,
+            Long.MAX_VALUE,
+            heartbeatTimeout,
+            String.format("heartbeatTimeout %s must be greater than 0", heartbeatTimeout));
+      }
+      this.heartbeatTimeout = heartbeatTimeout;
+      return this;
+    }
+
+    /**
+     * Specifies the maximum time, in milliseconds, a task that did not complete within the task
+     * execution timeout has to be cancelled before its office process is restarted. The task is
+     * cancelled by closing all the documents of the office process, which only executes this task,
+     * and spares the cost of restarting the office process when the task was only slow, on a large
+     * document for instance.
+     * If the task is not over, or the office process does not answer, within this grace period,
+     * the office process is restarted.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: 5000 (5 seconds)
+     *
+     * @param taskCancelGracePeriod The grace period, in milliseconds, 0 to restart the office
+     *     process right away.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder taskCancelGracePeriod(@Nullable final Long taskCancelGracePeriod) {
+
+      if (taskCancelGracePeriod != null) {
+        Validate.inclusiveBetween(
+            0,
+            Long.MAX_VALUE,
+            taskCancelGracePeriod,
+            String.format(
+                "taskCancelGracePeriod %s must be greater than or equal to 0",
+                taskCancelGracePeriod));
+      }
+      this.taskCancelGracePeriod = taskCancelGracePeriod;
+      return this;
+    }
+
     /**
      * Specifies whether OpenGL must be disabled when starting a new office process. Nothing will be
      * done if OpenGL is already disabled according to the user profile used with the office
@@ -479,5 +1010,48 @@ public final class LocalOfficeManager extends AbstractOfficeManagerPool {
       this.disableOpengl = disableOpengl;
       return this;
     }
+
+    /**
+     * Specifies the conversions each office process executes once started or restarted, before it
+     * executes any task. The first conversion of each document family is much slower on a new
+     * office process, because filters, fonts and libraries are loaded lazily; warming up the office
+     * processes makes the execution time of the first tasks after a start or a restart
+     * predictable. A failed warm-up conversion is logged and does not prevent the office process
+     * from executing tasks.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: No warm-up conversion.
+     *
+     * @param warmUpConversions The warm-up conversions.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder warmUpConversions(@Nullable final WarmUpConversion... warmUpConversions) {
+
+      if (warmUpConversions != null && warmUpConversions.length != 0) {
+        this.warmUpConversions = Arrays.asList(warmUpConversions);
+      }
+      return this;
+    }
+
+    /**
+     * Specifies whether each office process of the pool is backed by a standby office process,
+     * started and connected in advance, that takes over when the maximum number of tasks per
+     * process is reached. The replaced office process is then restarted in the background and
+     * becomes the new standby process, so no task waits for an office process to restart. Each
+     * standby process uses an additional port number, or pipe name, that is allocated
+     * automatically, and consumes as much memory as a regular office process.
+     *
+     * <p>&nbsp; <b><i>Default</i></b>: false
+     *
+     * @param warmStandby {@code true} to keep a standby office process for each office process,
+     *     {@code false} otherwise.
+     * @return This builder instance.
+     */
+    @NonNull
+    public Builder warmStandby(@Nullable final Boolean warmStandby) {
+
+      this.warmStandby = warmStandby;
+      return this;
+    }
   }
 }
@@ -20,6 +20,8 @@
 package org.jodconverter.local.office;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -55,6 +57,8 @@ public final class LocalOfficeUtils {
   private static final String EXECUTABLE_MAC_41 = "MacOS/soffice";
   private static final String EXECUTABLE_WINDOWS = "program/soffice.exe";
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalOfficeUtils.class);
+  // The estimated memory used by a running office process.
+  private static final long OFFICE_PROCESS_MEMORY = 300L * 1024L * 1024L; // 300 MB
 
   /**
    * This class is required in order to create a default office home only on demand, as explained by
@@ -203,6 +207,26 @@ public final class LocalOfficeUtils {
     return officeUrls;
   }
 
+  /**
+   * Gets the default maximum number of office processes a pool should run, according to the
+   * available processors and the physical memory of the machine. Half of the physical memory is
+   * reserved for the JVM and the rest of the system.
+   *
+   * @return The default maximum pool size, at least 1.
+   */
+  public static int getDefaultMaxPoolSize() {
+
+    final int processors = Runtime.getRuntime().availableProcessors();
+    final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (!(os instanceof com.sun.management.OperatingSystemMXBean)) {
+      return Math.max(1, processors);
+    }
+
+    final long memory =
+        ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+    return (int) Math.max(1L, Math.min(processors, memory / 2L / OFFICE_PROCESS_MEMORY));
+  }
+
   /**
    * Gets the default office home directory, which is auto-detected.
    *
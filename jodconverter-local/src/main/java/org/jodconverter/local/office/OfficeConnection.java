@@ -30,6 +30,7 @@ import com.sun.star.bridge.XBridgeFactory;
 import com.sun.star.comp.helper.Bootstrap;
 import com.sun.star.connection.XConnection;
 import com.sun.star.connection.XConnector;
+import com.sun.star.container.XEnumeration;
 import com.sun.star.frame.XComponentLoader;
 import com.sun.star.frame.XDesktop;
 import com.sun.star.lang.EventObject;
@@ -37,6 +38,8 @@ import com.sun.star.lang.XComponent;
 import com.sun.star.lang.XEventListener;
 import com.sun.star.lang.XMultiComponentFactory;
 import com.sun.star.uno.XComponentContext;
+import com.sun.star.util.CloseVetoException;
+import com.sun.star.util.XCloseable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -249,6 +252,79 @@ public class OfficeConnection implements LocalOfficeContext, XEventListener {
     return Lo.qi(XDesktop.class, desktopService);
   }
 
+  /**
+   * Checks that the office instance answers on this connection, by making a cheap call that goes
+   * through the main thread of the office instance. This call blocks as long as the office instance
+   * does not answer, so the caller is responsible for enforcing a timeout.
+   *
+   * @throws OfficeConnectionException If we are not connected or the call failed.
+   */
+  public void heartbeat() throws OfficeConnectionException {
+
+    final String connectPart = officeUrl.getConnectionAndParametersAsString();
+    final Object desktop = desktopService;
+    if (!connected.get() || desktop == null) {
+      throw new OfficeConnectionException("Not connected: '" + connectPart + "'", connectPart);
+    }
+    try {
+      Lo.qi(XDesktop.class, desktop).getCurrentComponent();
+    } catch (RuntimeException ex) {
+      throw new OfficeConnectionException(
+          String.format("Heartbeat failed: '%s'; %s", connectPart, ex.getMessage()),
+          connectPart,
+          ex);
+    }
+  }
+
+  /**
+   * Closes all the documents opened by the office instance, including a document still being
+   * loaded or stored by a task running on another thread, which then fails. Like {@link
+   * #heartbeat()}, this call blocks as long as the office instance does not answer.
+   *
+   * <p>Every document of the desktop is closed, whoever opened it. This is only safe when the
+   * office instance is dedicated to this connection and executes one task at a time, as the office
+   * processes started by a {@link LocalOfficeManager}: the documents then all belong to the running
+   * task.
+   *
+   * @return The number of documents closed.
+   * @throws OfficeConnectionException If we are not connected or the documents could not be closed.
+   */
+  public int closeDocuments() throws OfficeConnectionException {
+
+    final String connectPart = officeUrl.getConnectionAndParametersAsString();
+    final Object desktop = desktopService;
+    if (!connected.get() || desktop == null) {
+      throw new OfficeConnectionException("Not connected: '" + connectPart + "'", connectPart);
+    }
+    try {
+      int count = 0;
+      final XEnumeration documents =
+          Lo.qi(XDesktop.class, desktop).getComponents().createEnumeration();
+      while (documents.hasMoreElements()) {
+        final Object document = documents.nextElement();
+        // Use XCloseable.close if the interface is supported, otherwise use XComponent.dispose
+        final XCloseable closeable = Lo.qiOptional(XCloseable.class, document).orElse(null);
+        if (closeable == null) {
+          Lo.qi(XComponent.class, document).dispose();
+        } else {
+          try {
+            // Give up ownership, so that whoever vetoes the close closes the document later.
+            closeable.close(true);
+          } catch (CloseVetoException ignored) {
+            // whoever raised the veto should close the document
+          }
+        }
+        count++;
+      }
+      return count;
+    } catch (com.sun.star.uno.Exception | RuntimeException ex) {
+      throw new OfficeConnectionException(
+          String.format("Closing documents failed: '%s'; %s", connectPart, ex.getMessage()),
+          connectPart,
+          ex);
+    }
+  }
+
   /**
    * Gets whether we are connected to an office instance.
    *
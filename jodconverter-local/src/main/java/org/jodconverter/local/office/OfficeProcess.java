@@ -60,7 +60,7 @@ class OfficeProcess {
   private final File officeHome;
   private final ProcessManager processManager;
   private final List<String> runAsArgs;
-  private final File templateProfileDir;
+  private volatile File templateProfileDir;
   private final boolean killExistingProcess;
   private final File instanceProfileDir;
 
@@ -300,6 +300,15 @@ class OfficeProcess {
     }
   }
 
+  /**
+   * Gets the process id of the office process.
+   *
+   * @return The pid of the process, or a negative value if the pid is not known.
+   */
+  public long getPid() {
+    return pid;
+  }
+
   /**
    * Gets whether the office process is running.
    *
@@ -310,6 +319,17 @@ class OfficeProcess {
     return process != null && getExitCode() == null;
   }
 
+  /**
+   * Sets the directory to copy to the instance profile directory the next time the office process
+   * is started.
+   *
+   * @param templateProfileDir The new template profile directory, or {@code null} to start with a
+   *     new profile.
+   */
+  /* default */ void setTemplateProfileDir(@Nullable final File templateProfileDir) {
+    this.templateProfileDir = templateProfileDir;
+  }
+
   /**
    * Prepare the profile directory of the office process.
    *
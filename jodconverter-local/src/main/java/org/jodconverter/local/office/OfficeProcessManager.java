@@ -23,15 +23,13 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import com.sun.star.lang.DisposedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.jodconverter.core.office.NamedThreadFactory;
 import org.jodconverter.core.office.OfficeException;
 import org.jodconverter.core.office.RetryTimeoutException;
 import org.jodconverter.local.process.ProcessManager;
@@ -56,7 +54,7 @@ class OfficeProcessManager {
 
   private final OfficeProcess process;
   private final OfficeConnection connection;
-  private final ExecutorService executor;
+  private final Executor executor;
   private final long processTimeout;
   private final long processRetryInterval;
 
@@ -76,6 +74,8 @@ class OfficeProcessManager {
    *     call (start/terminate).
    * @param processRetryInterval The delay, in milliseconds, between each try when trying to execute
    *     an office process call (start/terminate).
+   * @param executor The executor whose threads execute the process calls, shared with the other
+   *     office process managers of the pool.
    */
   public OfficeProcessManager(
       final OfficeUrl officeUrl,
@@ -86,7 +86,8 @@ class OfficeProcessManager {
       final File templateProfileDir,
       final Boolean killExistingProcess,
       final Long processTimeout,
-      final Long processRetryInterval) {
+      final Long processRetryInterval,
+      final Executor executor) {
 
     process =
         new OfficeProcess(
@@ -98,8 +99,9 @@ class OfficeProcessManager {
             templateProfileDir,
             killExistingProcess);
     connection = new OfficeConnection(officeUrl);
-    executor =
-        Executors.newSingleThreadExecutor(new NamedThreadFactory("jodconverter-officeprocess"));
+    // Process calls are executed one at a time, by the threads shared with the other office
+    // processes. A thread is only needed while the process is started, restarted or stopped.
+    this.executor = new SerialExecutor(executor);
     this.processTimeout = processTimeout == null ? DEFAULT_PROCESS_TIMEOUT : processTimeout;
     this.processRetryInterval =
         processRetryInterval == null ? DEFAULT_PROCESS_RETRY_INTERVAL : processRetryInterval;
@@ -217,6 +219,25 @@ class OfficeProcessManager {
     return connection;
   }
 
+  /**
+   * Sets the directory to copy to the instance profile directory the next time the office process
+   * is started.
+   *
+   * @param templateProfileDir The new template profile directory.
+   */
+  /* default */ void setTemplateProfileDir(final File templateProfileDir) {
+    process.setTemplateProfileDir(templateProfileDir);
+  }
+
+  /**
+   * Gets the process id of the office process of this manager.
+   *
+   * @return The pid of the office process, or a negative value if the pid is not known.
+   */
+  /* default */ long getPid() {
+    return process.getPid();
+  }
+
   /**
    * Restarts an office process and wait until we are connected to the restarted process.
    *
@@ -237,6 +258,24 @@ class OfficeProcessManager {
         });
   }
 
+  /**
+   * Restarts the office process without waiting until we are connected to the restarted process.
+   */
+  public void restartInBackground() {
+
+    // Execute the restart task
+    LOGGER.info("Executing task 'Restart In Background'...");
+    executor.execute(
+        () -> {
+          try {
+            doStopProcess(false);
+            doStartProcessAndConnect(true);
+          } catch (OfficeException officeEx) {
+            LOGGER.error("Could not restart process in background.", officeEx);
+          }
+        });
+  }
+
   /** Restarts the office process when the connection is lost. */
   public void restartDueToLostConnection() {
 
@@ -272,6 +311,22 @@ class OfficeProcessManager {
         });
   }
 
+  /** Restarts the office process when it does not answer a heartbeat. */
+  public void restartDueToFailedHeartbeat() {
+
+    // Execute the restart task
+    LOGGER.info("Executing task 'Restart After Failed Heartbeat'...");
+    executor.execute(
+        () -> {
+          try {
+            // This will cause unexpected disconnection and subsequent restart.
+            doTerminateProcess();
+          } catch (OfficeException officeException) {
+            LOGGER.error("Could not terminate process after failed heartbeat.", officeException);
+          }
+        });
+  }
+
   /**
    * Starts an office process and wait until we are connected to the running process.
    *
@@ -311,7 +366,8 @@ class OfficeProcessManager {
       throws OfficeException {
 
     LOGGER.info("Submitting task '{}' and waiting...", taskName);
-    final Future<Void> future = executor.submit(task);
+    final FutureTask<Void> future = new FutureTask<>(task);
+    executor.execute(future);
 
     // Wait for completion of the restart task
     try {
@@ -20,10 +20,23 @@
 package org.jodconverter.local.office;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.sun.star.beans.XHierarchicalPropertySet;
 import com.sun.star.beans.XHierarchicalPropertySetInfo;
@@ -31,11 +44,14 @@ import com.sun.star.lang.XComponent;
 import com.sun.star.uno.XComponentContext;
 import com.sun.star.util.XChangesBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.jodconverter.core.office.AbstractOfficeManagerPoolEntry;
+import org.jodconverter.core.office.NamedThreadFactory;
 import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.office.OfficeManagerFailureException;
 import org.jodconverter.core.task.OfficeTask;
 import org.jodconverter.local.office.utils.Info;
 import org.jodconverter.local.office.utils.Lo;
@@ -48,7 +64,34 @@ import org.jodconverter.local.process.ProcessManager;
  * configured task execution timeout is reached.
  *
  * <p>An {@link OfficeProcessManagerPoolEntry} is also responsible to restart an office process when
- * the maximum number of tasks per process is reached.
+ * the maximum number of tasks per process is reached. When a standby office URL is specified, the
+ * entry keeps a second office process started and connected, and switches to it when the maximum
+ * number of tasks per process is reached; the previous process is then restarted in the background
+ * and becomes the new standby process.
+ *
+ * <p>An office process can also be restarted according to a {@link RecyclePolicy}, based on its
+ * resident memory, its age or its idle time for instance. The policy is evaluated after each task,
+ * once the memory the task needed is known, and periodically while the office process is idle, so
+ * that the office process is restarted before the next task arrives rather than delaying it.
+ *
+ * <p>To prevent the office processes of a pool from restarting at the same time, the maximum number
+ * of tasks of each office process can be lowered by a random number of tasks, renewed at each
+ * restart, and a {@link RestartCoordinator} shared by the entries of the pool can defer a restart
+ * while too many office processes are restarting.
+ *
+ * <p>When warm-up conversions are configured, they are executed each time an office process is
+ * connected, and the entry only becomes available once they are done, so that the first tasks
+ * executed by a new office process do not pay for the lazy loading of its filters and fonts.
+ *
+ * <p>When a heartbeat interval is configured, the entry periodically checks that its idle office
+ * process still answers, so that an office process hung while idle is restarted before a task is
+ * handed to it, rather than when that task reaches the task execution timeout.
+ *
+ * <p>When a task does not complete within the task execution timeout, or is cancelled, the entry
+ * first tries to cancel it by closing the documents of the office process, and only restarts the
+ * office process if the task is not over, and the office process does not answer, within a grace
+ * period. The interrupt alone would not stop a task waiting for the office process. Since the
+ * office process executes one task at a time, all its documents belong to the running task.
  *
  * @see org.jodconverter.local.office.OfficeProcessManager
  * @see org.jodconverter.local.office.LocalOfficeManager
@@ -63,12 +106,49 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
   private static final boolean DEFAULT_DISABLE_OPENGL = false;
   // The path to the UseOpenGL configuration property.
   private static final String PROP_PATH_USE_OPENGL = "VCL/UseOpenGL";
-
+  // The maximum time a restart waits for the warm-up conversions.
+  private static final long WARM_UP_TIMEOUT = 30_000L; // 30 seconds
+  // The time the warm-up thread is kept alive when idle.
+  private static final long WARM_UP_KEEP_ALIVE_TIME = 60_000L; // 1 minute
+  // The default delay between each heartbeat sent to an idle office process (disabled).
+  private static final long DEFAULT_HEARTBEAT_INTERVAL = 0L;
+  // The default time an office process has to answer a heartbeat.
+  private static final long DEFAULT_HEARTBEAT_TIMEOUT = 5_000L; // 5 seconds
+  // The delay between each evaluation of the recycle policy while idle, without heartbeat.
+  private static final long RECYCLE_CHECK_INTERVAL = 10_000L; // 10 seconds
+  // The default time a timed out task has to be cancelled before the office process is restarted.
+  private static final long DEFAULT_TASK_CANCEL_GRACE_PERIOD = 5_000L; // 5 seconds
+
+  private final File workingDir;
   private final int maxTasksPerProcess;
+  private final int maxTasksPerProcessJitter;
+  private final RestartCoordinator restartCoordinator;
+  private final RecyclePolicy recyclePolicy;
+  private final AtomicBoolean restarting = new AtomicBoolean(false);
   private final boolean disableOpengl;
-  private final OfficeProcessManager officeProcessManager;
+  private final List<WarmUpConversion> warmUpConversions;
+  private final ExecutorService warmUpExecutor;
+  private volatile Future<?> warmUpFuture;
+  private final long heartbeatInterval;
+  private final long heartbeatTimeout;
+  // Held while a task, a heartbeat or a recycle is executed, so that the idle checks (heartbeat and
+  // recycle policy) only happen when idle.
+  private final ReentrantLock executionLock = new ReentrantLock();
+  private final OfficeProcessMonitor monitor;
+  private final boolean ownsMonitor;
+  private volatile ScheduledFuture<?> idleCheckFuture;
+  // Why the office process must be restarted before the next task, if it must.
+  private volatile String recycleReason;
+  private final long taskCancelGracePeriod;
+  private final AtomicBoolean cancelling = new AtomicBoolean(false);
+  private final Map<OfficeProcessManager, AtomicBoolean> disconnectExpected =
+      new IdentityHashMap<>();
+  private final Map<OfficeProcessManager, AtomicLong> connectTimes = new IdentityHashMap<>();
   private final AtomicInteger taskCount = new AtomicInteger(0);
-  private final AtomicBoolean disconnectExpected = new AtomicBoolean(false);
+  private volatile int taskLimit;
+  private volatile long lastTaskTime = System.nanoTime();
+  private volatile OfficeProcessManager officeProcessManager;
+  private volatile OfficeProcessManager standbyProcessManager;
 
   /**
    * Creates a new pool entry for the specified office URL with the specified configuration.
@@ -89,11 +169,34 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
    * @param taskExecutionTimeout The maximum time allowed to process a task. If the processing time
    *     of a task is longer than this timeout, this task will be aborted and the next task is
    *     processed.
+   * @param directExecution Indicates whether tasks are executed by the calling thread rather than
+   *     by a thread dedicated to this entry.
    * @param maxTasksPerProcess The maximum number of tasks an office process can execute before
    *     restarting.
    * @param disableOpengl Indicates whether OpenGL must be disabled when starting a new office
    *     process. Nothing will be done if OpenGL is already disabled according to the user profile
    *     used with the office process. If the options is changed, then office must be restarted.
+   * @param warmUpConversions The conversions executed by an office process once connected, before
+   *     it executes tasks.
+   * @param maxTasksPerProcessJitter The maximum number of tasks by which the maximum number of
+   *     tasks of an office process is randomly lowered, at each restart.
+   * @param restartCoordinator The coordinator limiting the number of office processes of the pool
+   *     restarting at the same time, or {@code null} if there is no limit.
+   * @param recyclePolicy The policy deciding when an office process must be restarted, in addition
+   *     to the maximum number of tasks per process, or {@code null} if there is none.
+   * @param heartbeatInterval The delay, in milliseconds, between each heartbeat sent to the idle
+   *     office process, 0 meaning no heartbeat is sent.
+   * @param heartbeatTimeout The maximum time, in milliseconds, the office process has to answer a
+   *     heartbeat before it is restarted.
+   * @param taskCancelGracePeriod The maximum time, in milliseconds, a task that did not complete
+   *     within the task execution timeout has to be cancelled by closing its document before the
+   *     office process is restarted, 0 meaning the office process is restarted right away.
+   * @param standbyOfficeUrl The URL for which a standby office process is created, or {@code null}
+   *     to restart the office process in place when the maximum number of tasks per process is
+   *     reached.
+   * @param monitor The monitor executing the checks of the office processes, shared by the entries
+   *     of the pool and started along with the pool, or {@code null} for the entry to start and
+   *     stop a monitor of its own.
    */
   OfficeProcessManagerPoolEntry(
       final OfficeUrl officeUrl,
@@ -106,11 +209,24 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
       final Long processTimeout,
       final Long processRetryInterval,
       final Long taskExecutionTimeout,
+      final Boolean directExecution,
       final Integer maxTasksPerProcess,
-      final Boolean disableOpengl) {
-    super(taskExecutionTimeout);
-
-    // Create the process manager that will deal with the office instance
+      final Boolean disableOpengl,
+      final List<WarmUpConversion> warmUpConversions,
+      final Integer maxTasksPerProcessJitter,
+      @Nullable final RestartCoordinator restartCoordinator,
+      @Nullable final RecyclePolicy recyclePolicy,
+      final Long heartbeatInterval,
+      final Long heartbeatTimeout,
+      final Long taskCancelGracePeriod,
+      @Nullable final OfficeUrl standbyOfficeUrl,
+      @Nullable final OfficeProcessMonitor monitor) {
+    super(taskExecutionTimeout, directExecution);
+
+    this.ownsMonitor = monitor == null;
+    this.monitor = monitor == null ? new OfficeProcessMonitor() : monitor;
+
+    // Create the process managers that will deal with the office instances
     officeProcessManager =
         new OfficeProcessManager(
             officeUrl,
@@ -121,14 +237,72 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
             templateProfileDir,
             killExistingProcess,
             processTimeout,
-            processRetryInterval);
-
+            processRetryInterval,
+            this.monitor::executeProcessCall);
+    standbyProcessManager =
+        standbyOfficeUrl == null
+            ? null
+            : new OfficeProcessManager(
+                standbyOfficeUrl,
+                officeHome,
+                workingDir,
+                processManager,
+                runAsArgs,
+                templateProfileDir,
+                killExistingProcess,
+                processTimeout,
+                processRetryInterval,
+                this.monitor::executeProcessCall);
+
+    this.workingDir = workingDir;
     this.maxTasksPerProcess =
         maxTasksPerProcess == null ? DEFAULT_MAX_TASKS_PER_PROCESS : maxTasksPerProcess;
+    this.maxTasksPerProcessJitter =
+        maxTasksPerProcessJitter == null ? 0 : Math.max(0, maxTasksPerProcessJitter);
+    this.restartCoordinator = restartCoordinator;
+    this.recyclePolicy = recyclePolicy;
+    this.taskLimit = nextTaskLimit();
     this.disableOpengl = disableOpengl == null ? DEFAULT_DISABLE_OPENGL : disableOpengl;
+    this.warmUpConversions =
+        warmUpConversions == null ? Collections.emptyList() : warmUpConversions;
+    if (this.warmUpConversions.isEmpty()) {
+      warmUpExecutor = null;
+    } else {
+      // The warm-up conversions cannot be executed by the thread notifying the connection, which
+      // holds the connection lock. The thread is only needed after a connection.
+      final ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              WARM_UP_KEEP_ALIVE_TIME,
+              TimeUnit.MILLISECONDS,
+              new LinkedBlockingQueue<>(),
+              new NamedThreadFactory("jodconverter-warmup"));
+      executor.allowCoreThreadTimeOut(true);
+      warmUpExecutor = executor;
+    }
+    this.heartbeatInterval =
+        heartbeatInterval == null ? DEFAULT_HEARTBEAT_INTERVAL : heartbeatInterval;
+    this.heartbeatTimeout = heartbeatTimeout == null ? DEFAULT_HEARTBEAT_TIMEOUT : heartbeatTimeout;
+    this.taskCancelGracePeriod =
+        taskCancelGracePeriod == null ? DEFAULT_TASK_CANCEL_GRACE_PERIOD : taskCancelGracePeriod;
+
+    // Listen to any connection events to the office instances.
+    addConnectionEventListener(officeProcessManager);
+    if (standbyProcessManager != null) {
+      addConnectionEventListener(standbyProcessManager);
+    }
+  }
+
+  private void addConnectionEventListener(final OfficeProcessManager processManager) {
+
+    disconnectExpected.put(processManager, new AtomicBoolean(false));
+    final AtomicLong connectTime = new AtomicLong(System.nanoTime());
+    connectTimes.put(processManager, connectTime);
 
     // This connection event listener will be notified when a connection is established or
-    // closed/lost to/from an office instance.
+    // closed/lost to/from an office instance. Only the events of the office instance currently
+    // executing the tasks change the availability of this entry.
     final OfficeConnectionEventListener connectionEventListener =
         new OfficeConnectionEventListener() {
 
@@ -136,9 +310,28 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
           @Override
           public void connected(final OfficeConnectionEvent event) {
 
-            // Reset the task count and make the manager available.
-            taskCount.set(0);
-            setAvailable(true);
+            // Reset the task count and make the manager available, once the office process is
+            // warmed up if required.
+            connectTime.set(System.nanoTime());
+            final boolean active = processManager == officeProcessManager;
+            if (active) {
+              taskCount.set(0);
+              recycleReason = null;
+              lastTaskTime = System.nanoTime();
+              taskLimit = nextTaskLimit();
+              recordRestart();
+              endRestart();
+            }
+            if (warmUpExecutor == null) {
+              if (active) {
+                setAvailable(true);
+              }
+            } else {
+              final Future<?> warmUp = warmUpExecutor.submit(() -> warmUp(processManager));
+              if (active) {
+                warmUpFuture = warmUp;
+              }
+            }
           }
 
           // A connection is closed/lost.
@@ -146,52 +339,353 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
           public void disconnected(final OfficeConnectionEvent event) {
 
             // Make the manager unavailable.
-            setAvailable(false);
+            final boolean active = processManager == officeProcessManager;
+            if (active) {
+              setAvailable(false);
+            }
 
             // When it comes from an expected behavior (we have put
             // the field to true before calling a function), just reset
             // the disconnectExpected value to false. When we didn't expect
             // the disconnection, we must restart the office process, which
             // will cancel any task that may be running.
-            if (!disconnectExpected.compareAndSet(true, false)) {
+            if (!disconnectExpected.get(processManager).compareAndSet(true, false)) {
 
               // Here, we didn't expect this disconnection. We must restart
-              // the office process, canceling any task that may be running.
+              // the office process, aborting any task that may be running.
               LOGGER.warn("Connection lost unexpectedly; attempting restart");
-              cancelTask();
-              officeProcessManager.restartDueToLostConnection();
+              if (active) {
+                abortTask();
+                beginRequiredRestart();
+              }
+              processManager.restartDueToLostConnection();
             }
           }
         };
+    processManager.getConnection().addConnectionEventListener(connectionEventListener);
+  }
+
+  private void warmUp(final OfficeProcessManager processManager) {
+
+    final OfficeConnection connection = processManager.getConnection();
+    for (final WarmUpConversion conversion : warmUpConversions) {
+      if (!connection.isConnected()) {
+        // The connected event of the next connection will warm up the office process again.
+        return;
+      }
+      try {
+        new ProbeTask(workingDir, conversion).execute(connection);
+      } catch (OfficeException | RuntimeException ex) {
+        // The office process can still execute tasks, only more slowly the first time.
+        LOGGER.warn("Warm-up conversion {} failed", conversion, ex);
+      }
+    }
+    LOGGER.debug("Office process warmed up with {}", warmUpConversions);
 
-    // Listen to any connection events to the office instance.
-    officeProcessManager.getConnection().addConnectionEventListener(connectionEventListener);
+    if (processManager == officeProcessManager && connection.isConnected()) {
+      setAvailable(true);
+    }
   }
 
   @Override
   public void doExecute(@NonNull final OfficeTask task) throws OfficeException {
 
-    // First check if the office process must be restarted
-    final int count = taskCount.getAndIncrement();
-    if (maxTasksPerProcess > 0 && count == maxTasksPerProcess) {
+    // A task waits for a heartbeat in progress, which is bounded by the heartbeat timeout.
+    executionLock.lock();
+    try {
+      executeTask(task);
+    } finally {
+      executionLock.unlock();
+    }
+
+    // Recycle the office process right away rather than when the next task arrives.
+    if (recycleReason != null) {
+      monitor.execute(this::checkIdle);
+    }
+  }
+
+  private void executeTask(final OfficeTask task) throws OfficeException {
+
+    // First check if the office process must be restarted, which is usually done while idle. A
+    // deferred restart is attempted again before each task until it is allowed.
+    final String reason = recycleReason;
+    if (reason != null) {
+      recycle(reason);
+    }
+    taskCount.getAndIncrement();
+
+    // Execute the task, observing the memory the office process needs to execute it.
+    final OfficeProcessManager processManager = officeProcessManager;
+    final long pid = processManager.getPid();
+    final long residentSetSize = ProcessMemory.resetPeak(pid);
+    try {
+      task.execute(processManager.getConnection());
+    } catch (OfficeException | RuntimeException ex) {
+      // A task failing because the office process went away says nothing about the task itself.
+      if (!processManager.getConnection().isConnected()) {
+        throw new OfficeManagerFailureException(
+            "Connection to the office process lost while executing task: " + task, ex);
+      }
+      throw ex;
+    } finally {
+      final long peakResidentSetSize = residentSetSize < 0L ? -1L : ProcessMemory.getPeak(pid);
+      recordTaskMemoryUsage(
+          peakResidentSetSize < 0L ? -1L : Math.max(0L, peakResidentSetSize - residentSetSize));
+      lastTaskTime = System.nanoTime();
+
+      // The policy sees the memory the office process kept after the task.
+      if (recycleReason == null && processManager == officeProcessManager) {
+        recycleReason = getRecycleReason(taskCount.get());
+      }
+    }
+  }
+
+  /**
+   * Restarts the office process, or switches to the standby process, unless too many office
+   * processes are restarting. Must be called while holding the execution lock.
+   *
+   * @param reason Why the office process must be restarted.
+   * @throws OfficeException If the office process cannot be restarted.
+   */
+  private void recycle(final String reason) throws OfficeException {
+
+    final OfficeProcessManager standby = standbyProcessManager;
+    if (standby != null && standby.getConnection().isConnected()) {
+
+      LOGGER.info("{}; switching to standby process...", reason);
+      switchToStandby(standby);
+    } else if (beginRestart()) {
 
-      LOGGER.info(
-          "Reached limit of {} maximum tasks per process; restarting...", maxTasksPerProcess);
-      restart();
+      LOGGER.info("{}; restarting...", reason);
+      try {
+        restart();
+      } finally {
+        endRestart();
+      }
+    } else {
+
+      LOGGER.debug("{}; too many office processes restarting, restart deferred", reason);
+      return;
+    }
+    recycleReason = null;
+  }
+
+  private void checkIdle() {
+
+    // An entry executing a task is not idle; its task execution timeout already watches it.
+    if (!executionLock.tryLock()) {
+      return;
+    }
+    try {
+      final OfficeProcessManager processManager = officeProcessManager;
+      final OfficeConnection connection = processManager.getConnection();
+      final Future<?> warmUp = warmUpFuture;
+      if (!isRunning()
+          || !connection.isConnected()
+          || restarting.get()
+          || cancelling.get()
+          || (warmUp != null && !warmUp.isDone())) {
+        return;
+      }
+
+      // The age and the idle time of the office process grow while no task is executed.
+      String reason = recycleReason;
+      if (reason == null) {
+        reason = getRecycleReason(taskCount.get());
+        recycleReason = reason;
+      }
+      if (reason != null) {
+        try {
+          recycle(reason);
+        } catch (OfficeException ex) {
+          LOGGER.warn("Unable to restart idle office process", ex);
+        }
+        return;
+      }
+
+      if (heartbeatInterval > 0L
+          && System.nanoTime() - lastTaskTime >= TimeUnit.MILLISECONDS.toNanos(heartbeatInterval)) {
+        heartbeat(processManager, connection);
+      }
+    } finally {
+      executionLock.unlock();
+    }
+  }
+
+  private void heartbeat(
+      final OfficeProcessManager processManager, final OfficeConnection connection) {
+
+    final long start = System.nanoTime();
+    final ScheduledFuture<?> timeout =
+        monitor.watch(
+            () -> {
+              recordHeartbeatLatency(heartbeatTimeout);
+              heartbeatFailed(
+                  processManager,
+                  "Office process did not answer heartbeat within " + heartbeatTimeout + "ms",
+                  null);
+            },
+            heartbeatTimeout);
+    try {
+      connection.heartbeat();
+      if (timeout.cancel(false)) {
+        recordHeartbeatLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+    } catch (OfficeConnectionException ex) {
+      // The connection may have been lost on purpose meanwhile, or by a crash that has already
+      // been handled by the connection event listener.
+      if (timeout.cancel(false) && connection.isConnected()) {
+        recordHeartbeatLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        heartbeatFailed(processManager, "Office process failed to answer heartbeat", ex);
+      }
+    }
+  }
+
+  private void heartbeatFailed(
+      final OfficeProcessManager processManager, final String message, final Exception cause) {
+
+    // Nothing to do if the office process has been replaced or stopped meanwhile.
+    if (processManager != officeProcessManager || idleCheckFuture == null) {
+      return;
+    }
+
+    // No task must be handed to this entry until the office process is restarted. The restart
+    // causes an unexpected disconnection, which restarts the office process.
+    LOGGER.warn("{}; restarting...", message, cause);
+    setAvailable(false);
+    processManager.restartDueToFailedHeartbeat();
+  }
+
+  /**
+   * Gets why the current office process must be restarted before executing the next task.
+   *
+   * @param count The number of tasks the office process has executed.
+   * @return The reason of the restart, or {@code null} if the office process must not be
+   *     restarted.
+   */
+  private String getRecycleReason(final int count) {
 
-      // taskCount will be 0 rather than 1 at this point, so fix this.
-      taskCount.getAndIncrement();
+    final int limit = taskLimit;
+    if (maxTasksPerProcess > 0 && count >= limit) {
+      return "Reached limit of " + limit + " maximum tasks per process";
+    }
+    if (recyclePolicy == null) {
+      return null;
     }
 
-    // Execute the task
-    task.execute(officeProcessManager.getConnection());
+    final OfficeProcessManager processManager = officeProcessManager;
+    final long now = System.nanoTime();
+    final OfficeProcessStatus status =
+        new OfficeProcessStatus(
+            count,
+            TimeUnit.NANOSECONDS.toMillis(now - connectTimes.get(processManager).get()),
+            TimeUnit.NANOSECONDS.toMillis(now - lastTaskTime),
+            processManager.getPid());
+    try {
+      return recyclePolicy.shouldRecycle(status) ? "Recycle policy met" : null;
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Could not evaluate the recycle policy", ex);
+      return null;
+    }
   }
 
   @Override
   protected void handleExecuteTimeoutException(@NonNull final TimeoutException timeoutEx) {
 
+    // A task still running is usually a large document that closes fine, which spares restarting
+    // the office process. Without running task, the entry is stuck and must be restarted.
+    final OfficeProcessManager processManager = officeProcessManager;
+    if (executionLock.isLocked()) {
+      stopRunningTask(processManager);
+      return;
+    }
+
     // Is the the task did not complete within the configured timeout, we must restart
-    officeProcessManager.restartDueToTaskTimeout();
+    processManager.restartDueToTaskTimeout();
+  }
+
+  @Override
+  protected void cancelTask() {
+
+    super.cancelTask();
+
+    // The interrupt does not stop a task waiting for the office process, which would keep this
+    // entry busy. The task is stopped the way a timed out task is.
+    final OfficeProcessManager processManager = officeProcessManager;
+    if (executionLock.isLocked() && processManager.getConnection().isConnected()) {
+      stopRunningTask(processManager);
+    }
+  }
+
+  private void stopRunningTask(final OfficeProcessManager processManager) {
+
+    if (taskCancelGracePeriod == 0L) {
+      processManager.restartDueToTaskTimeout();
+      return;
+    }
+    if (cancelling.compareAndSet(false, true)) {
+      // No task must be handed to this entry until the running task is cancelled.
+      setAvailable(false);
+      if (!monitor.execute(() -> cancelRunningTask(processManager))) {
+        // The entry is being stopped.
+        cancelling.set(false);
+      }
+    }
+  }
+
+  private void cancelRunningTask(final OfficeProcessManager processManager) {
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(taskCancelGracePeriod);
+    final ScheduledFuture<?> gracePeriod =
+        monitor.watch(
+            () ->
+                cancelFailed(
+                    processManager,
+                    "Running task not cancelled within " + taskCancelGracePeriod + "ms",
+                    null),
+            taskCancelGracePeriod);
+    final OfficeConnection connection = processManager.getConnection();
+    try {
+      // Closing the documents makes the running task fail; the office process executing one task
+      // at a time, they all belong to that task. Once the task is over, the office process must
+      // still answer.
+      final int count = connection.closeDocuments();
+      if (!executionLock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return; // The grace period elapsed
+      }
+      try {
+        connection.heartbeat();
+      } finally {
+        executionLock.unlock();
+      }
+
+      if (gracePeriod.cancel(false)) {
+        cancelling.set(false);
+        if (processManager == officeProcessManager && connection.isConnected()) {
+          LOGGER.info("Running task cancelled by closing {} document(s)", count);
+          setAvailable(true);
+        }
+      }
+    } catch (OfficeConnectionException ex) {
+      if (gracePeriod.cancel(false)) {
+        cancelFailed(processManager, "Unable to cancel running task", ex);
+      }
+    } catch (InterruptedException interruptedEx) {
+      // The grace period will elapse and restart the office process.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void cancelFailed(
+      final OfficeProcessManager processManager, final String message, final Exception cause) {
+
+    cancelling.set(false);
+
+    // An office process already disconnected is being restarted.
+    if (processManager == officeProcessManager && processManager.getConnection().isConnected()) {
+      LOGGER.warn("{}; restarting...", message, cause);
+      processManager.restartDueToTaskTimeout();
+    }
   }
 
   @Override
@@ -203,28 +697,108 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
   @Override
   public void doStart() throws OfficeException {
 
-    // Start the office process and connect to it.
-    officeProcessManager.startAndWait();
+    if (ownsMonitor) {
+      monitor.start();
+    }
+
+    // Start the office processes and connect to them.
+    startProcess(officeProcessManager);
+    final OfficeProcessManager standby = standbyProcessManager;
+    if (standby != null) {
+      startProcess(standby);
+    }
+
+    // The entry is only started once it is warmed up.
+    awaitWarmUp();
+
+    if ((heartbeatInterval > 0L || recyclePolicy != null) && idleCheckFuture == null) {
+      idleCheckFuture =
+          monitor.schedule(
+              this::checkIdle, heartbeatInterval > 0L ? heartbeatInterval : RECYCLE_CHECK_INTERVAL);
+    }
+  }
+
+  private void startProcess(final OfficeProcessManager processManager) throws OfficeException {
+
+    processManager.startAndWait();
 
     // Here a connection has been made successfully. Check to disable
     // the usage of OpenGL. Some file won't load properly if OpenGL
     // is on (LibreOffice).
-    if (disableOpengl
-        && disableOpengl(officeProcessManager.getConnection().getComponentContext())) {
+    if (disableOpengl && disableOpengl(processManager.getConnection().getComponentContext())) {
 
       LOGGER.info("OpenGL has been disabled and a restart is required; restarting...");
-      restart();
+      disconnectExpected.get(processManager).set(true);
+      processManager.restartAndWait();
     }
   }
 
   @Override
   public void doStop() throws OfficeException {
 
+    // Stop the idle checks, which would otherwise restart the stopped office processes.
+    final ScheduledFuture<?> idleCheck = idleCheckFuture;
+    if (idleCheck != null) {
+      idleCheck.cancel(false);
+      idleCheckFuture = null;
+    }
+
     // From here on, any disconnection from an office process is expected.
-    disconnectExpected.set(true);
+    disconnectExpected.values().forEach(expected -> expected.set(true));
+
+    // Now we can stopped the running office processes
+    OfficeException firstException = null;
+    for (final OfficeProcessManager processManager : disconnectExpected.keySet()) {
+      try {
+        processManager.stopAndWait();
+      } catch (OfficeException ex) {
+        if (firstException == null) {
+          firstException = ex;
+        }
+      }
+    }
+    endRestart();
+
+    // A monitor of its own is only stopped along with the entry, not when the entry is reset.
+    if (ownsMonitor && !super.isRunning()) {
+      monitor.stop();
+    }
+    if (firstException != null) {
+      throw firstException;
+    }
+  }
+
+  /**
+   * Sets the directory to copy to the instance profile directories of the office processes the
+   * next time they are started, which happens when this entry is {@link #reset() reset}.
+   *
+   * @param templateProfileDir The new template profile directory.
+   */
+  /* default */ void setTemplateProfileDir(final File templateProfileDir) {
+    for (final OfficeProcessManager processManager : disconnectExpected.keySet()) {
+      processManager.setTemplateProfileDir(templateProfileDir);
+    }
+  }
+
+  @Override
+  protected void reset() throws OfficeException {
+
+    setAvailable(false);
 
-    // Now we can stopped the running office process
-    officeProcessManager.stopAndWait();
+    // Stopping the office processes deletes their instance profile directory, so that they are
+    // started again with a fresh profile.
+    doStop();
+
+    // A process that was already disconnected did not consume its expected disconnection.
+    disconnectExpected.values().forEach(expected -> expected.set(false));
+    doStart();
+  }
+
+  @Override
+  protected void probe() throws OfficeException {
+
+    // Execute a canary conversion, within the task execution timeout.
+    execute(new ProbeTask(workingDir));
   }
 
   private void restart() throws OfficeException {
@@ -233,10 +807,81 @@ class OfficeProcessManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
     setAvailable(false);
 
     // Indicates that the disconnection to follow is expected
-    disconnectExpected.set(true);
+    disconnectExpected.get(officeProcessManager).set(true);
 
     // Restart the office instance
     officeProcessManager.restartAndWait();
+
+    // The task triggering the restart must not run alongside the warm-up conversions.
+    awaitWarmUp();
+  }
+
+  // Each office process gets its own limit, so that the office processes of the pool, started
+  // together, do not reach their limit together.
+  private int nextTaskLimit() {
+
+    if (maxTasksPerProcessJitter == 0 || maxTasksPerProcess <= 1) {
+      return maxTasksPerProcess;
+    }
+    final int jitter = Math.min(maxTasksPerProcessJitter, maxTasksPerProcess - 1);
+    return maxTasksPerProcess - ThreadLocalRandom.current().nextInt(jitter + 1);
+  }
+
+  private boolean beginRestart() {
+
+    if (restartCoordinator == null) {
+      return true;
+    }
+    if (!restartCoordinator.tryBegin()) {
+      return false;
+    }
+    restarting.set(true);
+    return true;
+  }
+
+  private void beginRequiredRestart() {
+
+    if (restartCoordinator != null && restarting.compareAndSet(false, true)) {
+      restartCoordinator.begin();
+    }
+  }
+
+  private void endRestart() {
+
+    if (restartCoordinator != null && restarting.compareAndSet(true, false)) {
+      restartCoordinator.end();
+    }
+  }
+
+  private void awaitWarmUp() {
+
+    final Future<?> warmUp = warmUpFuture;
+    if (warmUp == null) {
+      return;
+    }
+    try {
+      warmUp.get(WARM_UP_TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException interruptedEx) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException ex) {
+      LOGGER.warn("Office process not warmed up; executing task anyway", ex);
+    }
+  }
+
+  private void switchToStandby(final OfficeProcessManager standby) {
+
+    // The standby process now executes the tasks, while the previous
+    // process is restarted in the background to become the new standby.
+    final OfficeProcessManager previous = officeProcessManager;
+    officeProcessManager = standby;
+    standbyProcessManager = previous;
+    taskCount.set(0);
+    taskLimit = nextTaskLimit();
+    lastTaskTime = System.nanoTime();
+    recordRestart();
+
+    disconnectExpected.get(previous).set(true);
+    previous.restartInBackground();
   }
 
   private boolean disableOpengl(final XComponentContext officeContext) throws OfficeException {
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.jodconverter.core.office.NamedThreadFactory;
+
+/**
+ * Executes the checks that pool entries make on their office processes: the heartbeats and the
+ * recycle policy evaluations of idle office processes, and the cancellation of the tasks that did
+ * not complete within their timeout or were cancelled. A single daemon thread, shared by all the
+ * entries of an office manager, triggers the periodic checks and fires the timeouts of the checks,
+ * while the checks themselves, which block until the office process answers, are executed by a
+ * pool of threads created on demand. These threads also execute the calls starting, restarting and
+ * stopping the office processes, so that an idle office process does not hold any thread.
+ *
+ * <p>The threads of the monitor only exist while it is started, along with its office manager. A
+ * stopped monitor does not execute any check.
+ */
+final class OfficeProcessMonitor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OfficeProcessMonitor.class);
+
+  private volatile ScheduledThreadPoolExecutor timer;
+  private volatile ExecutorService executor;
+
+  /** Starts this monitor, creating its threads. Nothing is done if it is already started. */
+  /* default */ synchronized void start() {
+
+    if (timer != null) {
+      return;
+    }
+    final ScheduledThreadPoolExecutor newTimer =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("jodconverter-monitortimer"));
+    // Most checks are over before their timeout; do not keep their cancelled timeouts.
+    newTimer.setRemoveOnCancelPolicy(true);
+    executor = Executors.newCachedThreadPool(new NamedThreadFactory("jodconverter-monitor"));
+    timer = newTimer;
+  }
+
+  /**
+   * Stops this monitor, interrupting the running checks and discarding the scheduled ones. Nothing
+   * is done if it is not started.
+   */
+  /* default */ synchronized void stop() {
+
+    final ScheduledThreadPoolExecutor oldTimer = timer;
+    if (oldTimer == null) {
+      return;
+    }
+    timer = null;
+    oldTimer.shutdownNow();
+    executor.shutdownNow();
+    executor = null;
+  }
+
+  /**
+   * Schedules the specified check to be executed periodically, until the returned future is
+   * cancelled or this monitor is stopped.
+   *
+   * @param check The check to execute.
+   * @param interval The delay, in milliseconds, between each check.
+   * @return The future to cancel to stop the checks.
+   * @throws RejectedExecutionException If this monitor is not started.
+   */
+  @NonNull
+  /* default */ ScheduledFuture<?> schedule(@NonNull final Runnable check, final long interval) {
+    return getTimer()
+        .scheduleWithFixedDelay(() -> execute(check), interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Executes the specified check as soon as possible, on a thread of the pool.
+   *
+   * @param check The check to execute.
+   * @return {@code true} if the check will be executed, {@code false} if this monitor is stopped.
+   */
+  /* default */ boolean execute(@NonNull final Runnable check) {
+
+    final ExecutorService checkExecutor = executor;
+    if (checkExecutor == null) {
+      return false;
+    }
+    try {
+      checkExecutor.execute(
+          () -> {
+            try {
+              check.run();
+            } catch (RejectedExecutionException rejectedEx) {
+              // The monitor has been stopped while the check was running.
+              LOGGER.debug("Office process check abandoned", rejectedEx);
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException rejectedEx) {
+      return false;
+    }
+  }
+
+  /**
+   * Executes the specified office process call, such as the start of an office process, on a
+   * thread of the pool.
+   *
+   * @param call The call to execute.
+   * @throws RejectedExecutionException If this monitor is not started.
+   */
+  /* default */ void executeProcessCall(@NonNull final Runnable call) {
+
+    final ExecutorService callExecutor = executor;
+    if (callExecutor == null) {
+      throw new RejectedExecutionException("The office process monitor is not started");
+    }
+    callExecutor.execute(call);
+  }
+
+  /**
+   * Schedules the specified action to be executed once the specified timeout elapsed, unless the
+   * returned future is cancelled before. The action is executed by the timer thread; it must not
+   * block.
+   *
+   * @param action The action to execute on timeout.
+   * @param timeout The timeout, in milliseconds.
+   * @return The future to cancel once the check is done.
+   * @throws RejectedExecutionException If this monitor is not started.
+   */
+  @NonNull
+  /* default */ ScheduledFuture<?> watch(@NonNull final Runnable action, final long timeout) {
+    return getTimer().schedule(action, timeout, TimeUnit.MILLISECONDS);
+  }
+
+  private ScheduledThreadPoolExecutor getTimer() {
+
+    final ScheduledThreadPoolExecutor checkTimer = timer;
+    if (checkTimer == null) {
+      throw new RejectedExecutionException("The office process monitor is not started");
+    }
+    return checkTimer;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+/**
+ * The status of an office process, given to a {@link RecyclePolicy} to decide whether the office
+ * process must be restarted. The resident memory of the office process is only read if requested.
+ */
+public final class OfficeProcessStatus {
+
+  private final int taskCount;
+  private final long age;
+  private final long idleTime;
+  private final long pid;
+  private long residentSetSize = -2L; // Not read yet
+
+  /**
+   * Creates a new status.
+   *
+   * @param taskCount The number of tasks executed by the office process.
+   * @param age The time, in milliseconds, since the office process was connected.
+   * @param idleTime The time, in milliseconds, since the office process last executed a task.
+   * @param pid The pid of the office process, or a negative value if unknown.
+   */
+  /* default */ OfficeProcessStatus(
+      final int taskCount, final long age, final long idleTime, final long pid) {
+
+    this.taskCount = taskCount;
+    this.age = age;
+    this.idleTime = idleTime;
+    this.pid = pid;
+  }
+
+  /**
+   * Gets the number of tasks the office process has executed since it was started.
+   *
+   * @return The number of executed tasks.
+   */
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  /**
+   * Gets the time since the office process was started.
+   *
+   * @return The age of the office process, in milliseconds.
+   */
+  public long getAge() {
+    return age;
+  }
+
+  /**
+   * Gets the time since the office process last completed a task, or since it was started if it
+   * has not executed any task yet.
+   *
+   * @return The idle time of the office process, in milliseconds.
+   */
+  public long getIdleTime() {
+    return idleTime;
+  }
+
+  /**
+   * Gets the resident set size (RSS) of the office process, as read from the proc file system of
+   * Linux.
+   *
+   * @return The resident memory of the office process, in bytes, or -1 if unknown.
+   */
+  public long getResidentSetSize() {
+
+    if (residentSetSize == -2L) {
+      residentSetSize = ProcessMemory.getCurrent(pid);
+    }
+    return residentSetSize;
+  }
+}
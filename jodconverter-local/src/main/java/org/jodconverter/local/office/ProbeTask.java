@@ -0,0 +1,130 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import static org.jodconverter.local.office.LocalOfficeUtils.property;
+import static org.jodconverter.local.office.LocalOfficeUtils.toUrl;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.sun.star.beans.PropertyValue;
+import com.sun.star.frame.XStorable;
+import com.sun.star.lang.XComponent;
+import com.sun.star.util.CloseVetoException;
+import com.sun.star.util.XCloseable;
+import org.apache.commons.io.FileUtils;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import org.jodconverter.core.office.OfficeContext;
+import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.task.OfficeTask;
+import org.jodconverter.local.office.utils.Lo;
+
+/**
+ * A canary conversion checking that an office process is able to execute tasks: a new, empty,
+ * document is created and exported into a temporary file, which is then deleted. By default, a text
+ * document is exported to PDF. Probes are also used to warm up a newly started office process.
+ */
+class ProbeTask implements OfficeTask {
+
+  private final File workingDir;
+  private final WarmUpConversion conversion;
+
+  /**
+   * Creates a new probe exporting a text document to PDF.
+   *
+   * @param workingDir The directory where the temporary PDF file is created.
+   */
+  /* default */ ProbeTask(final File workingDir) {
+    this(workingDir, WarmUpConversion.TEXT_TO_PDF);
+  }
+
+  /**
+   * Creates a new probe executing the specified conversion.
+   *
+   * @param workingDir The directory where the temporary target file is created.
+   * @param conversion The conversion to execute.
+   */
+  /* default */ ProbeTask(final File workingDir, final WarmUpConversion conversion) {
+    this.workingDir = workingDir;
+    this.conversion = conversion;
+  }
+
+  @Override
+  public void execute(@NonNull final OfficeContext context) throws OfficeException {
+
+    File targetFile = null;
+    XComponent document = null;
+    try {
+      document =
+          ((LocalOfficeContext) context)
+              .getComponentLoader()
+              .loadComponentFromURL(
+                  conversion.getDocumentUrl(),
+                  "_blank",
+                  0,
+                  new PropertyValue[] {property("Hidden", true)});
+      if (document == null) {
+        throw new OfficeException("The probe could not create a document");
+      }
+
+      targetFile = File.createTempFile("probe", "." + conversion.getExtension(), workingDir);
+      Lo.qi(XStorable.class, document)
+          .storeToURL(
+              toUrl(targetFile),
+              new PropertyValue[] {
+                property("FilterName", conversion.getFilterName()), property("Overwrite", true)
+              });
+      if (targetFile.length() == 0L) {
+        throw new OfficeException("The probe produced an empty document");
+      }
+
+    } catch (com.sun.star.uno.Exception | IOException ex) {
+      throw new OfficeException("The probe failed", ex);
+    } finally {
+      close(document);
+      FileUtils.deleteQuietly(targetFile);
+    }
+  }
+
+  private void close(final XComponent document) {
+
+    if (document == null) {
+      return;
+    }
+    final XCloseable closeable = Lo.qiOptional(XCloseable.class, document).orElse(null);
+    if (closeable == null) {
+      Lo.qi(XComponent.class, document).dispose();
+      return;
+    }
+    try {
+      closeable.close(true);
+    } catch (CloseVetoException ignored) {
+      // whoever raised the veto should close the document
+    }
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" + conversion + "}";
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Observes the resident set size (RSS) of a process. The peak RSS of a process can only be read,
+ * and reset, from the proc file system of Linux; on the other systems, the memory is reported as
+ * unknown.
+ */
+final class ProcessMemory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProcessMemory.class);
+
+  private static final File PROC_DIR = new File("/proc");
+  private static final boolean SUPPORTED = new File(PROC_DIR, "self/clear_refs").exists();
+  // The value to write to the clear_refs file of a process to reset its peak RSS.
+  private static final String RESET_PEAK_RSS = "5";
+  private static final String RSS = "VmRSS:";
+  private static final String PEAK_RSS = "VmHWM:";
+
+  /**
+   * Resets the peak RSS of the specified process to its current RSS.
+   *
+   * @param pid The pid of the process.
+   * @return The current RSS of the process, in bytes, or -1 if unknown.
+   */
+  /* default */ static long resetPeak(final long pid) {
+
+    if (!SUPPORTED || pid < 0L) {
+      return -1L;
+    }
+    try {
+      Files.write(
+          new File(PROC_DIR, pid + "/clear_refs").toPath(),
+          RESET_PEAK_RSS.getBytes(StandardCharsets.US_ASCII));
+    } catch (IOException ioEx) {
+      // Not allowed, for instance when the process is run as another user.
+      LOGGER.trace("Unable to reset the peak RSS of process {}", pid, ioEx);
+      return -1L;
+    }
+    return read(pid, RSS);
+  }
+
+  /**
+   * Gets the current RSS of the specified process.
+   *
+   * @param pid The pid of the process.
+   * @return The current RSS of the process, in bytes, or -1 if unknown.
+   */
+  /* default */ static long getCurrent(final long pid) {
+
+    if (!SUPPORTED || pid < 0L) {
+      return -1L;
+    }
+    return read(pid, RSS);
+  }
+
+  /**
+   * Gets the peak RSS of the specified process since it was last reset.
+   *
+   * @param pid The pid of the process.
+   * @return The peak RSS of the process, in bytes, or -1 if unknown.
+   */
+  /* default */ static long getPeak(final long pid) {
+
+    if (!SUPPORTED || pid < 0L) {
+      return -1L;
+    }
+    return read(pid, PEAK_RSS);
+  }
+
+  // Reads the specified field, in kB, of the status file of a process.
+  private static long read(final long pid, final String field) {
+
+    try {
+      for (final String line :
+          Files.readAllLines(
+              new File(PROC_DIR, pid + "/status").toPath(), StandardCharsets.US_ASCII)) {
+        if (line.startsWith(field)) {
+          // The line looks like "VmRSS:    123456 kB"
+          final String value = line.substring(field.length()).trim();
+          return Long.parseLong(value.substring(0, value.indexOf(' '))) * 1024L;
+        }
+      }
+    } catch (IOException | RuntimeException ex) {
+      LOGGER.trace("Unable to read the {} of process {}", field, pid, ex);
+    }
+    return -1L;
+  }
+
+  // Suppresses default constructor, ensuring non-instantiability.
+  private ProcessMemory() {
+    throw new AssertionError("Utility class must not be instantiated");
+  }
+}
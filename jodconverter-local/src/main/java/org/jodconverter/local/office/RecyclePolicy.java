@@ -0,0 +1,130 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import org.apache.commons.lang3.Validate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Decides when an office process must be restarted, or recycled, to release the memory and the
+ * resources it accumulates while executing tasks. The policy is evaluated after each task, once
+ * the memory the task needed is known, and periodically while the office process is idle; when
+ * it is met, the office process is restarted, while idle, before executing its next task. Built-in
+ * policies are provided by the static methods of this interface, and can be combined with {@link
+ * #or(RecyclePolicy)}.
+ *
+ * <p>A policy is evaluated by the thread executing the task or by the thread checking the idle
+ * office processes; it must be fast and must not block.
+ */
+@FunctionalInterface
+public interface RecyclePolicy {
+
+  /**
+   * Gets whether the office process having the specified status must be restarted.
+   *
+   * @param status The status of the office process.
+   * @return {@code true} if the office process must be restarted, {@code false} otherwise.
+   */
+  boolean shouldRecycle(@NonNull OfficeProcessStatus status);
+
+  /**
+   * Creates a policy met when this policy or the specified policy is met.
+   *
+   * @param other The other policy.
+   * @return The combined policy.
+   */
+  @NonNull
+  default RecyclePolicy or(@NonNull final RecyclePolicy other) {
+
+    Validate.notNull(other, "other must not be null");
+    return status -> shouldRecycle(status) || other.shouldRecycle(status);
+  }
+
+  /**
+   * Creates a policy restarting an office process once it has executed the specified number of
+   * tasks.
+   *
+   * @param maxTasks The maximum number of tasks an office process can execute.
+   * @return The policy.
+   */
+  @NonNull
+  static RecyclePolicy maxTasks(final int maxTasks) {
+
+    Validate.inclusiveBetween(
+        1,
+        Integer.MAX_VALUE,
+        maxTasks,
+        String.format("maxTasks %s must be greater than 0", maxTasks));
+    return status -> status.getTaskCount() >= maxTasks;
+  }
+
+  /**
+   * Creates a policy restarting an office process once its resident memory exceeds the specified
+   * size. The policy is never met when the resident memory of the office process is unknown, the
+   * proc file system being only available on Linux.
+   *
+   * @param maxResidentSetSize The maximum resident memory, in bytes, of an office process.
+   * @return The policy.
+   */
+  @NonNull
+  static RecyclePolicy maxResidentSetSize(final long maxResidentSetSize) {
+
+    Validate.inclusiveBetween(
+        1,
+        Long.MAX_VALUE,
+        maxResidentSetSize,
+        String.format("maxResidentSetSize %s must be greater than 0", maxResidentSetSize));
+    return status -> status.getResidentSetSize() > maxResidentSetSize;
+  }
+
+  /**
+   * Creates a policy restarting an office process once it has been running for the specified
+   * time.
+   *
+   * @param maxAge The maximum age, in milliseconds, of an office process.
+   * @return The policy.
+   */
+  @NonNull
+  static RecyclePolicy maxAge(final long maxAge) {
+
+    Validate.inclusiveBetween(
+        1, Long.MAX_VALUE, maxAge, String.format("maxAge %s must be greater than 0", maxAge));
+    return status -> status.getAge() >= maxAge;
+  }
+
+  /**
+   * Creates a policy restarting an office process that has not executed any task for the specified
+   * time. Since the policy is evaluated periodically while idle, the office process is restarted
+   * shortly after being idle for that time.
+   *
+   * @param maxIdleTime The maximum idle time, in milliseconds, of an office process.
+   * @return The policy.
+   */
+  @NonNull
+  static RecyclePolicy maxIdleTime(final long maxIdleTime) {
+
+    Validate.inclusiveBetween(
+        1,
+        Long.MAX_VALUE,
+        maxIdleTime,
+        String.format("maxIdleTime %s must be greater than 0", maxIdleTime));
+    return status -> status.getIdleTime() >= maxIdleTime;
+  }
+}
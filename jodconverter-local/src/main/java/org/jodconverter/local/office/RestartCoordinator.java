@@ -0,0 +1,86 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Limits the number of office processes of a pool that restart at the same time. A restart that is
+ * not required, such as the restart of an office process that reached its maximum number of tasks,
+ * is deferred while too many office processes are restarting. A restart that is required, after a
+ * crash for instance, is never deferred but counts as a restarting office process.
+ *
+ * <p>This class is thread safe.
+ */
+final class RestartCoordinator {
+
+  private final double maxRestartingRatio;
+  private final IntSupplier poolSize;
+  private int restarting;
+
+  /**
+   * Creates a new coordinator.
+   *
+   * @param maxRestartingRatio The maximum fraction of the office processes of the pool that can
+   *     restart at the same time. At least one office process can always restart.
+   * @param poolSize Supplies the current number of office processes of the pool.
+   */
+  /* default */ RestartCoordinator(final double maxRestartingRatio, final IntSupplier poolSize) {
+
+    this.maxRestartingRatio = maxRestartingRatio;
+    this.poolSize = poolSize;
+  }
+
+  /**
+   * Registers a restart that is not required, if the number of office processes restarting allows
+   * it.
+   *
+   * @return {@code true} if the restart can proceed, {@code false} if it must be deferred.
+   */
+  /* default */ synchronized boolean tryBegin() {
+
+    final int maxRestarting =
+        Math.max(1, (int) Math.floor(maxRestartingRatio * poolSize.getAsInt()));
+    if (restarting >= maxRestarting) {
+      return false;
+    }
+    restarting++;
+    return true;
+  }
+
+  /** Registers a restart that is required, whatever the number of office processes restarting. */
+  /* default */ synchronized void begin() {
+    restarting++;
+  }
+
+  /** Registers the end of a restart, whether it succeeded or not. */
+  /* default */ synchronized void end() {
+    restarting = Math.max(0, restarting - 1);
+  }
+
+  /**
+   * Gets the number of office processes currently restarting.
+   *
+   * @return The number of restarting office processes.
+   */
+  /* default */ synchronized int getRestartingCount() {
+    return restarting;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An executor executing its tasks one at a time, in the order they are submitted, on the threads
+ * of another executor. This lets the office process managers of a pool share the same threads while
+ * the calls of each office process remain serialized.
+ */
+final class SerialExecutor implements Executor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SerialExecutor.class);
+
+  private final Executor executor;
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private Runnable active;
+
+  /**
+   * Creates a new executor executing its tasks on the threads of the specified executor.
+   *
+   * @param executor The executor whose threads execute the tasks.
+   */
+  /* default */ SerialExecutor(@NonNull final Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public synchronized void execute(@NonNull final Runnable task) {
+
+    tasks.add(
+        () -> {
+          try {
+            task.run();
+          } finally {
+            next();
+          }
+        });
+    if (active == null) {
+      scheduleNext();
+    }
+  }
+
+  // Executes the next task, once a task is over.
+  private synchronized void next() {
+
+    try {
+      scheduleNext();
+    } catch (RejectedExecutionException rejectedEx) {
+      LOGGER.debug("Pending tasks discarded, the executor has been shutdown", rejectedEx);
+    }
+  }
+
+  private void scheduleNext() {
+
+    active = tasks.poll();
+    if (active != null) {
+      try {
+        executor.execute(active);
+      } catch (RejectedExecutionException rejectedEx) {
+        // Nothing will ever be executed anymore.
+        tasks.clear();
+        active = null;
+        throw rejectedEx;
+      }
+    }
+  }
+}
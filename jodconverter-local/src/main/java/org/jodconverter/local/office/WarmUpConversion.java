@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The conversions an office process can execute right after it is started, so that the filters,
+ * fonts and libraries a conversion needs are already loaded when the first task is executed. Each
+ * conversion exports a new, empty, document of its family, no source document being needed.
+ */
+public enum WarmUpConversion {
+
+  /** Exports a text document to PDF. */
+  TEXT_TO_PDF("private:factory/swriter", "writer_pdf_Export", "pdf"),
+
+  /** Exports a text document to DOCX. */
+  TEXT_TO_DOCX("private:factory/swriter", "MS Word 2007 XML", "docx"),
+
+  /** Exports a spreadsheet document to PDF. */
+  SPREADSHEET_TO_PDF("private:factory/scalc", "calc_pdf_Export", "pdf"),
+
+  /** Exports a spreadsheet document to XLSX. */
+  SPREADSHEET_TO_XLSX("private:factory/scalc", "Calc MS Excel 2007 XML", "xlsx"),
+
+  /** Exports a presentation document to PDF. */
+  PRESENTATION_TO_PDF("private:factory/simpress", "impress_pdf_Export", "pdf"),
+
+  /** Exports a presentation document to PNG. */
+  PRESENTATION_TO_PNG("private:factory/simpress", "impress_png_Export", "png");
+
+  private final String documentUrl;
+  private final String filterName;
+  private final String extension;
+
+  WarmUpConversion(final String documentUrl, final String filterName, final String extension) {
+    this.documentUrl = documentUrl;
+    this.filterName = filterName;
+    this.extension = extension;
+  }
+
+  /**
+   * Gets the URL creating a new, empty, document of the source family.
+   *
+   * @return The document URL.
+   */
+  @NonNull
+  /* default */ String getDocumentUrl() {
+    return documentUrl;
+  }
+
+  /**
+   * Gets the name of the filter exporting the document.
+   *
+   * @return The filter name.
+   */
+  @NonNull
+  /* default */ String getFilterName() {
+    return filterName;
+  }
+
+  /**
+   * Gets the extension of the exported document.
+   *
+   * @return The extension.
+   */
+  @NonNull
+  /* default */ String getExtension() {
+    return extension;
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.jodconverter.core.document.DocumentFormat;
+import org.jodconverter.core.job.DocumentSpecsIOException;
+import org.jodconverter.core.job.SourceDocumentSpecs;
+import org.jodconverter.core.job.TargetDocumentSpecs;
+import org.jodconverter.core.office.TemporaryFileMaker;
+
+/**
+ * The documents shared by the attempts of a hedged {@link LocalConversionTask}. The source document
+ * is staged only once, when the first attempt needs it, and is consumed once all the attempts are
+ * done. Each attempt stores its result to its own temporary file, and only the first attempt to
+ * complete delivers its result to the target document.
+ */
+final class ConversionAttempts {
+
+  private final SourceDocumentSpecs source;
+  private final TargetDocumentSpecs target;
+  private final TemporaryFileMaker fileMaker;
+  private File sourceFile;
+  private String sourceFingerprint;
+  private boolean committed;
+
+  /**
+   * Creates the shared documents of the attempts of a conversion.
+   *
+   * @param source The source specifications of the conversion.
+   * @param target The target specifications of the conversion.
+   * @param fileMaker The maker of the temporary files the attempts store their result to, or
+   *     {@code null} to create them in the default temporary directory.
+   */
+  /* default */ ConversionAttempts(
+      @NonNull final SourceDocumentSpecs source,
+      @NonNull final TargetDocumentSpecs target,
+      @Nullable final TemporaryFileMaker fileMaker) {
+
+    this.source = source;
+    this.target = target;
+    this.fileMaker = fileMaker;
+  }
+
+  /**
+   * Creates the source specifications of a new attempt.
+   *
+   * @return The source specifications, sharing the staged source document.
+   */
+  @NonNull
+  /* default */ SourceDocumentSpecs newSource() {
+
+    return new SourceDocumentSpecs() {
+      @NonNull
+      @Override
+      public File getFile() {
+        return getSourceFile();
+      }
+
+      @Nullable
+      @Override
+      public DocumentFormat getFormat() {
+        return source.getFormat();
+      }
+
+      @Override
+      public long getLength() {
+        return source.getLength();
+      }
+    };
+  }
+
+  /**
+   * Creates the target specifications of a new attempt.
+   *
+   * @return The target specifications, storing the result to a temporary file.
+   */
+  @NonNull
+  /* default */ TargetDocumentSpecs newTarget() {
+
+    return new TargetDocumentSpecs() {
+      @NonNull
+      @Override
+      public File getFile() {
+
+        final String extension =
+            Optional.ofNullable(target.getFormat()).map(DocumentFormat::getExtension).orElse("tmp");
+        if (fileMaker != null) {
+          return fileMaker.makeTemporaryFile(extension);
+        }
+        try {
+          return File.createTempFile("jodconverter_", "." + extension);
+        } catch (IOException ex) {
+          throw new DocumentSpecsIOException("Could not create temporary file", ex);
+        }
+      }
+
+      @Nullable
+      @Override
+      public DocumentFormat getFormat() {
+        return target.getFormat();
+      }
+
+      @Override
+      public void onComplete(@NonNull final File file) {
+        commit(file);
+      }
+
+      @Override
+      public void onFailure(@NonNull final File file, @NonNull final Exception exception) {
+        FileUtils.deleteQuietly(file);
+      }
+    };
+  }
+
+  /**
+   * Gets the fingerprint of the staged source document, staging it if needed.
+   *
+   * @return The fingerprint of the source document.
+   */
+  @NonNull
+  /* default */ synchronized String getSourceFingerprint() {
+
+    if (sourceFingerprint == null) {
+      sourceFingerprint = source.getFingerprint(getSourceFile());
+    }
+    return sourceFingerprint;
+  }
+
+  private synchronized File getSourceFile() {
+
+    if (sourceFile == null) {
+      sourceFile = source.getFile();
+    }
+    return sourceFile;
+  }
+
+  // Delivers the result of an attempt to the target, unless another attempt already did.
+  private void commit(final File file) {
+
+    synchronized (this) {
+      if (committed) {
+        FileUtils.deleteQuietly(file);
+        throw new IllegalStateException("Another attempt of the conversion already completed");
+      }
+      committed = true;
+    }
+
+    final File targetFile = target.getFile();
+    try {
+      Files.move(file.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      target.onFailure(targetFile, ex);
+      throw new DocumentSpecsIOException(
+          "Could not move file '" + file + "' to '" + targetFile + "'", ex);
+    }
+    target.onComplete(targetFile);
+  }
+
+  /** Consumes the staged source document once all the attempts are done. */
+  /* default */ synchronized void done() {
+
+    if (sourceFile != null) {
+      source.onConsumed(sourceFile);
+      sourceFile = null;
+      sourceFingerprint = null;
+    }
+  }
+}
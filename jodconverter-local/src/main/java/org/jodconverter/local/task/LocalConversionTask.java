@@ -43,14 +43,23 @@ import org.jodconverter.core.job.SourceDocumentSpecs;
 import org.jodconverter.core.job.TargetDocumentSpecs;
 import org.jodconverter.core.office.OfficeContext;
 import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.office.TemporaryFileMaker;
+import org.jodconverter.core.task.HedgeableTask;
+import org.jodconverter.core.task.OfficeTask;
 import org.jodconverter.local.filter.FilterChain;
 import org.jodconverter.local.filter.RefreshFilter;
 import org.jodconverter.local.office.LocalOfficeContext;
 import org.jodconverter.local.office.LocalOfficeUtils;
 import org.jodconverter.local.office.utils.Lo;
 
-/** Represents the default behavior for a local conversion task. */
-public class LocalConversionTask extends AbstractLocalOfficeTask {
+/**
+ * Represents the default behavior for a local conversion task.
+ *
+ * <p>A local conversion task can be hedged by an office manager pool: its attempts share the
+ * source document, staged only once, and only the first attempt to complete writes the target
+ * document.
+ */
+public class LocalConversionTask extends AbstractLocalOfficeTask implements HedgeableTask {
 
   private static final String ERROR_MESSAGE_STORE = "Could not store document: ";
 
@@ -59,6 +68,8 @@ public class LocalConversionTask extends AbstractLocalOfficeTask {
   private final TargetDocumentSpecs target;
   private final FilterChain filterChain;
   private final Map<String, Object> storeProperties;
+  private TemporaryFileMaker fileMaker;
+  private ConversionAttempts attempts;
 
   /**
    * Creates a new conversion task from a specified source to a specified target.
@@ -144,6 +155,71 @@ public class LocalConversionTask extends AbstractLocalOfficeTask {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The attempts are created by {@link #createAttempt(SourceDocumentSpecs,
+   * TargetDocumentSpecs)}, and share the priority, the tenant and the deadline of this task.
+   */
+  @NonNull
+  @Override
+  public synchronized OfficeTask createAttempt() {
+
+    if (attempts == null) {
+      attempts = new ConversionAttempts(source, target, fileMaker);
+    }
+    final LocalConversionTask attempt = createAttempt(attempts.newSource(), attempts.newTarget());
+    attempt.setPriority(getPriority());
+    attempt.setTenant(getTenant());
+    attempt.setDeadline(getDeadline());
+    return attempt;
+  }
+
+  /**
+   * Creates a task converting the document of this task the same way, from and to the specified
+   * documents. The default implementation creates a plain {@link LocalConversionTask}; subclasses
+   * changing the conversion must override this function so that their attempts convert the
+   * document the same way.
+   *
+   * @param source The source document of the attempt, sharing the staged source document.
+   * @param target The target document of the attempt, a temporary file.
+   * @return The attempt.
+   */
+  @NonNull
+  protected LocalConversionTask createAttempt(
+      @NonNull final SourceDocumentSpecs source, @NonNull final TargetDocumentSpecs target) {
+
+    return new LocalConversionTask(source, target, loadProperties, filterChain, storeProperties);
+  }
+
+  /**
+   * Sets the maker of the temporary files the attempts of this task store their result to, before
+   * the result of the first attempt to complete is delivered to the target. Without file maker, the
+   * temporary files are created in the default temporary directory.
+   *
+   * @param fileMaker The temporary file maker, usually the office manager executing this task.
+   */
+  public synchronized void setTemporaryFileMaker(@Nullable final TemporaryFileMaker fileMaker) {
+    this.fileMaker = fileMaker;
+  }
+
+  @Nullable
+  @Override
+  public synchronized String getSourceFingerprint() {
+
+    // Once the attempts are done, the source document may not be readable anymore.
+    return attempts == null ? null : attempts.getSourceFingerprint();
+  }
+
+  @Override
+  public synchronized void onAttemptsDone() {
+
+    if (attempts != null) {
+      attempts.done();
+      attempts = null;
+    }
+  }
+
   // Gets the office properties to apply when the converted
   // document will be saved as the output file.
   private Map<String, Object> getStoreProperties(final XComponent document) throws OfficeException {
@@ -187,6 +263,12 @@ public class LocalConversionTask extends AbstractLocalOfficeTask {
     }
   }
 
+  @Nullable
+  @Override
+  public DocumentFormat getTargetFormat() {
+    return target.getFormat();
+  }
+
   @NonNull
   @Override
   public String toString() {
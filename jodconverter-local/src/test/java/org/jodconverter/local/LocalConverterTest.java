@@ -22,9 +22,11 @@ package org.jodconverter.local;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.io.File;
 import java.io.InputStream;
@@ -145,6 +147,24 @@ public class LocalConverterTest {
     assertThat(arg.getValue()).extracting("storeProperties").isEqualTo(storeProperties);
   }
 
+  @Test
+  public void executeAsync_ShouldSubmitTaskToOfficeManager(final @TempDir File testFolder) {
+
+    final File targetFile = new File(testFolder, "test.pdf");
+
+    assertThatCode(
+            () ->
+                LocalConverter.make(officeManager)
+                    .convert(SOURCE_FILE)
+                    .to(targetFile)
+                    .executeAsync())
+        .doesNotThrowAnyException();
+
+    // Verify that the task has been submitted without using the blocking execute method.
+    verify(officeManager, times(1)).executeAsync(any(LocalConversionTask.class));
+    verifyNoMoreInteractions(officeManager);
+  }
+
   @Test
   public void convert_WithNonTemporaryFileMaker_ThrowsIllegalStateExceptionForInputStream(
       final @TempDir File testFolder) {
@@ -74,6 +74,13 @@ public class LocalOfficeUtilsTest {
   }
 
   /** Tests the LocalOfficeUtils.toUrl function on unix OS. */
+  @Test
+  public void getDefaultMaxPoolSize_ShouldNotExceedAvailableProcessors() {
+
+    assertThat(LocalOfficeUtils.getDefaultMaxPoolSize())
+        .isBetween(1, Math.max(1, Runtime.getRuntime().availableProcessors()));
+  }
+
   @Test
   public void unixToUrl() {
     assumeTrue(SystemUtils.IS_OS_UNIX);
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link OfficeProcessMonitor} class. */
+public class OfficeProcessMonitorTest {
+
+  @Test
+  public void execute_WhenStarted_ShouldExecuteCheck() throws InterruptedException {
+
+    final OfficeProcessMonitor monitor = new OfficeProcessMonitor();
+    monitor.start();
+    try {
+      final CountDownLatch executed = new CountDownLatch(1);
+      assertThat(monitor.execute(executed::countDown)).isTrue();
+      assertThat(executed.await(5L, TimeUnit.SECONDS)).isTrue();
+
+      final CountDownLatch scheduled = new CountDownLatch(2);
+      monitor.schedule(scheduled::countDown, 10L);
+      assertThat(scheduled.await(5L, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      monitor.stop();
+    }
+  }
+
+  @Test
+  public void execute_WhenStopped_ShouldRejectCheck() {
+
+    final OfficeProcessMonitor monitor = new OfficeProcessMonitor();
+    assertThat(monitor.execute(() -> {})).isFalse();
+
+    monitor.start();
+    monitor.stop();
+    assertThat(monitor.execute(() -> {})).isFalse();
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> monitor.watch(() -> {}, 10L));
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> monitor.schedule(() -> {}, 10L));
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link RecyclePolicy} interface. */
+public class RecyclePolicyTest {
+
+  @Test
+  public void shouldRecycle_WithBuiltInPolicies_ShouldCompareStatusToLimits() {
+
+    final OfficeProcessStatus status = new OfficeProcessStatus(10, 60_000L, 5_000L, -1L);
+
+    assertThat(RecyclePolicy.maxTasks(10).shouldRecycle(status)).isTrue();
+    assertThat(RecyclePolicy.maxTasks(11).shouldRecycle(status)).isFalse();
+    assertThat(RecyclePolicy.maxAge(60_000L).shouldRecycle(status)).isTrue();
+    assertThat(RecyclePolicy.maxAge(60_001L).shouldRecycle(status)).isFalse();
+    assertThat(RecyclePolicy.maxIdleTime(5_000L).shouldRecycle(status)).isTrue();
+    assertThat(RecyclePolicy.maxIdleTime(5_001L).shouldRecycle(status)).isFalse();
+    assertThat(RecyclePolicy.maxTasks(11).or(RecyclePolicy.maxAge(1_000L)).shouldRecycle(status))
+        .isTrue();
+  }
+
+  @Test
+  public void shouldRecycle_WhenResidentSetSizeUnknown_ShouldNotRecycle() {
+
+    final OfficeProcessStatus status = new OfficeProcessStatus(0, 0L, 0L, -1L);
+
+    assertThat(status.getResidentSetSize()).isEqualTo(-1L);
+    assertThat(RecyclePolicy.maxResidentSetSize(1L).shouldRecycle(status)).isFalse();
+  }
+
+  @Test
+  public void maxTasks_WithZero_ShouldThrowIllegalArgumentException() {
+
+    assertThatIllegalArgumentException().isThrownBy(() -> RecyclePolicy.maxTasks(0));
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2004 - 2012 Mirko Nasato and contributors
+ *           2016 - 2020 Simon Braconnier and contributors
+ *
+ * This file is part of JODConverter - Java OpenDocument Converter.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jodconverter.local.office;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/** Contains tests for the {@link SerialExecutor} class. */
+public class SerialExecutorTest {
+
+  @Test
+  public void execute_OnSharedThreads_ShouldExecuteTasksOneAtATimeInOrder() throws Exception {
+
+    final ExecutorService shared = Executors.newCachedThreadPool();
+    try {
+      final SerialExecutor executor = new SerialExecutor(shared);
+      final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      final CountDownLatch done = new CountDownLatch(20);
+      for (int i = 0; i < 20; i++) {
+        final int index = i;
+        executor.execute(
+            () -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              order.add(index);
+              running.decrementAndGet();
+              done.countDown();
+            });
+      }
+
+      assertThat(done.await(5L, TimeUnit.SECONDS)).isTrue();
+      assertThat(maxRunning).hasValue(1);
+      assertThat(order).isSorted().hasSize(20);
+    } finally {
+      shared.shutdownNow();
+    }
+  }
+
+  @Test
+  public void execute_WhenSharedExecutorIsShutdown_ShouldRejectTask() {
+
+    final ExecutorService shared = Executors.newCachedThreadPool();
+    shared.shutdown();
+    final SerialExecutor executor = new SerialExecutor(shared);
+
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> executor.execute(() -> {}));
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> executor.execute(() -> {}));
+  }
+}
@@ -19,6 +19,7 @@
 
 package org.jodconverter.local.task;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.isA;
@@ -50,7 +51,10 @@ import org.jodconverter.core.document.DefaultDocumentFormatRegistry;
 import org.jodconverter.core.document.DocumentFormat;
 import org.jodconverter.core.job.AbstractSourceDocumentSpecs;
 import org.jodconverter.core.job.AbstractTargetDocumentSpecs;
+import org.jodconverter.core.job.SourceDocumentSpecs;
+import org.jodconverter.core.job.TargetDocumentSpecs;
 import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.task.OfficeTask;
 import org.jodconverter.local.office.LocalOfficeContext;
 
 /** Contains tests for the {@link LocalConversionTask} class. */
@@ -104,6 +108,19 @@ public class LocalConversionTaskTest {
     }
   }
 
+  private static class FooConversionTask extends LocalConversionTask {
+
+    public FooConversionTask(final SourceDocumentSpecs source, final TargetDocumentSpecs target) {
+      super(source, target, null, null, null);
+    }
+
+    @Override
+    protected LocalConversionTask createAttempt(
+        final SourceDocumentSpecs source, final TargetDocumentSpecs target) {
+      return new FooConversionTask(source, target);
+    }
+  }
+
   /**
    * Creates the test folder.
    *
@@ -126,6 +143,22 @@ public class LocalConversionTaskTest {
     testFolder.delete();
   }
 
+  @Test
+  public void createAttempt_WithSubclass_ShouldCreateAttemptOfSubclass() {
+
+    final File targetFile = new File(testFolder.getRoot(), TARGET_FILENAME);
+    final LocalConversionTask task =
+        new FooConversionTask(new FooSourceSpecs(SOURCE_FILE), new FooTargetSpecs(targetFile));
+    task.setTenant("foo");
+    try {
+      final OfficeTask attempt = task.createAttempt();
+      assertThat(attempt).isExactlyInstanceOf(FooConversionTask.class);
+      assertThat(attempt.getTenant()).isEqualTo("foo");
+    } finally {
+      task.onAttemptsDone();
+    }
+  }
+
   @Test
   public void storeDocument_WithUnsupportedFormat_ThrowIllegalArgumentException() {
 
@@ -38,7 +38,7 @@ public class RemoteOfficeManagerPoolEntryITest {
   public void execute_WhenMalformedUrlExceptionCatch_ShouldThrowOfficeException() throws Exception {
 
     final RemoteOfficeManagerPoolEntry manager =
-        new RemoteOfficeManagerPoolEntry("localhost", null, null, null, null);
+        new RemoteOfficeManagerPoolEntry("localhost", null, null, null, null, null);
     try {
       manager.start();
 
@@ -57,7 +57,7 @@ public class RemoteOfficeManagerPoolEntryITest {
   public void execute_WhenIoExceptionExceptionCatch_ShouldThrowOfficeException() throws Exception {
 
     final RemoteOfficeManagerPoolEntry manager =
-        new RemoteOfficeManagerPoolEntry("http://localhost/", null, null, null, null);
+        new RemoteOfficeManagerPoolEntry("http://localhost/", null, null, null, null, null);
     try {
       manager.start();
 
@@ -77,7 +77,7 @@ public class RemoteOfficeManagerPoolEntryITest {
       throws Exception {
 
     final RemoteOfficeManagerPoolEntry manager =
-        new RemoteOfficeManagerPoolEntry("http://localhost/", null, null, null, null);
+        new RemoteOfficeManagerPoolEntry("http://localhost/", null, null, null, null, null);
 
     String url = Whitebox.invokeMethod(manager, "buildUrl", "http://localhost/lool/convert-to");
     assertThat(url).isEqualTo("http://localhost/lool/convert-to/");
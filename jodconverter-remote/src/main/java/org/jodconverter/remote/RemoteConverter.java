@@ -19,6 +19,8 @@
 
 package org.jodconverter.remote;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import org.jodconverter.core.document.DefaultDocumentFormatRegistry;
@@ -121,8 +123,24 @@ public class RemoteConverter extends AbstractConverter {
     public void doExecute() throws OfficeException {
 
       // Create a default conversion task and execute it
+      officeManager.execute(createTask());
+    }
+
+    @NonNull
+    @Override
+    protected CompletableFuture<Void> doExecuteAsync() {
+
+      // Create a default conversion task and submit it
+      return officeManager.executeAsync(createTask());
+    }
+
+    private RemoteConversionTask createTask() {
+
       final RemoteConversionTask task = new RemoteConversionTask(source, target);
-      officeManager.execute(task);
+      task.setPriority(priority);
+      task.setTenant(tenant);
+      task.setDeadline(deadline);
+      return task;
     }
   }
 
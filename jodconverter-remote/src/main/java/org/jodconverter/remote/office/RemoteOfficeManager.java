@@ -19,6 +19,8 @@
 
 package org.jodconverter.remote.office;
 
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
 import java.io.File;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -29,6 +31,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import org.jodconverter.core.office.AbstractOfficeManagerPool;
 import org.jodconverter.core.office.InstalledOfficeManagerHolder;
+import org.jodconverter.core.office.OfficeManagerPoolSettings;
 import org.jodconverter.core.office.OfficeUtils;
 import org.jodconverter.remote.ssl.SslConfig;
 
@@ -77,16 +80,16 @@ public final class RemoteOfficeManager extends AbstractOfficeManagerPool {
   private RemoteOfficeManager(
       final File workingDir,
       final String urlConnection,
-      final Integer poolSize,
       final SslConfig sslConfig,
       final Long connectTimeout,
       final Long socketTimeout,
       final Long taskExecutionTimeout,
-      final Long taskQueueTimeout) {
-    super(workingDir, poolSize, taskQueueTimeout);
+      final Boolean directExecution,
+      final OfficeManagerPoolSettings poolSettings) {
+    super(workingDir, poolSettings);
 
     setEntries(
-        IntStream.range(0, poolSize == null ? DEFAULT_POOL_SIZE : poolSize)
+        IntStream.range(0, defaultIfNull(poolSettings.getPoolSize(), DEFAULT_POOL_SIZE))
             .mapToObj(
                 i ->
                     new RemoteOfficeManagerPoolEntry(
@@ -94,7 +97,8 @@ public final class RemoteOfficeManager extends AbstractOfficeManagerPool {
                         sslConfig,
                         connectTimeout,
                         socketTimeout,
-                        taskExecutionTimeout))
+                        taskExecutionTimeout,
+                        directExecution))
             .collect(Collectors.toList()));
   }
 
@@ -134,12 +138,12 @@ public final class RemoteOfficeManager extends AbstractOfficeManagerPool {
           new RemoteOfficeManager(
               workingDir,
               urlConnection,
-              poolSize,
               sslConfig,
               connectTimeout,
               socketTimeout,
               taskExecutionTimeout,
-              taskQueueTimeout);
+              directExecution,
+              buildPoolSettings().poolSize(poolSize));
       if (install) {
         InstalledOfficeManagerHolder.setInstance(manager);
       }
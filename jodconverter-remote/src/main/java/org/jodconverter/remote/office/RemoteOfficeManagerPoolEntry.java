@@ -190,14 +190,17 @@ class RemoteOfficeManagerPoolEntry extends AbstractOfficeManagerPoolEntry {
    * @param taskExecutionTimeout The maximum time allowed to process a task. If the processing time
    *     of a task is longer than this timeout, this task will be aborted and the next task is
    *     processed.
+   * @param directExecution Indicates whether tasks are executed by the calling thread rather than
+   *     by a thread dedicated to this entry.
    */
   /* default */ RemoteOfficeManagerPoolEntry(
       final String connectionUrl,
       final SslConfig sslConfig,
       final Long connectTimeout,
       final Long socketTimeout,
-      final Long taskExecutionTimeout) {
-    super(taskExecutionTimeout);
+      final Long taskExecutionTimeout,
+      final Boolean directExecution) {
+    super(taskExecutionTimeout, directExecution);
 
     this.connectionUrl = connectionUrl;
     this.sslConfig = sslConfig;
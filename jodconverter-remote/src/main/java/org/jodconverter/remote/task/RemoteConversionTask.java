@@ -31,9 +31,11 @@ import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.FileBody;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.jodconverter.core.document.DocumentFormat;
 import org.jodconverter.core.job.SourceDocumentSpecs;
 import org.jodconverter.core.job.TargetDocumentSpecs;
 import org.jodconverter.core.office.OfficeContext;
@@ -172,6 +174,12 @@ public class RemoteConversionTask extends AbstractRemoteOfficeTask {
         + Objects.requireNonNull(target.getFormat()).getExtension();
   }
 
+  @Nullable
+  @Override
+  public DocumentFormat getTargetFormat() {
+    return target.getFormat();
+  }
+
   @NonNull
   @Override
   public String toString() {